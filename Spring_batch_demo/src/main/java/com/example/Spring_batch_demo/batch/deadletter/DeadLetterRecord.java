@@ -0,0 +1,9 @@
+package com.example.Spring_batch_demo.batch.deadletter;
+
+// A customer row that could not be imported: the input line as read, why it was rejected and where it came from
+public record DeadLetterRecord(long timestamp,
+                               String source,
+                               long sourceOffset,
+                               String reason,
+                               String rawLine) {
+}
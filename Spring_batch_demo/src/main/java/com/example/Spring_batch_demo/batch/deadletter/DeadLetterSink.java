@@ -0,0 +1,199 @@
+package com.example.Spring_batch_demo.batch.deadletter;
+
+import com.example.Spring_batch_demo.dto.CustomerCSV;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.batch.core.scope.context.StepContext;
+import org.springframework.batch.core.scope.context.StepSynchronizationManager;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Collects rejected customer rows into the SegmentedDeadLetterLog. Records are handed over when the
+// chunk transaction commits (so a rolled back chunk leaves nothing behind) and appended by a single
+// background writer thread, so the chunk never waits on the log. A full queue makes the committing
+// thread wait for the writer rather than dropping records.
+@Component
+public class DeadLetterSink {
+
+    private static final Logger logger = LoggerFactory.getLogger(DeadLetterSink.class);
+
+    private final Path directory;
+    private final int segmentSize;
+    private final BlockingQueue<Entry> queue;
+    private final AtomicLong written = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+
+    private SegmentedDeadLetterLog log;
+    private Thread writer;
+
+    public DeadLetterSink(@Value("${batch.dead-letter.directory:${java.io.tmpdir}/spring-batch-demo/dead-letters}") String directory,
+                          @Value("${batch.dead-letter.segment-size:67108864}") int segmentSize,
+                          @Value("${batch.dead-letter.queue-capacity:10000}") int queueCapacity) {
+        this.directory = Path.of(directory);
+        this.segmentSize = segmentSize;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+    }
+
+    // Dead-letters the row once the surrounding transaction commits (immediately without one)
+    public void record(CustomerCSV customer, String reason) {
+        String rawLine = customer.getRawLine() != null ? customer.getRawLine() : toLine(customer);
+        DeadLetterRecord record = new DeadLetterRecord(System.currentTimeMillis(), currentSource(),
+                customer.getSourceOffset(), reason, rawLine);
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            enqueue(new Entry(record, null));
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                enqueue(new Entry(record, null));
+            }
+        });
+    }
+
+    // Waits until everything recorded so far has been appended and forced to disk
+    public void flush() throws InterruptedException {
+        CountDownLatch flushed = new CountDownLatch(1);
+        enqueue(new Entry(null, flushed));
+        flushed.await();
+    }
+
+    // Flushes and closes the current segment; returns the last segment holding records recorded so far
+    public long seal() throws InterruptedException, IOException {
+        flush();
+        return log().roll();
+    }
+
+    public SegmentedDeadLetterLog.Reader reader(long lastSegment) throws IOException {
+        return log().reader(lastSegment);
+    }
+
+    public void delete(long lastSegment) throws IOException {
+        log().deleteUpTo(lastSegment);
+    }
+
+    public long getWrittenCount() {
+        return written.get();
+    }
+
+    public long getFailedCount() {
+        return failed.get();
+    }
+
+    private void enqueue(Entry entry) {
+        startWriter();
+        try {
+            queue.put(entry);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            failed.incrementAndGet();
+            logger.error("Interrupted while dead-lettering {}", entry.record);
+        }
+    }
+
+    private synchronized SegmentedDeadLetterLog log() throws IOException {
+        if (log == null) {
+            log = new SegmentedDeadLetterLog(directory, segmentSize);
+            logger.info("Dead-letter log at {}", directory.toAbsolutePath());
+        }
+        return log;
+    }
+
+    private synchronized void startWriter() {
+        if (writer == null) {
+            writer = new Thread(this::drain, "DeadLetterWriter");
+            writer.setDaemon(true);
+            writer.start();
+        }
+    }
+
+    private void drain() {
+        List<Entry> batch = new ArrayList<>();
+        try {
+            while (!Thread.currentThread().isInterrupted()) {
+                batch.add(queue.take());
+                queue.drainTo(batch);
+                for (Entry entry : batch) {
+                    if (entry.record != null) {
+                        append(entry.record);
+                    } else {
+                        force();
+                        entry.flushed.countDown();
+                    }
+                }
+                batch.clear();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void append(DeadLetterRecord record) {
+        try {
+            log().append(record);
+            written.incrementAndGet();
+        } catch (IOException e) {
+            failed.incrementAndGet();
+            logger.error("Failed to dead-letter record {}", record, e);
+        }
+    }
+
+    private void force() {
+        try {
+            log().force();
+        } catch (IOException e) {
+            logger.error("Failed to force the dead-letter log to disk", e);
+        }
+    }
+
+    // Rebuilds a CSV line for rows from readers that do not keep the line they read
+    private static String toLine(CustomerCSV customer) {
+        return String.join(",", field(customer.getFirstName()), field(customer.getLastName()),
+                field(customer.getEmail()), field(customer.getAge()), field(customer.getCity()));
+    }
+
+    private static String field(String value) {
+        if (value == null) {
+            return "";
+        }
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0) {
+            return value;
+        }
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+
+    private static String currentSource() {
+        StepContext context = StepSynchronizationManager.getContext();
+        return context != null ? context.getJobName() + "." + context.getStepName() : null;
+    }
+
+    @PreDestroy
+    public void close() throws InterruptedException, IOException {
+        Thread current;
+        synchronized (this) {
+            current = writer;
+        }
+        if (current == null) {
+            return;
+        }
+        flush();
+        current.interrupt();
+        current.join();
+        log().close();
+    }
+
+    private record Entry(DeadLetterRecord record, CountDownLatch flushed) {
+    }
+}
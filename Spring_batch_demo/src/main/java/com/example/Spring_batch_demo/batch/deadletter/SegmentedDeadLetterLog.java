@@ -0,0 +1,234 @@
+package com.example.Spring_batch_demo.batch.deadletter;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+// Append-only log of dead-letter records in fixed-size, memory-mapped segment files
+// (dead-letter-0000000001.log, ...). A record is an int payload length followed by the payload; a zero
+// length marks the end of the data in a segment, since fresh segments are zero-filled. The length is
+// written only after the payload, so a record only becomes visible once it is complete. A length that
+// would run past the end of the segment (a torn or corrupt write) also ends the segment's data. A record
+// that does not fit in the rest of the segment starts the next one. Segments are only ever appended to and deleted
+// whole, once their records have been replayed.
+public class SegmentedDeadLetterLog implements Closeable {
+
+    private static final String PREFIX = "dead-letter-";
+    private static final String SUFFIX = ".log";
+    private static final int LENGTH_BYTES = Integer.BYTES;
+
+    private final Path directory;
+    private final int segmentSize;
+
+    private long segment;
+    private FileChannel channel;
+    private MappedByteBuffer buffer;
+
+    public SegmentedDeadLetterLog(Path directory, int segmentSize) throws IOException {
+        this.directory = directory;
+        this.segmentSize = segmentSize;
+        Files.createDirectories(directory);
+        List<Long> segments = segments();
+        segment = segments.isEmpty() ? 1 : segments.get(segments.size() - 1);
+    }
+
+    public synchronized void append(DeadLetterRecord record) throws IOException {
+        byte[] payload = encode(record);
+        int size = LENGTH_BYTES + payload.length;
+        if (size > segmentSize) {
+            throw new IOException("Dead-letter record of " + size + " bytes exceeds the segment size " + segmentSize);
+        }
+        if (buffer == null) {
+            map();
+        }
+        if (buffer.remaining() < size) {
+            roll();
+            map();
+        }
+        int position = buffer.position();
+        buffer.put(position + LENGTH_BYTES, payload);
+        buffer.putInt(position, payload.length);
+        buffer.position(position + size);
+    }
+
+    public synchronized void force() {
+        if (buffer != null) {
+            buffer.force();
+        }
+    }
+
+    // Closes the current segment so later appends go to a new one; returns the last closed segment
+    public synchronized long roll() throws IOException {
+        closeSegment();
+        long sealed = segment;
+        if (Files.exists(segmentPath(segment))) {
+            segment++;
+        } else {
+            sealed--;
+        }
+        return sealed;
+    }
+
+    // Reads the records of all segments up to and including lastSegment, oldest first
+    public Reader reader(long lastSegment) throws IOException {
+        List<Path> paths = new ArrayList<>();
+        for (long id : segments()) {
+            if (id <= lastSegment) {
+                paths.add(segmentPath(id));
+            }
+        }
+        return new Reader(paths);
+    }
+
+    public void deleteUpTo(long lastSegment) throws IOException {
+        for (long id : segments()) {
+            if (id <= lastSegment) {
+                Files.deleteIfExists(segmentPath(id));
+            }
+        }
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        closeSegment();
+    }
+
+    private void map() throws IOException {
+        channel = FileChannel.open(segmentPath(segment),
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, segmentSize);
+        // Continue after the last complete record of an existing segment
+        int position = 0;
+        while (position + LENGTH_BYTES <= segmentSize) {
+            int length = buffer.getInt(position);
+            if (length <= 0 || length > segmentSize - position - LENGTH_BYTES) {
+                break;
+            }
+            position += LENGTH_BYTES + length;
+        }
+        buffer.position(position);
+    }
+
+    private void closeSegment() throws IOException {
+        if (buffer != null) {
+            buffer.force();
+            buffer = null;
+        }
+        if (channel != null) {
+            channel.close();
+            channel = null;
+        }
+    }
+
+    private List<Long> segments() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.map(path -> path.getFileName().toString())
+                    .filter(name -> name.startsWith(PREFIX) && name.endsWith(SUFFIX))
+                    .map(name -> Long.parseLong(name.substring(PREFIX.length(), name.length() - SUFFIX.length())))
+                    .sorted()
+                    .toList();
+        }
+    }
+
+    private Path segmentPath(long id) {
+        return directory.resolve(String.format("%s%010d%s", PREFIX, id, SUFFIX));
+    }
+
+    private static byte[] encode(DeadLetterRecord record) {
+        byte[] source = bytes(record.source());
+        byte[] reason = bytes(record.reason());
+        byte[] rawLine = bytes(record.rawLine());
+        ByteBuffer payload = ByteBuffer.allocate(2 * Long.BYTES + 3 * Integer.BYTES
+                + length(source) + length(reason) + length(rawLine));
+        payload.putLong(record.timestamp());
+        payload.putLong(record.sourceOffset());
+        put(payload, source);
+        put(payload, reason);
+        put(payload, rawLine);
+        return payload.array();
+    }
+
+    private static DeadLetterRecord decode(ByteBuffer payload) {
+        long timestamp = payload.getLong();
+        long sourceOffset = payload.getLong();
+        String source = string(payload);
+        String reason = string(payload);
+        String rawLine = string(payload);
+        return new DeadLetterRecord(timestamp, source, sourceOffset, reason, rawLine);
+    }
+
+    private static byte[] bytes(String value) {
+        return value != null ? value.getBytes(StandardCharsets.UTF_8) : null;
+    }
+
+    private static int length(byte[] value) {
+        return value != null ? value.length : 0;
+    }
+
+    private static void put(ByteBuffer payload, byte[] value) {
+        if (value == null) {
+            payload.putInt(-1);
+            return;
+        }
+        payload.putInt(value.length);
+        payload.put(value);
+    }
+
+    private static String string(ByteBuffer payload) {
+        int length = payload.getInt();
+        if (length < 0) {
+            return null;
+        }
+        String value = new String(payload.array(), payload.arrayOffset() + payload.position(), length, StandardCharsets.UTF_8);
+        payload.position(payload.position() + length);
+        return value;
+    }
+
+    // Forward-only iteration over closed segments
+    public static class Reader implements Closeable {
+
+        private final List<Path> segments;
+        private int nextSegment;
+        private MappedByteBuffer buffer;
+
+        Reader(List<Path> segments) {
+            this.segments = segments;
+        }
+
+        // The next record, or null once every segment has been read
+        public DeadLetterRecord next() throws IOException {
+            while (true) {
+                if (buffer != null && buffer.remaining() >= LENGTH_BYTES) {
+                    int length = buffer.getInt();
+                    if (length > 0 && length <= buffer.remaining()) {
+                        byte[] payload = new byte[length];
+                        buffer.get(payload);
+                        return decode(ByteBuffer.wrap(payload));
+                    }
+                    // Zero or out of bounds: the rest of this segment holds no complete record
+                }
+                if (nextSegment >= segments.size()) {
+                    buffer = null;
+                    return null;
+                }
+                try (FileChannel channel = FileChannel.open(segments.get(nextSegment++), StandardOpenOption.READ)) {
+                    buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+                }
+            }
+        }
+
+        @Override
+        public void close() {
+            buffer = null;
+        }
+    }
+}
@@ -0,0 +1,117 @@
+package com.example.Spring_batch_demo.batch.dedup;
+
+import com.example.Spring_batch_demo.batch.support.StringHash;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.batch.core.scope.context.StepContext;
+import org.springframework.batch.core.scope.context.StepSynchronizationManager;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Emails already claimed by the running job, shared by every thread and partition of that job, so
+// duplicates are caught in the processor instead of as unique-key violations that roll back a chunk.
+// One EmailHashSet per job execution, created on the first claim and dropped when the job ends. The
+// sets live in this JVM only, so the index refuses remote modes: remote workers would neither share
+// the manager's claims nor see the job end that releases their own sets.
+@Component
+public class EmailDedupIndex {
+
+    private static final Logger logger = LoggerFactory.getLogger(EmailDedupIndex.class);
+
+    private static final String COUNT_SQL = "SELECT COUNT(*) FROM customers";
+
+    private static final String EMAILS_SQL = "SELECT email FROM customers WHERE email IS NOT NULL";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final JdbcTemplate cursorJdbcTemplate;
+    private final long expectedEmails;
+
+    // off   - no dedup; duplicates surface at the database
+    // file  - duplicates within the job's input (across threads and partitions)
+    // table - also emails already in customers; refused with batch.writer.mode=merge, which updates them
+    private final boolean enabled;
+    private final boolean seedFromTable;
+
+    private final Map<Long, EmailHashSet> claimedByJob = new ConcurrentHashMap<>();
+
+    public EmailDedupIndex(JdbcTemplate jdbcTemplate,
+                           @Value("${batch.dedup.mode:off}") String mode,
+                           @Value("${batch.dedup.expected-emails:1000000}") long expectedEmails,
+                           @Value("${batch.customers.stream-fetch-size:500}") int seedFetchSize,
+                           @Value("${batch.remote.mode:none}") String remoteMode,
+                           @Value("${batch.writer.mode:jpa}") String writerMode) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.cursorJdbcTemplate = new JdbcTemplate(jdbcTemplate.getDataSource());
+        this.cursorJdbcTemplate.setFetchSize(seedFetchSize);
+        this.expectedEmails = expectedEmails;
+        switch (mode.toLowerCase()) {
+            case "off" -> { enabled = false; seedFromTable = false; }
+            case "file" -> { enabled = true; seedFromTable = false; }
+            case "table" -> { enabled = true; seedFromTable = true; }
+            default -> throw new IllegalArgumentException("Unknown batch.dedup.mode: " + mode);
+        }
+        if (enabled && !"none".equalsIgnoreCase(remoteMode)) {
+            throw new IllegalArgumentException("batch.dedup.mode=" + mode + " needs batch.remote.mode=none, not " + remoteMode);
+        }
+        if (seedFromTable && "merge".equalsIgnoreCase(writerMode)) {
+            // Stored emails are the rows a merge import refreshes, so rejecting them would drop every update
+            throw new IllegalArgumentException("batch.dedup.mode=table cannot be combined with batch.writer.mode=merge");
+        }
+    }
+
+    // False if the email was already claimed in this job (or, in table mode, already stored). Claims
+    // made inside a transaction are released again if it rolls back, so retried items are not rejected.
+    public boolean claim(String email) {
+        if (!enabled || email == null) {
+            return true;
+        }
+        StepContext context = StepSynchronizationManager.getContext();
+        if (context == null) {
+            return true;
+        }
+        EmailHashSet claimed = claimedByJob.computeIfAbsent(context.getStepExecution().getJobExecutionId(), this::create);
+        long hash = StringHash.hash(email);
+        if (!claimed.add(hash)) {
+            return false;
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    if (status != STATUS_COMMITTED) {
+                        claimed.remove(hash);
+                    }
+                }
+            });
+        }
+        return true;
+    }
+
+    public void release(long jobExecutionId) {
+        EmailHashSet claimed = claimedByJob.remove(jobExecutionId);
+        if (claimed != null) {
+            logger.info("Released email dedup index of job execution {}: {} emails", jobExecutionId, claimed.size());
+        }
+    }
+
+    // Runs inside computeIfAbsent, so the job's other threads wait for the seed instead of racing it
+    private EmailHashSet create(long jobExecutionId) {
+        if (!seedFromTable) {
+            return new EmailHashSet(expectedEmails);
+        }
+        Long existing = jdbcTemplate.queryForObject(COUNT_SQL, Long.class);
+        EmailHashSet claimed = new EmailHashSet(expectedEmails + (existing != null ? existing : 0));
+        cursorJdbcTemplate.query(EMAILS_SQL, rs -> {
+            claimed.add(StringHash.hash(rs.getString(1)));
+        });
+        logger.info("Seeded email dedup index of job execution {} with {} stored emails ({} slots)",
+                jobExecutionId, claimed.size(), claimed.capacity());
+        return claimed;
+    }
+}
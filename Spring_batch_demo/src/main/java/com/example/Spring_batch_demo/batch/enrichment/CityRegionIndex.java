@@ -0,0 +1,104 @@
+package com.example.Spring_batch_demo.batch.enrichment;
+
+import com.example.Spring_batch_demo.batch.support.StringHash;
+import org.springframework.core.io.Resource;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+// Read-only city to region lookup built once from a "city,region" CSV. Cities are kept as sorted
+// 64-bit hashes of their case-folded, trimmed names with a parallel array of region numbers, so a
+// lookup is a binary search over a long[] that allocates nothing. About 10 bytes per city, which is
+// small enough to keep even very large reference files fully in memory.
+public final class CityRegionIndex {
+
+    private final long[] cityKeys;
+    private final short[] regionNumbers;
+    private final String[] regions;
+
+    private CityRegionIndex(long[] cityKeys, short[] regionNumbers, String[] regions) {
+        this.cityKeys = cityKeys;
+        this.regionNumbers = regionNumbers;
+        this.regions = regions;
+    }
+
+    public static CityRegionIndex load(Resource resource) throws IOException {
+        Map<Long, String> cities = new HashMap<>();
+        Map<Long, String> regionByKey = new HashMap<>();
+        try (BufferedReader reader = new BufferedReader(
+                new InputStreamReader(resource.getInputStream(), StandardCharsets.UTF_8))) {
+            reader.readLine(); // Skip header line
+            String line;
+            while ((line = reader.readLine()) != null) {
+                int comma = line.indexOf(',');
+                if (line.isBlank() || comma < 0) {
+                    continue;
+                }
+                String city = line.substring(0, comma).trim();
+                String region = line.substring(comma + 1).trim();
+                long key = key(city);
+                String previous = cities.putIfAbsent(key, city);
+                if (previous != null && !previous.equalsIgnoreCase(city)) {
+                    throw new IllegalStateException("Cities '" + previous + "' and '" + city + "' in "
+                            + resource.getDescription() + " share a lookup key");
+                }
+                regionByKey.put(key, region);
+            }
+        }
+        return of(regionByKey);
+    }
+
+    private static CityRegionIndex of(Map<Long, String> regionByKey) {
+        long[] cityKeys = regionByKey.keySet().stream().mapToLong(Long::longValue).sorted().toArray();
+        List<String> regions = new ArrayList<>();
+        Map<String, Short> regionNumberByName = new HashMap<>();
+        short[] regionNumbers = new short[cityKeys.length];
+        for (int i = 0; i < cityKeys.length; i++) {
+            String region = regionByKey.get(cityKeys[i]);
+            Short number = regionNumberByName.get(region);
+            if (number == null) {
+                if (regions.size() > Short.MAX_VALUE) {
+                    throw new IllegalStateException("More than " + Short.MAX_VALUE + " distinct regions");
+                }
+                number = (short) regions.size();
+                regionNumberByName.put(region, number);
+                regions.add(region);
+            }
+            regionNumbers[i] = number;
+        }
+        return new CityRegionIndex(cityKeys, regionNumbers, regions.toArray(String[]::new));
+    }
+
+    // Region of the city, or null for a city that is not in the reference data
+    public String regionOf(CharSequence city) {
+        if (city == null) {
+            return null;
+        }
+        int index = Arrays.binarySearch(cityKeys, key(city));
+        return index >= 0 ? regions[regionNumbers[index]] : null;
+    }
+
+    public int size() {
+        return cityKeys.length;
+    }
+
+    // Hash of the lower-cased chars between the first and last non-blank char
+    static long key(CharSequence city) {
+        int start = 0;
+        int end = city.length();
+        while (start < end && Character.isWhitespace(city.charAt(start))) {
+            start++;
+        }
+        while (end > start && Character.isWhitespace(city.charAt(end - 1))) {
+            end--;
+        }
+        return StringHash.hash(city, start, end, true);
+    }
+}
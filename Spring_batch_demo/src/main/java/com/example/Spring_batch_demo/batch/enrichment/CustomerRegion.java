@@ -0,0 +1,4 @@
+package com.example.Spring_batch_demo.batch.enrichment;
+
+public record CustomerRegion(long id, String region) {
+}
@@ -1,7 +1,9 @@
 package com.example.Spring_batch_demo.batch.listener;
 
+import com.example.Spring_batch_demo.batch.dedup.EmailDedupIndex;
+import com.example.Spring_batch_demo.batch.progress.JobProgressPublisher;
 import com.example.Spring_batch_demo.model.Customer;
-import com.example.Spring_batch_demo.repository.CustomerRepository;
+import com.example.Spring_batch_demo.service.CustomerStatisticsAggregator;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.batch.core.JobExecution;
@@ -10,17 +12,22 @@ import org.springframework.stereotype.Component;
 
 import java.time.Duration;
 import java.time.LocalDateTime;
-import java.util.List;
 
 @Component
 public class JobCompletionListener implements JobExecutionListener {
     
     private static final Logger logger = LoggerFactory.getLogger(JobCompletionListener.class);
     
-    private final CustomerRepository customerRepository;
+    private final CustomerStatisticsAggregator statisticsAggregator;
+    private final JobProgressPublisher jobProgressPublisher;
+    private final EmailDedupIndex emailDedupIndex;
     
-    public JobCompletionListener(CustomerRepository customerRepository) {
-        this.customerRepository = customerRepository;
+    public JobCompletionListener(CustomerStatisticsAggregator statisticsAggregator,
+                                JobProgressPublisher jobProgressPublisher,
+                                EmailDedupIndex emailDedupIndex) {
+        this.statisticsAggregator = statisticsAggregator;
+        this.jobProgressPublisher = jobProgressPublisher;
+        this.emailDedupIndex = emailDedupIndex;
     }
     
     @Override
@@ -32,12 +39,15 @@ public class JobCompletionListener implements JobExecutionListener {
         logger.info("Job Parameters: {}", jobExecution.getJobParameters());
         
         // Log initial statistics
-        long totalCustomers = customerRepository.count();
+        long totalCustomers = statisticsAggregator.getTotal();
         logger.info("Total customers in database before job: {}", totalCustomers);
     }
     
     @Override
     public void afterJob(JobExecution jobExecution) {
+        jobProgressPublisher.publishJobEnd(jobExecution);
+        emailDedupIndex.release(jobExecution.getId());
+        
         LocalDateTime startTime = jobExecution.getStartTime();
         LocalDateTime endTime = jobExecution.getEndTime();
         
@@ -63,21 +73,21 @@ public class JobCompletionListener implements JobExecutionListener {
                 .mapToLong(step -> step.getSkipCount()).sum());
         
         // Log database statistics
-        long totalCustomers = customerRepository.count();
-        long processedCustomers = customerRepository.countByStatus(Customer.CustomerStatus.PROCESSED);
-        long failedCustomers = customerRepository.countByStatus(Customer.CustomerStatus.FAILED);
+        long totalCustomers = statisticsAggregator.getTotal();
+        long processedCustomers = statisticsAggregator.getCount(Customer.CustomerStatus.PROCESSED);
+        long validatedCustomers = statisticsAggregator.getCount(Customer.CustomerStatus.VALIDATED);
+        long failedCustomers = statisticsAggregator.getCount(Customer.CustomerStatus.FAILED);
         
         logger.info("Database Statistics:");
         logger.info("- Total customers: {}", totalCustomers);
         logger.info("- Processed customers: {}", processedCustomers);
+        logger.info("- Validated customers: {}", validatedCustomers);
         logger.info("- Failed customers: {}", failedCustomers);
         
         // Log city distribution
-        List<Object[]> cityStats = customerRepository.countCustomersByCity();
         logger.info("Customer distribution by city:");
-        for (Object[] stat : cityStats) {
-            logger.info("- {}: {} customers", stat[0], stat[1]);
-        }
+        statisticsAggregator.getCountsByCity().forEach((city, count) ->
+                logger.info("- {}: {} customers", city, count));
         
         // Log any failures
         if (!jobExecution.getAllFailureExceptions().isEmpty()) {
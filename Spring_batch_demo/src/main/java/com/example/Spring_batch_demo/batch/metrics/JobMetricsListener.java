@@ -0,0 +1,53 @@
+package com.example.Spring_batch_demo.batch.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.batch.core.JobExecution;
+import org.springframework.batch.core.JobExecutionListener;
+import org.springframework.batch.core.StepExecution;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Job duration and item totals. Timers are keyed by job execution id, so concurrent jobs never share one.
+public class JobMetricsListener implements JobExecutionListener {
+
+    private final MeterRegistry meterRegistry;
+    private final Map<Long, Timer.Sample> jobTimers = new ConcurrentHashMap<>();
+
+    public JobMetricsListener(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public void beforeJob(JobExecution jobExecution) {
+        jobTimers.put(jobExecution.getId(), Timer.start(meterRegistry));
+        meterRegistry.counter("batch.job.starts",
+                "jobName", jobExecution.getJobInstance().getJobName()).increment();
+    }
+
+    @Override
+    public void afterJob(JobExecution jobExecution) {
+        String jobName = jobExecution.getJobInstance().getJobName();
+        String status = jobExecution.getStatus().toString();
+
+        Timer.Sample jobTimer = jobTimers.remove(jobExecution.getId());
+        if (jobTimer != null) {
+            jobTimer.stop(meterRegistry.timer("batch.job.duration", "jobName", jobName, "status", status));
+        }
+        meterRegistry.counter("batch.job.completions", "jobName", jobName, "status", status).increment();
+
+        // Totals are counters: Prometheus derives rates from them, and nothing is held by weak reference
+        long read = 0;
+        long written = 0;
+        long skipped = 0;
+        for (StepExecution stepExecution : jobExecution.getStepExecutions()) {
+            read += stepExecution.getReadCount();
+            written += stepExecution.getWriteCount();
+            skipped += stepExecution.getSkipCount();
+        }
+        meterRegistry.counter("batch.job.items", "jobName", jobName, "type", "read").increment(read);
+        meterRegistry.counter("batch.job.items", "jobName", jobName, "type", "write").increment(written);
+        meterRegistry.counter("batch.job.items", "jobName", jobName, "type", "skip").increment(skipped);
+    }
+}
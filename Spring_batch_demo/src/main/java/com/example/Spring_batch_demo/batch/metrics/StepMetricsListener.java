@@ -0,0 +1,230 @@
+package com.example.Spring_batch_demo.batch.metrics;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.batch.core.ChunkListener;
+import org.springframework.batch.core.ExitStatus;
+import org.springframework.batch.core.ItemProcessListener;
+import org.springframework.batch.core.ItemReadListener;
+import org.springframework.batch.core.ItemWriteListener;
+import org.springframework.batch.core.StepExecution;
+import org.springframework.batch.core.StepExecutionListener;
+import org.springframework.batch.core.scope.context.ChunkContext;
+import org.springframework.batch.core.step.builder.SimpleStepBuilder;
+import org.springframework.batch.item.Chunk;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+// Where a chunk-oriented step spends its time: per-item read and process timers, per-chunk write and
+// commit timers, written-item counters and a live rows/sec gauge, all tagged by step name. Partition
+// workers report under their worker step name. Per-chunk state lives in a thread local (a chunk is
+// read, processed and written on one thread, also in multi-threaded steps) and step timers are keyed
+// by step execution id, so concurrent steps and jobs never share a timer.
+// Register on a step with instrument(builder), which adds it for every listener interface.
+public class StepMetricsListener implements StepExecutionListener, ChunkListener,
+        ItemReadListener<Object>, ItemProcessListener<Object, Object>, ItemWriteListener<Object> {
+
+    private static final int RATE_WINDOW_SECONDS = 10;
+
+    private final MeterRegistry meterRegistry;
+    private final LongSupplier clock;
+    private final Map<String, StepMetrics> steps = new ConcurrentHashMap<>();
+    private final Map<Long, Timer.Sample> stepTimers = new ConcurrentHashMap<>();
+    private final ThreadLocal<ChunkTiming> chunkTiming = ThreadLocal.withInitial(ChunkTiming::new);
+
+    public StepMetricsListener(MeterRegistry meterRegistry) {
+        this(meterRegistry, System::nanoTime);
+    }
+
+    StepMetricsListener(MeterRegistry meterRegistry, LongSupplier clock) {
+        this.meterRegistry = meterRegistry;
+        this.clock = clock;
+    }
+
+    public <I, O> SimpleStepBuilder<I, O> instrument(SimpleStepBuilder<I, O> builder) {
+        return builder
+                .listener((StepExecutionListener) this)
+                .listener((ChunkListener) this)
+                .listener((ItemReadListener<Object>) this)
+                .listener((ItemProcessListener<Object, Object>) this)
+                .listener((ItemWriteListener<Object>) this);
+    }
+
+    @Override
+    public void beforeStep(StepExecution stepExecution) {
+        stepTimers.put(stepExecution.getId(), Timer.start(meterRegistry));
+        metrics(stepExecution.getStepName());
+    }
+
+    @Override
+    public ExitStatus afterStep(StepExecution stepExecution) {
+        StepMetrics metrics = metrics(stepExecution.getStepName());
+        Timer.Sample stepTimer = stepTimers.remove(stepExecution.getId());
+        if (stepTimer != null) {
+            stepTimer.stop(meterRegistry.timer("batch.step.duration",
+                    "stepName", metrics.stepName, "status", stepExecution.getStatus().toString()));
+        }
+
+        LocalDateTime endTime = stepExecution.getEndTime() != null ? stepExecution.getEndTime() : LocalDateTime.now();
+        if (stepExecution.getStartTime() != null) {
+            double seconds = Duration.between(stepExecution.getStartTime(), endTime).toMillis() / 1000.0;
+            if (seconds > 0) {
+                metrics.lastRate = stepExecution.getWriteCount() / seconds;
+            }
+        }
+        return null; // Keep the step's exit status
+    }
+
+    @Override
+    public void beforeChunk(ChunkContext context) {
+        ChunkTiming timing = chunkTiming.get();
+        timing.metrics = metrics(context.getStepContext().getStepName());
+        timing.chunkStart = clock.getAsLong();
+        timing.written = 0;
+    }
+
+    @Override
+    public void afterChunk(ChunkContext context) {
+        ChunkTiming timing = chunkTiming.get();
+        if (timing.metrics == null) {
+            return;
+        }
+        timing.metrics.chunkCommit.record(clock.getAsLong() - timing.chunkStart, TimeUnit.NANOSECONDS);
+        if (timing.written > 0) {
+            // Counted only once the chunk has committed
+            timing.metrics.written.increment(timing.written);
+            timing.metrics.throughput.add(timing.written);
+        }
+        timing.metrics = null;
+    }
+
+    @Override
+    public void afterChunkError(ChunkContext context) {
+        ChunkTiming timing = chunkTiming.get();
+        if (timing.metrics == null) {
+            return;
+        }
+        timing.metrics.chunkRollback.record(clock.getAsLong() - timing.chunkStart, TimeUnit.NANOSECONDS);
+        timing.metrics = null;
+    }
+
+    @Override
+    public void beforeRead() {
+        chunkTiming.get().phaseStart = clock.getAsLong();
+    }
+
+    @Override
+    public void afterRead(Object item) {
+        ChunkTiming timing = chunkTiming.get();
+        if (timing.metrics != null) {
+            timing.metrics.read.record(clock.getAsLong() - timing.phaseStart, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    @Override
+    public void beforeProcess(Object item) {
+        chunkTiming.get().phaseStart = clock.getAsLong();
+    }
+
+    @Override
+    public void afterProcess(Object item, Object result) {
+        ChunkTiming timing = chunkTiming.get();
+        if (timing.metrics != null) {
+            timing.metrics.process.record(clock.getAsLong() - timing.phaseStart, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    @Override
+    public void beforeWrite(Chunk<?> items) {
+        chunkTiming.get().phaseStart = clock.getAsLong();
+    }
+
+    @Override
+    public void afterWrite(Chunk<?> items) {
+        ChunkTiming timing = chunkTiming.get();
+        if (timing.metrics != null) {
+            timing.metrics.write.record(clock.getAsLong() - timing.phaseStart, TimeUnit.NANOSECONDS);
+            timing.written += items.size();
+        }
+    }
+
+    @Override
+    public void onWriteError(Exception exception, Chunk<?> items) {
+        ChunkTiming timing = chunkTiming.get();
+        if (timing.metrics != null) {
+            timing.metrics.writeError.record(clock.getAsLong() - timing.phaseStart, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private StepMetrics metrics(String stepName) {
+        return steps.computeIfAbsent(metricStepName(stepName), name -> new StepMetrics(name, meterRegistry));
+    }
+
+    // "customerProcessingStep:partition3" -> "customerProcessingStep"
+    static String metricStepName(String stepName) {
+        int separator = stepName.indexOf(':');
+        return separator > 0 ? stepName.substring(0, separator) : stepName;
+    }
+
+    private static final class ChunkTiming {
+        StepMetrics metrics;
+        long chunkStart;
+        long phaseStart;
+        long written;
+    }
+
+    // Meters of one step; held here so the gauges always have a strong reference to read from
+    private static final class StepMetrics {
+
+        final String stepName;
+        final Timer read;
+        final Timer process;
+        final Timer write;
+        final Timer writeError;
+        final Timer chunkCommit;
+        final Timer chunkRollback;
+        final Counter written;
+        final ThroughputWindow throughput = new ThroughputWindow(RATE_WINDOW_SECONDS, System::currentTimeMillis);
+        volatile double lastRate;
+
+        StepMetrics(String stepName, MeterRegistry registry) {
+            this.stepName = stepName;
+            this.read = timer("batch.item.read", "Time to read one item", stepName, "success", registry);
+            this.process = timer("batch.item.process", "Time to process one item", stepName, "success", registry);
+            this.write = timer("batch.chunk.write", "Time to write one chunk", stepName, "success", registry);
+            this.writeError = timer("batch.chunk.write", "Time to write one chunk", stepName, "failure", registry);
+            this.chunkCommit = timer("batch.chunk.duration", "Chunk time from first read to commit", stepName, "commit", registry);
+            this.chunkRollback = timer("batch.chunk.duration", "Chunk time from first read to commit", stepName, "rollback", registry);
+            this.written = Counter.builder("batch.step.items.written")
+                    .description("Items written by committed chunks")
+                    .tag("stepName", stepName)
+                    .register(registry);
+            Gauge.builder("batch.step.rows.per.second", this, metrics -> metrics.throughput.ratePerSecond())
+                    .description("Items written per second over the last " + RATE_WINDOW_SECONDS + " seconds")
+                    .tag("stepName", stepName)
+                    .register(registry);
+            Gauge.builder("batch.step.processing.rate", this, metrics -> metrics.lastRate)
+                    .description("Items written per second over the last completed step execution")
+                    .tag("stepName", stepName)
+                    .register(registry);
+        }
+
+        private static Timer timer(String name, String description, String stepName, String outcome,
+                                   MeterRegistry registry) {
+            return Timer.builder(name)
+                    .description(description)
+                    .tag("stepName", stepName)
+                    .tag("outcome", outcome)
+                    .publishPercentiles(0.5, 0.95, 0.99)
+                    .publishPercentileHistogram()
+                    .register(registry);
+        }
+    }
+}
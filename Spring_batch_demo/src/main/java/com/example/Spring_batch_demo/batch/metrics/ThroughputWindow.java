@@ -0,0 +1,40 @@
+package com.example.Spring_batch_demo.batch.metrics;
+
+import java.util.function.LongSupplier;
+
+// Items per second over the last few seconds, from one bucket per second in a ring
+final class ThroughputWindow {
+
+    private final int windowSeconds;
+    private final long[] counts;
+    private final long[] seconds;
+    private final LongSupplier clockMillis;
+
+    ThroughputWindow(int windowSeconds, LongSupplier clockMillis) {
+        this.windowSeconds = windowSeconds;
+        this.counts = new long[windowSeconds];
+        this.seconds = new long[windowSeconds];
+        this.clockMillis = clockMillis;
+    }
+
+    synchronized void add(long items) {
+        long second = clockMillis.getAsLong() / 1000;
+        int bucket = (int) (second % windowSeconds);
+        if (seconds[bucket] != second) {
+            seconds[bucket] = second;
+            counts[bucket] = 0;
+        }
+        counts[bucket] += items;
+    }
+
+    synchronized double ratePerSecond() {
+        long second = clockMillis.getAsLong() / 1000;
+        long total = 0;
+        for (int i = 0; i < windowSeconds; i++) {
+            if (second - seconds[i] < windowSeconds) {
+                total += counts[i];
+            }
+        }
+        return (double) total / windowSeconds;
+    }
+}
@@ -0,0 +1,88 @@
+package com.example.Spring_batch_demo.batch.partitioner;
+
+import com.example.Spring_batch_demo.batch.reader.CsvByteRangeSplitter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.batch.core.partition.support.Partitioner;
+import org.springframework.batch.item.ExecutionContext;
+import org.springframework.core.io.Resource;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+// Sizes partitions from the actual input. Each partition gets a half-open [startRange, endRange) range:
+// byte offsets aligned to line starts for a CSV file, or customer ids for the customers table.
+public class CustomerRangePartitioner implements Partitioner {
+
+    private static final Logger logger = LoggerFactory.getLogger(CustomerRangePartitioner.class);
+
+    private final Resource resource;
+    private final JdbcTemplate jdbcTemplate;
+
+    private CustomerRangePartitioner(Resource resource, JdbcTemplate jdbcTemplate) {
+        this.resource = resource;
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    public static CustomerRangePartitioner forFile(Resource resource) {
+        return new CustomerRangePartitioner(resource, null);
+    }
+
+    public static CustomerRangePartitioner forTable(JdbcTemplate jdbcTemplate) {
+        return new CustomerRangePartitioner(null, jdbcTemplate);
+    }
+
+    @Override
+    public Map<String, ExecutionContext> partition(int gridSize) {
+        logger.info("Partitioning data for {} threads", gridSize);
+
+        List<long[]> ranges = resource != null ? fileRanges(gridSize) : idRanges(gridSize);
+
+        Map<String, ExecutionContext> partitions = new HashMap<>(ranges.size());
+        for (int number = 0; number < ranges.size(); number++) {
+            long[] range = ranges.get(number);
+            ExecutionContext context = new ExecutionContext();
+            context.putInt("partitionNumber", number);
+            context.putLong("startRange", range[0]);
+            context.putLong("endRange", range[1]);
+
+            // Give each partition a unique name
+            String partitionName = "partition" + number;
+            partitions.put(partitionName, context);
+
+            logger.info("Created partition: {}, range: {}-{}", partitionName, range[0], range[1]);
+        }
+
+        return partitions;
+    }
+
+    private List<long[]> fileRanges(int gridSize) {
+        try {
+            return CsvByteRangeSplitter.split(resource.getFile().toPath(), gridSize, true);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to split " + resource.getDescription(), e);
+        }
+    }
+
+    private List<long[]> idRanges(int gridSize) {
+        long[] bounds = jdbcTemplate.queryForObject("SELECT MIN(id), MAX(id) FROM customers",
+                (rs, rowNum) -> rs.getObject(1) == null ? null : new long[] {rs.getLong(1), rs.getLong(2)});
+        List<long[]> ranges = new ArrayList<>(gridSize);
+        if (bounds == null) {
+            return ranges; // Empty table, nothing to partition
+        }
+
+        long min = bounds[0];
+        long end = bounds[1] + 1;
+        long range = Math.max(1, (end - min + gridSize - 1) / gridSize);
+        for (long start = min; start < end; start += range) {
+            ranges.add(new long[] {start, Math.min(start + range, end)});
+        }
+        return ranges;
+    }
+}
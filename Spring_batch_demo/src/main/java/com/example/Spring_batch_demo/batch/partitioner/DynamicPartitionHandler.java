@@ -0,0 +1,274 @@
+package com.example.Spring_batch_demo.batch.partitioner;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.batch.core.BatchStatus;
+import org.springframework.batch.core.ExitStatus;
+import org.springframework.batch.core.JobInterruptedException;
+import org.springframework.batch.core.Step;
+import org.springframework.batch.core.StepExecution;
+import org.springframework.batch.core.partition.support.AbstractPartitionHandler;
+import org.springframework.batch.core.repository.JobRepository;
+import org.springframework.batch.core.step.StepHolder;
+import org.springframework.batch.item.ExecutionContext;
+import org.springframework.core.task.TaskExecutor;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+// Runs many small partitions (splits) on a fixed number of workers. Instead of one task per partition,
+// each worker keeps taking the next split from a shared lock-free queue until it is empty, so a worker
+// that lands on a slow split simply takes fewer of them and the tail is at most one split long. Every
+// split is its own StepExecution, so a restart re-runs only the splits that did not complete.
+//
+// With speculation, a worker that finds the queue empty looks for a straggler instead of going idle:
+// a split running well past the median duration of finished splits at well below their throughput.
+// It runs a duplicate of that split from its last committed checkpoint; whichever attempt completes
+// first is kept and the other is stopped at its next chunk boundary. Both attempts write the same
+// rows, so this is only safe with an idempotent writer.
+public class DynamicPartitionHandler extends AbstractPartitionHandler implements StepHolder {
+
+    private static final Logger logger = LoggerFactory.getLogger(DynamicPartitionHandler.class);
+
+    // multiplier - a straggler has run this many times the median duration, at 1/multiplier the median rate
+    // quantile   - fraction of splits that must have finished before there is a median to compare with
+    public record Speculation(JobRepository jobRepository, double multiplier, double quantile, long checkIntervalMillis) {
+    }
+
+    private final Step step;
+    private final TaskExecutor taskExecutor;
+    private final int concurrency;
+    private final Speculation speculation;
+
+    public DynamicPartitionHandler(Step step, TaskExecutor taskExecutor, int concurrency, int splits) {
+        this(step, taskExecutor, concurrency, splits, null);
+    }
+
+    public DynamicPartitionHandler(Step step, TaskExecutor taskExecutor, int concurrency, int splits, Speculation speculation) {
+        this.step = step;
+        this.taskExecutor = taskExecutor;
+        this.concurrency = concurrency;
+        this.speculation = speculation;
+        setGridSize(splits);
+    }
+
+    @Override
+    public Step getStep() {
+        return step;
+    }
+
+    @Override
+    protected Set<StepExecution> doHandle(StepExecution managerStepExecution,
+                                          Set<StepExecution> partitionStepExecutions) throws Exception {
+        // In partition order, so neighbouring splits of the input tend to run close together
+        List<StepExecution> ordered = new ArrayList<>(partitionStepExecutions);
+        ordered.sort(Comparator.comparing(StepExecution::getId));
+        Queue<StepExecution> splits = new ConcurrentLinkedQueue<>(ordered);
+        Map<Long, SplitRun> runs = new ConcurrentHashMap<>();
+        AtomicBoolean stopped = new AtomicBoolean();
+
+        int workers = Math.min(concurrency, ordered.size());
+        logger.info("Running {} splits of {} on {} workers", ordered.size(), step.getName(), workers);
+        List<FutureTask<Integer>> tasks = new ArrayList<>(workers);
+        for (int i = 0; i < workers; i++) {
+            FutureTask<Integer> task = new FutureTask<>(() -> drain(splits, runs, ordered.size(), stopped));
+            taskExecutor.execute(task);
+            tasks.add(task);
+        }
+        for (FutureTask<Integer> task : tasks) {
+            task.get();
+        }
+
+        // Left over when the job was stopped; never opened, so they stay restartable
+        for (StepExecution split : splits) {
+            split.setStatus(BatchStatus.STOPPED);
+            split.setExitStatus(ExitStatus.STOPPED.addExitDescription("Not started before the step was stopped"));
+        }
+        Set<StepExecution> results = new HashSet<>(partitionStepExecutions);
+        for (SplitRun run : runs.values()) {
+            if (run.result != null && run.result != run.original) {
+                results.remove(run.original);
+                results.add(run.result);
+                settleOriginal(run);
+            }
+        }
+        return results;
+    }
+
+    private int drain(Queue<StepExecution> splits, Map<Long, SplitRun> runs, int total, AtomicBoolean stopped)
+            throws InterruptedException {
+        int executed = 0;
+        while (!stopped.get()) {
+            StepExecution split = splits.poll();
+            if (split != null) {
+                SplitRun run = new SplitRun(split);
+                runs.put(split.getId(), run);
+                attempt(run, split, stopped);
+                // A failed split has recorded its failure; the others still run so a restart has less to redo
+                executed++;
+                continue;
+            }
+            if (speculation == null) {
+                return executed;
+            }
+            SplitRun straggler = findStraggler(runs, total);
+            if (straggler != null) {
+                StepExecution duplicate = startDuplicate(straggler);
+                if (duplicate != null) {
+                    attempt(straggler, duplicate, stopped);
+                }
+                continue;
+            }
+            if (runs.size() == total && runs.values().stream().allMatch(SplitRun::settledOrDuplicated)) {
+                return executed;
+            }
+            Thread.sleep(speculation.checkIntervalMillis());
+        }
+        return executed;
+    }
+
+    // AbstractStep does not throw on a stop: it records the split as STOPPED and returns. Unless this
+    // attempt was the one cancelled for losing to its twin, that means the job is stopping, and no worker
+    // should open another split.
+    private void attempt(SplitRun run, StepExecution execution, AtomicBoolean stopped) {
+        try {
+            step.execute(execution);
+        } catch (JobInterruptedException e) {
+            // Only from Step implementations that signal the stop instead of recording it
+            execution.setStatus(BatchStatus.STOPPED);
+        }
+        boolean lost = run.finished(execution);
+        if (!lost && (execution.getStatus() == BatchStatus.STOPPED || execution.getJobExecution().isStopping())) {
+            stopped.set(true);
+        }
+    }
+
+    private SplitRun findStraggler(Map<Long, SplitRun> runs, int total) {
+        List<Long> durations = new ArrayList<>();
+        List<Double> rates = new ArrayList<>();
+        for (SplitRun run : runs.values()) {
+            if (run.result != null && run.result.getStatus() == BatchStatus.COMPLETED) {
+                durations.add(run.durationNanos);
+                rates.add(run.result.getReadCount() / Math.max(1.0, run.durationNanos));
+            }
+        }
+        if (durations.isEmpty() || durations.size() < speculation.quantile() * total) {
+            return null;
+        }
+        long medianDuration = median(durations);
+        double medianRate = median(rates);
+
+        long now = System.nanoTime();
+        SplitRun straggler = null;
+        for (SplitRun run : runs.values()) {
+            if (run.settledOrDuplicated()) {
+                continue;
+            }
+            long elapsed = now - run.startNanos;
+            // Read without a lock from the worker thread; a stale count only makes the split look slower
+            double rate = run.original.getReadCount() / Math.max(1.0, elapsed);
+            if (elapsed > speculation.multiplier() * medianDuration && rate < medianRate / speculation.multiplier()
+                    && (straggler == null || run.startNanos < straggler.startNanos)) {
+                straggler = run;
+            }
+        }
+        return straggler;
+    }
+
+    // Registers a copy of the straggler resuming from its last committed execution context, or null if
+    // the straggler has finished meanwhile. The copy starts from the committed counts as well, so that
+    // if it wins it reports the whole split, not just the part after the checkpoint.
+    private StepExecution startDuplicate(SplitRun run) {
+        StepExecution original = run.original;
+        StepExecution committed = speculation.jobRepository()
+                .getLastStepExecution(original.getJobExecution().getJobInstance(), original.getStepName());
+        synchronized (run) {
+            if (run.settledOrDuplicated()) {
+                return null;
+            }
+            StepExecution duplicate = original.getJobExecution().createStepExecution(original.getStepName() + ":speculative");
+            if (committed != null) {
+                duplicate.setExecutionContext(new ExecutionContext(committed.getExecutionContext()));
+                duplicate.setReadCount(committed.getReadCount());
+                duplicate.setWriteCount(committed.getWriteCount());
+                duplicate.setFilterCount(committed.getFilterCount());
+                duplicate.setReadSkipCount(committed.getReadSkipCount());
+                duplicate.setWriteSkipCount(committed.getWriteSkipCount());
+                duplicate.setProcessSkipCount(committed.getProcessSkipCount());
+                duplicate.setCommitCount(committed.getCommitCount());
+            } else {
+                duplicate.setExecutionContext(new ExecutionContext(original.getExecutionContext()));
+            }
+            speculation.jobRepository().add(duplicate);
+            run.duplicate = duplicate;
+            logger.info("Speculatively re-running {} after {} ms", original.getStepName(),
+                    (System.nanoTime() - run.startNanos) / 1_000_000);
+            return duplicate;
+        }
+    }
+
+    // The original attempt lost to its duplicate and was stopped; mark it complete so that a restart
+    // does not run the split again
+    private void settleOriginal(SplitRun run) {
+        StepExecution original = run.original;
+        logger.info("{} completed by speculative attempt {}", original.getStepName(), run.result.getId());
+        if (original.getStatus() == BatchStatus.COMPLETED) {
+            return;
+        }
+        original.setStatus(BatchStatus.COMPLETED);
+        original.setExitStatus(ExitStatus.COMPLETED.addExitDescription(
+                "Completed by speculative attempt " + run.result.getId()));
+        speculation.jobRepository().update(original);
+    }
+
+    private static <T extends Comparable<T>> T median(List<T> values) {
+        values.sort(Comparator.naturalOrder());
+        return values.get(values.size() / 2);
+    }
+
+    // One split and its attempts; result is the attempt that completed first, or the original if none did
+    private static class SplitRun {
+
+        private final StepExecution original;
+        private final long startNanos = System.nanoTime();
+        private volatile StepExecution duplicate;
+        private volatile StepExecution result;
+        private volatile long durationNanos;
+        private int finishedAttempts;
+
+        SplitRun(StepExecution original) {
+            this.original = original;
+        }
+
+        boolean settledOrDuplicated() {
+            return result != null || duplicate != null;
+        }
+
+        // True if the execution is the attempt that lost, and was stopped for it
+        synchronized boolean finished(StepExecution execution) {
+            finishedAttempts++;
+            boolean lost = result != null && result != execution;
+            if (result == null && execution.getStatus() == BatchStatus.COMPLETED) {
+                result = execution;
+                durationNanos = System.nanoTime() - startNanos;
+                StepExecution other = execution == original ? duplicate : original;
+                if (other != null) {
+                    other.setTerminateOnly();
+                }
+            } else if (result == null && finishedAttempts == (duplicate != null ? 2 : 1)) {
+                result = original;
+                durationNanos = System.nanoTime() - startNanos;
+            }
+            return lost;
+        }
+    }
+}
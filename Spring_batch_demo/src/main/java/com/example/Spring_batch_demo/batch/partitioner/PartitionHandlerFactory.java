@@ -0,0 +1,111 @@
+package com.example.Spring_batch_demo.batch.partitioner;
+
+import com.example.Spring_batch_demo.batch.remote.PartitionRequestQueue;
+import com.example.Spring_batch_demo.batch.remote.RemotePartitionHandler;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.batch.core.Step;
+import org.springframework.batch.core.explore.JobExplorer;
+import org.springframework.batch.core.partition.PartitionHandler;
+import org.springframework.batch.core.partition.support.TaskExecutorPartitionHandler;
+import org.springframework.batch.core.repository.JobRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.stereotype.Component;
+
+// Chooses how and where partitioned steps run their partitions, so every partitioned step follows the
+// same batch.partition.mode and batch.remote.mode
+@Component
+public class PartitionHandlerFactory {
+
+    private static final Logger logger = LoggerFactory.getLogger(PartitionHandlerFactory.class);
+
+    private final PartitionRequestQueue requestQueue;
+    private final JobExplorer jobExplorer;
+
+    // none    - partitions run on local threads (TaskExecutorPartitionHandler)
+    // manager - partitions are queued in BATCH_PARTITION_REQUEST for worker nodes
+    // worker  - this node runs queued partitions; its own partitioned steps still run locally
+    // both    - manager and worker in one JVM, the single-node stand-in for a cluster
+    private final String remoteMode;
+
+    // static  - one partition per grid slot, handed out up front
+    // dynamic - gridSize * splits-per-worker smaller partitions that idle workers keep pulling
+    private final boolean dynamic;
+    private final int splitsPerWorker;
+
+    // Duplicates straggling local partitions on idle workers; null when batch.partition.speculation=off
+    private final DynamicPartitionHandler.Speculation speculation;
+
+    private final long pollIntervalMillis;
+    private final long timeoutMillis;
+
+    public PartitionHandlerFactory(PartitionRequestQueue requestQueue,
+                                   JobExplorer jobExplorer,
+                                   JobRepository jobRepository,
+                                   @Value("${batch.partition.mode:static}") String partitionMode,
+                                   @Value("${batch.partition.splits-per-worker:8}") int splitsPerWorker,
+                                   @Value("${batch.partition.speculation:off}") String speculationMode,
+                                   @Value("${batch.partition.speculation-multiplier:1.5}") double speculationMultiplier,
+                                   @Value("${batch.partition.speculation-quantile:0.75}") double speculationQuantile,
+                                   @Value("${batch.writer.mode:jpa}") String writerMode,
+                                   @Value("${batch.dedup.mode:off}") String dedupMode,
+                                   @Value("${batch.failed-records:table}") String failedRecords,
+                                   @Value("${batch.remote.mode:none}") String remoteMode,
+                                   @Value("${batch.remote.poll-interval-ms:500}") long pollIntervalMillis,
+                                   @Value("${batch.remote.partition-timeout-ms:3600000}") long timeoutMillis) {
+        this.requestQueue = requestQueue;
+        this.jobExplorer = jobExplorer;
+        this.dynamic = switch (partitionMode.toLowerCase()) {
+            case "static" -> false;
+            case "dynamic" -> true;
+            default -> throw new IllegalArgumentException("Unknown batch.partition.mode: " + partitionMode);
+        };
+        if (splitsPerWorker < 1) {
+            throw new IllegalArgumentException("batch.partition.splits-per-worker must be at least 1: " + splitsPerWorker);
+        }
+        this.splitsPerWorker = splitsPerWorker;
+        this.remoteMode = remoteMode.toLowerCase();
+        this.speculation = switch (speculationMode.toLowerCase()) {
+            case "off" -> null;
+            case "on" -> {
+                // Both attempts of a split process and write its rows past the checkpoint: only the merge
+                // writer makes the second write harmless, the duplicate's emails are already claimed, and
+                // rejected rows would be dead-lettered (and replayed) twice
+                if (!"merge".equalsIgnoreCase(writerMode) || !"off".equalsIgnoreCase(dedupMode)
+                        || !"table".equalsIgnoreCase(failedRecords)) {
+                    throw new IllegalArgumentException("batch.partition.speculation=on needs batch.writer.mode=merge, "
+                            + "batch.dedup.mode=off and batch.failed-records=table");
+                }
+                if (this.remoteMode.equals("manager") || this.remoteMode.equals("both")) {
+                    throw new IllegalArgumentException("batch.partition.speculation=on needs local partitions, not batch.remote.mode=" + remoteMode);
+                }
+                yield new DynamicPartitionHandler.Speculation(jobRepository, speculationMultiplier, speculationQuantile, 100);
+            }
+            default -> throw new IllegalArgumentException("Unknown batch.partition.speculation: " + speculationMode);
+        };
+        this.pollIntervalMillis = pollIntervalMillis;
+        this.timeoutMillis = timeoutMillis;
+    }
+
+    public PartitionHandler create(Step workerStep, int gridSize, TaskExecutor taskExecutor) {
+        int partitions = dynamic ? gridSize * splitsPerWorker : gridSize;
+        logger.info("{} partitions of {} run with remote mode '{}'", partitions, workerStep.getName(), remoteMode);
+        return switch (remoteMode) {
+            case "none", "worker" -> {
+                if (dynamic || speculation != null) {
+                    yield new DynamicPartitionHandler(workerStep, taskExecutor, gridSize, partitions, speculation);
+                }
+                TaskExecutorPartitionHandler handler = new TaskExecutorPartitionHandler();
+                handler.setStep(workerStep);
+                handler.setGridSize(gridSize);
+                handler.setTaskExecutor(taskExecutor);
+                yield handler;
+            }
+            // Remote workers already pull requests as they free up; dynamic mode only makes them smaller
+            case "manager", "both" ->
+                    new RemotePartitionHandler(workerStep, requestQueue, jobExplorer, partitions, pollIntervalMillis, timeoutMillis);
+            default -> throw new IllegalArgumentException("Unknown batch.remote.mode: " + remoteMode);
+        };
+    }
+}
@@ -0,0 +1,160 @@
+package com.example.Spring_batch_demo.batch.policy;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.batch.core.ChunkListener;
+import org.springframework.batch.core.scope.context.ChunkContext;
+import org.springframework.batch.repeat.RepeatContext;
+import org.springframework.batch.repeat.RepeatStatus;
+import org.springframework.batch.repeat.context.RepeatContextSupport;
+import org.springframework.batch.repeat.policy.CompletionPolicySupport;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.LongSupplier;
+
+// Chunk completion policy whose size moves between minSize and maxSize from measured chunk latency.
+// Full chunks that finish well under the target latency grow the size by half; chunks over it shrink
+// the size in proportion. A growth step that lowers throughput is undone and growth pauses for a while.
+// Must also be registered as the step's ChunkListener so it can time each chunk.
+public class AdaptiveChunkCompletionPolicy extends CompletionPolicySupport implements ChunkListener {
+
+    private static final Logger logger = LoggerFactory.getLogger(AdaptiveChunkCompletionPolicy.class);
+
+    private static final double GROWTH_FACTOR = 1.5;
+    private static final double LOW_WATERMARK = 0.75;
+    private static final double HIGH_WATERMARK = 1.25;
+    private static final double THROUGHPUT_TOLERANCE = 0.9;
+    private static final int COOLDOWN_CHUNKS = 10;
+
+    private final String stepName;
+    private final int minSize;
+    private final int maxSize;
+    private final long targetLatencyNanos;
+    private final AtomicInteger currentSize;
+    private final LongSupplier clock;
+
+    private final ThreadLocal<long[]> chunkStart = ThreadLocal.withInitial(() -> new long[1]);
+    private final ThreadLocal<AdaptiveContext> chunkContext = new ThreadLocal<>();
+
+    private int sizeBeforeGrowth;
+    private double throughputBeforeGrowth;
+    private int cooldown;
+
+    public AdaptiveChunkCompletionPolicy(String stepName, int initialSize, int minSize, int maxSize,
+                                         long targetLatencyMillis) {
+        this(stepName, initialSize, minSize, maxSize, targetLatencyMillis, System::nanoTime);
+    }
+
+    AdaptiveChunkCompletionPolicy(String stepName, int initialSize, int minSize, int maxSize,
+                                  long targetLatencyMillis, LongSupplier clock) {
+        if (minSize < 1 || maxSize < minSize) {
+            throw new IllegalArgumentException("Invalid chunk size bounds: " + minSize + "-" + maxSize);
+        }
+        this.stepName = stepName;
+        this.minSize = minSize;
+        this.maxSize = maxSize;
+        this.targetLatencyNanos = targetLatencyMillis * 1_000_000L;
+        this.currentSize = new AtomicInteger(Math.min(maxSize, Math.max(minSize, initialSize)));
+        this.clock = clock;
+    }
+
+    public AtomicInteger getCurrentSize() {
+        return currentSize;
+    }
+
+    @Override
+    public RepeatContext start(RepeatContext parent) {
+        AdaptiveContext context = new AdaptiveContext(parent, currentSize.get());
+        chunkContext.set(context);
+        return context;
+    }
+
+    @Override
+    public void update(RepeatContext context) {
+        ((RepeatContextSupport) context).increment();
+    }
+
+    @Override
+    public boolean isComplete(RepeatContext context, RepeatStatus result) {
+        if (result == null || !result.isContinuable()) {
+            return true;
+        }
+        return isComplete(context);
+    }
+
+    @Override
+    public boolean isComplete(RepeatContext context) {
+        AdaptiveContext adaptiveContext = (AdaptiveContext) context;
+        return adaptiveContext.getStartedCount() >= adaptiveContext.size;
+    }
+
+    @Override
+    public void beforeChunk(ChunkContext context) {
+        chunkStart.get()[0] = clock.getAsLong();
+        chunkContext.remove();
+    }
+
+    @Override
+    public void afterChunk(ChunkContext context) {
+        long elapsed = clock.getAsLong() - chunkStart.get()[0];
+        AdaptiveContext adaptiveContext = chunkContext.get();
+        chunkContext.remove();
+        // Only full chunks say anything about the size; the last one of a step is usually short
+        if (minSize == maxSize || adaptiveContext == null || adaptiveContext.getStartedCount() < adaptiveContext.size) {
+            return;
+        }
+        adjust(adaptiveContext.size, elapsed);
+    }
+
+    @Override
+    public void afterChunkError(ChunkContext context) {
+        chunkContext.remove();
+    }
+
+    private synchronized void adjust(int size, long elapsedNanos) {
+        if (size != currentSize.get() || elapsedNanos <= 0) {
+            return; // Measured with a size that is already outdated
+        }
+        double throughput = size * 1_000_000_000.0 / elapsedNanos;
+
+        if (sizeBeforeGrowth > 0) {
+            int grownFrom = sizeBeforeGrowth;
+            sizeBeforeGrowth = 0;
+            if (throughput < throughputBeforeGrowth * THROUGHPUT_TOLERANCE) {
+                resize(grownFrom, "throughput dropped after growth");
+                cooldown = COOLDOWN_CHUNKS;
+                return;
+            }
+        }
+
+        if (elapsedNanos > targetLatencyNanos * HIGH_WATERMARK) {
+            int shrunk = (int) Math.max(minSize, (long) size * targetLatencyNanos / elapsedNanos);
+            resize(shrunk, "commit latency above target");
+        } else if (elapsedNanos < targetLatencyNanos * LOW_WATERMARK && size < maxSize) {
+            if (cooldown > 0) {
+                cooldown--;
+                return;
+            }
+            sizeBeforeGrowth = size;
+            throughputBeforeGrowth = throughput;
+            resize((int) Math.min(maxSize, Math.ceil(size * GROWTH_FACTOR)), "commit latency below target");
+        }
+    }
+
+    private void resize(int size, String reason) {
+        int previous = currentSize.getAndSet(size);
+        if (previous != size) {
+            logger.debug("Chunk size for {} changed {} -> {} ({})", stepName, previous, size, reason);
+        }
+    }
+
+    private static class AdaptiveContext extends RepeatContextSupport {
+
+        private final int size;
+
+        AdaptiveContext(RepeatContext parent, int size) {
+            super(parent);
+            this.size = size;
+        }
+    }
+}
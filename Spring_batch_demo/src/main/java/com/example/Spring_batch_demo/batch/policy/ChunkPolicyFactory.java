@@ -0,0 +1,42 @@
+package com.example.Spring_batch_demo.batch.policy;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+@Component
+public class ChunkPolicyFactory {
+
+    private final MeterRegistry meterRegistry;
+
+    @Value("${batch.chunk.size:10}")
+    private int chunkSize;
+
+    // Equal bounds (the default) keep the chunk size fixed at batch.chunk.size
+    @Value("${batch.chunk.min-size:${batch.chunk.size:10}}")
+    private int minSize;
+
+    @Value("${batch.chunk.max-size:${batch.chunk.size:10}}")
+    private int maxSize;
+
+    @Value("${batch.chunk.target-latency-ms:500}")
+    private long targetLatencyMillis;
+
+    public ChunkPolicyFactory(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    // One policy per step; register the result with .chunk(policy, ...) and .listener(policy)
+    public AdaptiveChunkCompletionPolicy create(String stepName) {
+        AdaptiveChunkCompletionPolicy policy = new AdaptiveChunkCompletionPolicy(
+                stepName, chunkSize, minSize, maxSize, targetLatencyMillis);
+        Gauge.builder("batch.chunk.size", policy.getCurrentSize(), AtomicInteger::get)
+                .description("Current chunk size chosen by the adaptive completion policy")
+                .tag("stepName", stepName)
+                .register(meterRegistry);
+        return policy;
+    }
+}
@@ -1,10 +1,13 @@
 package com.example.Spring_batch_demo.batch.processor;
 
+import com.example.Spring_batch_demo.batch.deadletter.DeadLetterSink;
+import com.example.Spring_batch_demo.batch.dedup.EmailDedupIndex;
 import com.example.Spring_batch_demo.dto.CustomerCSV;
 import com.example.Spring_batch_demo.model.Customer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.batch.item.ItemProcessor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
 import java.time.LocalDateTime;
@@ -18,9 +21,25 @@ public class CustomerItemProcessor implements ItemProcessor<CustomerCSV, Custome
     private static final Logger logger = LoggerFactory.getLogger(CustomerItemProcessor.class);
     
     private final Validator validator;
+    private final DeadLetterSink deadLetterSink;
+    private final EmailDedupIndex emailDedupIndex;
     
-    public CustomerItemProcessor(Validator validator) {
+    // table       - rejected rows are written to customers with status FAILED
+    // dead-letter - rejected rows go to the dead-letter log and are filtered out of the chunk
+    private final boolean deadLetterFailures;
+    
+    public CustomerItemProcessor(Validator validator,
+                                 DeadLetterSink deadLetterSink,
+                                 EmailDedupIndex emailDedupIndex,
+                                 @Value("${batch.failed-records:table}") String failedRecords) {
         this.validator = validator;
+        this.deadLetterSink = deadLetterSink;
+        this.emailDedupIndex = emailDedupIndex;
+        this.deadLetterFailures = switch (failedRecords.toLowerCase()) {
+            case "table" -> false;
+            case "dead-letter" -> true;
+            default -> throw new IllegalArgumentException("Unknown batch.failed-records: " + failedRecords);
+        };
     }
     
     @Override
@@ -28,26 +47,18 @@ public class CustomerItemProcessor implements ItemProcessor<CustomerCSV, Custome
         logger.debug("Processing customer: {}", customerCSV);
         
         try {
-            // Transform CSV data to Customer entity
-            Customer customer = new Customer();
-            customer.setFirstName(transformName(customerCSV.getFirstName()));
-            customer.setLastName(transformName(customerCSV.getLastName()));
-            customer.setEmail(customerCSV.getEmail() != null ? customerCSV.getEmail().toLowerCase().trim() : null);
-            customer.setAge(parseAge(customerCSV.getAge()));
-            customer.setCity(transformName(customerCSV.getCity()));
-            customer.setProcessedAt(LocalDateTime.now());
-            customer.setStatus(Customer.CustomerStatus.PROCESSED);
+            Customer customer = transform(customerCSV);
             
             // Validate the customer object
-            Set<ConstraintViolation<Customer>> violations = validator.validate(customer);
-            if (!violations.isEmpty()) {
-                StringBuilder sb = new StringBuilder();
-                for (ConstraintViolation<Customer> violation : violations) {
-                    sb.append(violation.getMessage()).append("; ");
+            String violations = validate(customer);
+            if (violations != null) {
+                logger.warn("Validation failed for customer {}: {}", customerCSV.getEmail(), violations);
+                if (deadLetterFailures) {
+                    deadLetterSink.record(customerCSV, "Validation failed: " + violations);
+                    return null;
                 }
-                logger.warn("Validation failed for customer {}: {}", customerCSV.getEmail(), sb.toString());
                 customer.setStatus(Customer.CustomerStatus.FAILED);
-                return customer; // Still return the customer but mark as failed
+                return claimEmail(customer, customerCSV); // Still return the customer but mark as failed
             }
             
             // Additional business logic
@@ -56,10 +67,14 @@ public class CustomerItemProcessor implements ItemProcessor<CustomerCSV, Custome
             }
             
             logger.info("Successfully processed customer: {} {}", customer.getFirstName(), customer.getLastName());
-            return customer;
+            return claimEmail(customer, customerCSV);
             
         } catch (Exception e) {
             logger.error("Error processing customer: {}", customerCSV, e);
+            if (deadLetterFailures) {
+                deadLetterSink.record(customerCSV, "Processing error: " + e);
+                return null;
+            }
             // Create a failed customer record
             Customer failedCustomer = new Customer();
             failedCustomer.setEmail(customerCSV.getEmail());
@@ -67,8 +82,46 @@ public class CustomerItemProcessor implements ItemProcessor<CustomerCSV, Custome
             failedCustomer.setLastName(customerCSV.getLastName());
             failedCustomer.setProcessedAt(LocalDateTime.now());
             failedCustomer.setStatus(Customer.CustomerStatus.FAILED);
-            return failedCustomer;
+            return claimEmail(failedCustomer, customerCSV);
+        }
+    }
+    
+    // Transform CSV data to Customer entity, status PROCESSED; no validation and no side effects
+    public Customer transform(CustomerCSV customerCSV) {
+        Customer customer = new Customer();
+        customer.setFirstName(transformName(customerCSV.getFirstName()));
+        customer.setLastName(transformName(customerCSV.getLastName()));
+        customer.setEmail(customerCSV.getEmail() != null ? customerCSV.getEmail().toLowerCase().trim() : null);
+        customer.setAge(parseAge(customerCSV.getAge()));
+        customer.setCity(transformName(customerCSV.getCity()));
+        customer.setProcessedAt(LocalDateTime.now());
+        customer.setStatus(Customer.CustomerStatus.PROCESSED);
+        return customer;
+    }
+    
+    // Constraint violation messages, or null if the customer is valid
+    public String validate(Customer customer) {
+        Set<ConstraintViolation<Customer>> violations = validator.validate(customer);
+        if (violations.isEmpty()) {
+            return null;
+        }
+        StringBuilder sb = new StringBuilder();
+        for (ConstraintViolation<Customer> violation : violations) {
+            sb.append(violation.getMessage()).append("; ");
+        }
+        return sb.toString();
+    }
+    
+    // Filters out a customer whose email another item of the running job has already taken
+    private Customer claimEmail(Customer customer, CustomerCSV customerCSV) {
+        if (emailDedupIndex.claim(customer.getEmail())) {
+            return customer;
+        }
+        logger.warn("Duplicate email {} filtered out", customer.getEmail());
+        if (deadLetterFailures) {
+            deadLetterSink.record(customerCSV, "Duplicate email");
         }
+        return null;
     }
     
     private String transformName(String name) {
@@ -0,0 +1,28 @@
+package com.example.Spring_batch_demo.batch.progress;
+
+import com.example.Spring_batch_demo.dto.StepProgress;
+import org.springframework.batch.core.ChunkListener;
+import org.springframework.batch.core.scope.context.ChunkContext;
+import org.springframework.stereotype.Component;
+
+// Publishes step counters after every committed chunk; register it on each step with .listener(...)
+@Component
+public class JobProgressListener implements ChunkListener {
+
+    private final JobProgressPublisher publisher;
+
+    public JobProgressListener(JobProgressPublisher publisher) {
+        this.publisher = publisher;
+    }
+
+    @Override
+    public void afterChunk(ChunkContext context) {
+        publisher.publishStep(StepProgress.of(context.getStepContext().getStepExecution()));
+    }
+
+    @Override
+    public void afterChunkError(ChunkContext context) {
+        // Rolled back; counters still changed (rollbackCount), so viewers should see it
+        publisher.publishStep(StepProgress.of(context.getStepContext().getStepExecution()));
+    }
+}
@@ -0,0 +1,174 @@
+package com.example.Spring_batch_demo.batch.progress;
+
+import com.example.Spring_batch_demo.dto.JobProgress;
+import com.example.Spring_batch_demo.dto.StepProgress;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.batch.core.JobExecution;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+// Fans job progress out to server-sent-event subscribers. Batch threads only record the latest
+// StepProgress per step execution; a single dispatcher thread serializes each pending update once and
+// writes it to every subscriber of that job, so slow viewers never hold up a chunk and updates that
+// arrive faster than they can be sent are coalesced.
+@Component
+public class JobProgressPublisher {
+
+    private static final Logger logger = LoggerFactory.getLogger(JobProgressPublisher.class);
+
+    static final String STEP_EVENT = "step";
+    static final String JOB_EVENT = "job";
+    private static final int ENDED_JOBS_RETAINED = 100;
+
+    private final ObjectMapper objectMapper;
+    private final long emitterTimeoutMillis;
+
+    private final Map<Long, List<SseEmitter>> subscribers = new ConcurrentHashMap<>();
+    private final Map<Long, StepProgress> pendingSteps = new ConcurrentHashMap<>();
+    private final AtomicBoolean flushScheduled = new AtomicBoolean();
+    // Final snapshots of recently ended jobs, for subscribers that connect while the job is finishing;
+    // only touched on the dispatcher thread
+    private final Map<Long, JobProgress> endedJobs = new LinkedHashMap<>() {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Long, JobProgress> eldest) {
+            return size() > ENDED_JOBS_RETAINED;
+        }
+    };
+    private final ExecutorService dispatcher = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "JobProgress-");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public JobProgressPublisher(ObjectMapper objectMapper,
+                                @Value("${batch.progress.emitter-timeout-ms:1800000}") long emitterTimeoutMillis) {
+        this.objectMapper = objectMapper;
+        this.emitterTimeoutMillis = emitterTimeoutMillis;
+    }
+
+    public SseEmitter subscribe(JobExecution jobExecution) {
+        return subscribe(jobExecution, new SseEmitter(emitterTimeoutMillis));
+    }
+
+    // The snapshot goes out on the dispatcher before the emitter is registered, so no step update a
+    // subscriber receives is older than its snapshot
+    SseEmitter subscribe(JobExecution jobExecution, SseEmitter emitter) {
+        Long jobExecutionId = jobExecution.getId();
+        JobProgress snapshot = JobProgress.of(jobExecution);
+        dispatcher.execute(() -> {
+            JobProgress ended = endedJobs.get(jobExecutionId);
+            if (!send(emitter, JOB_EVENT, ended != null ? ended : snapshot)) {
+                return;
+            }
+            if (ended != null || !jobExecution.isRunning()) {
+                emitter.complete();
+                return;
+            }
+            List<SseEmitter> emitters = subscribers.computeIfAbsent(jobExecutionId, id -> new CopyOnWriteArrayList<>());
+            emitters.add(emitter);
+            emitter.onCompletion(() -> emitters.remove(emitter));
+            emitter.onTimeout(() -> emitters.remove(emitter));
+            emitter.onError(error -> emitters.remove(emitter));
+        });
+        return emitter;
+    }
+
+    // Called from afterChunk on batch threads; only the latest counters per step execution are kept
+    public void publishStep(StepProgress progress) {
+        if (!subscribers.containsKey(progress.jobExecutionId())) {
+            return; // Nobody is watching this job
+        }
+        pendingSteps.put(progress.stepExecutionId(), progress);
+        if (flushScheduled.compareAndSet(false, true)) {
+            dispatcher.execute(this::flushSteps);
+        }
+    }
+
+    public void publishJobEnd(JobExecution jobExecution) {
+        JobProgress progress = JobProgress.of(jobExecution);
+        dispatcher.execute(() -> {
+            flushSteps();
+            endedJobs.put(progress.jobExecutionId(), progress);
+            List<SseEmitter> emitters = subscribers.remove(progress.jobExecutionId());
+            if (emitters == null) {
+                return;
+            }
+            String json = toJson(progress);
+            for (SseEmitter emitter : emitters) {
+                if (sendJson(emitter, JOB_EVENT, json)) {
+                    emitter.complete();
+                }
+            }
+        });
+    }
+
+    private void flushSteps() {
+        flushScheduled.set(false);
+        List<StepProgress> updates = new ArrayList<>(pendingSteps.size());
+        for (Long stepExecutionId : new ArrayList<>(pendingSteps.keySet())) {
+            StepProgress progress = pendingSteps.remove(stepExecutionId);
+            if (progress != null) {
+                updates.add(progress);
+            }
+        }
+        for (StepProgress progress : updates) {
+            List<SseEmitter> emitters = subscribers.get(progress.jobExecutionId());
+            if (emitters == null || emitters.isEmpty()) {
+                continue;
+            }
+            String json = toJson(progress);
+            for (SseEmitter emitter : emitters) {
+                if (!sendJson(emitter, STEP_EVENT, json)) {
+                    emitters.remove(emitter);
+                }
+            }
+        }
+    }
+
+    private boolean send(SseEmitter emitter, String eventName, Object payload) {
+        return sendJson(emitter, eventName, toJson(payload));
+    }
+
+    private boolean sendJson(SseEmitter emitter, String eventName, String json) {
+        try {
+            emitter.send(SseEmitter.event().name(eventName).data(json, MediaType.APPLICATION_JSON));
+            return true;
+        } catch (IOException | IllegalStateException e) {
+            logger.debug("Dropping progress subscriber: {}", e.getMessage());
+            emitter.completeWithError(e);
+            return false;
+        }
+    }
+
+    private String toJson(Object payload) {
+        try {
+            return objectMapper.writeValueAsString(payload);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize job progress", e);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        dispatcher.shutdownNow();
+        subscribers.values().forEach(emitters -> emitters.forEach(SseEmitter::complete));
+        subscribers.clear();
+    }
+}
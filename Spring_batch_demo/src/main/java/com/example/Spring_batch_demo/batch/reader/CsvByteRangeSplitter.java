@@ -0,0 +1,69 @@
+package com.example.Spring_batch_demo.batch.reader;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+public final class CsvByteRangeSplitter {
+
+    private static final int SCAN_BUFFER_SIZE = 8192;
+
+    private CsvByteRangeSplitter() {
+    }
+
+    // Splits the file into at most rangeCount [start, end) byte ranges. Every boundary is moved forward
+    // to the start of the next line, so a line always belongs to the range holding its first byte.
+    public static List<long[]> split(Path file, int rangeCount, boolean skipHeader) throws IOException {
+        if (rangeCount < 1) {
+            throw new IllegalArgumentException("rangeCount must be positive: " + rangeCount);
+        }
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = channel.size();
+            long dataStart = skipHeader ? nextLineStart(channel, 0, size) : 0;
+
+            List<long[]> ranges = new ArrayList<>(rangeCount);
+            long start = dataStart;
+            for (int i = 1; i <= rangeCount && start < size; i++) {
+                long end = i == rangeCount
+                        ? size
+                        : nextLineStart(channel, Math.max(start, dataStart + (size - dataStart) * i / rangeCount), size);
+                if (end > start) {
+                    ranges.add(new long[] {start, end});
+                    start = end;
+                }
+            }
+            return ranges;
+        }
+    }
+
+    // Returns the first line start at or after position (the byte before it is a newline), or size
+    public static long nextLineStart(FileChannel channel, long position, long size) throws IOException {
+        if (position == 0) {
+            return scanForNewline(channel, 0, size);
+        }
+        return scanForNewline(channel, position - 1, size);
+    }
+
+    private static long scanForNewline(FileChannel channel, long from, long size) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(SCAN_BUFFER_SIZE);
+        long position = from;
+        while (position < size) {
+            buffer.clear();
+            int read = channel.read(buffer, position);
+            if (read <= 0) {
+                break;
+            }
+            for (int i = 0; i < read; i++) {
+                if (buffer.get(i) == '\n') {
+                    return position + i + 1;
+                }
+            }
+            position += read;
+        }
+        return size;
+    }
+}
@@ -1,62 +1,245 @@
 package com.example.Spring_batch_demo.batch.reader;
 
 import com.example.Spring_batch_demo.dto.CustomerCSV;
-import com.opencsv.bean.CsvToBean;
-import com.opencsv.bean.CsvToBeanBuilder;
+import com.github.luben.zstd.ZstdInputStream;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.batch.item.ItemReader;
-import org.springframework.batch.item.NonTransientResourceException;
-import org.springframework.batch.item.ParseException;
-import org.springframework.batch.item.UnexpectedInputException;
+import org.springframework.batch.item.ExecutionContext;
+import org.springframework.batch.item.ItemStreamException;
+import org.springframework.batch.item.file.FlatFileParseException;
+import org.springframework.batch.item.file.LineMapper;
+import org.springframework.batch.item.support.AbstractItemCountingItemStreamItemReader;
 import org.springframework.core.io.Resource;
-import org.springframework.stereotype.Component;
 
-import java.io.FileReader;
-import java.util.Iterator;
+import java.io.BufferedInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.GZIPInputStream;
+
+// Streaming, restartable customer CSV reader. Works with any Resource (file, classpath, jar) and reads
+// gzip or zstd input transparently, detected from the leading magic bytes. The offset of the next line
+// in the (decompressed) stream is checkpointed, so a restart skips straight to it instead of re-parsing.
+public class CustomerCsvItemReader extends AbstractItemCountingItemStreamItemReader<CustomerCSV> {
 
-@Component
-public class CustomerCsvItemReader implements ItemReader<CustomerCSV> {
-    
     private static final Logger logger = LoggerFactory.getLogger(CustomerCsvItemReader.class);
-    
-    private Iterator<CustomerCSV> customerIterator;
-    private boolean initialized = false;
-    
+
+    private static final String OFFSET_KEY = "byte.offset";
+    private static final String LINE_COUNT_KEY = "line.count";
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private Resource resource;
+    private LineMapper<CustomerCSV> lineMapper = new CustomerCsvLineMapper();
+    private int linesToSkip = 1;
+
+    private InputStream input;
+    private Compression compression;
+    private final byte[] buffer = new byte[BUFFER_SIZE];
+    private int bufferPosition;
+    private int bufferLimit;
+    private byte[] lineBuffer = new byte[1024];
+    private long offset;
+    private int lineCount;
+    private long restartOffset = -1;
+    private int restartLineCount;
+
+    public CustomerCsvItemReader() {
+        setName(CustomerCsvItemReader.class.getSimpleName());
+    }
+
     public void setResource(Resource resource) {
-        try {
-            logger.info("Initializing CSV reader for resource: {}", resource.getFilename());
-            
-            CsvToBean<CustomerCSV> csvToBean = new CsvToBeanBuilder<CustomerCSV>(new FileReader(resource.getFile()))
-                    .withType(CustomerCSV.class)
-                    .withIgnoreLeadingWhiteSpace(true)
-                    .withIgnoreEmptyLine(true)
-                    .build();
-            
-            customerIterator = csvToBean.iterator();
-            initialized = true;
-            
-            logger.info("CSV reader initialized successfully");
-            
-        } catch (Exception e) {
-            logger.error("Error initializing CSV reader", e);
-            throw new RuntimeException("Failed to initialize CSV reader", e);
-        }
-    }
-    
+        this.resource = resource;
+    }
+
+    public void setLineMapper(LineMapper<CustomerCSV> lineMapper) {
+        this.lineMapper = lineMapper;
+    }
+
+    public void setLinesToSkip(int linesToSkip) {
+        this.linesToSkip = linesToSkip;
+    }
+
+    @Override
+    public void open(ExecutionContext executionContext) throws ItemStreamException {
+        restartOffset = executionContext.getLong(getExecutionContextKey(OFFSET_KEY), -1L);
+        restartLineCount = executionContext.getInt(getExecutionContextKey(LINE_COUNT_KEY), 0);
+        super.open(executionContext);
+    }
+
     @Override
-    public CustomerCSV read() throws Exception, UnexpectedInputException, ParseException, NonTransientResourceException {
-        if (!initialized) {
+    protected void doOpen() throws Exception {
+        if (resource == null) {
             throw new IllegalStateException("Reader not initialized. Call setResource() first.");
         }
-        
-        if (customerIterator != null && customerIterator.hasNext()) {
-            CustomerCSV customer = customerIterator.next();
-            logger.debug("Read customer: {}", customer);
-            return customer;
+
+        logger.info("Initializing CSV reader for resource: {}", resource.getDescription());
+
+        BufferedInputStream raw = new BufferedInputStream(resource.getInputStream(), BUFFER_SIZE);
+        compression = Compression.detect(raw);
+        input = switch (compression) {
+            case GZIP -> new GZIPInputStream(raw, BUFFER_SIZE);
+            case ZSTD -> new ZstdInputStream(raw);
+            case NONE -> raw;
+        };
+        bufferPosition = 0;
+        bufferLimit = 0;
+        offset = 0;
+        lineCount = 0;
+
+        for (int i = 0; i < linesToSkip && readLine() >= 0; i++) {
+            // Skip header lines
+        }
+
+        logger.info("CSV reader initialized successfully ({} input)", compression.name().toLowerCase());
+    }
+
+    @Override
+    protected void jumpToItem(int itemIndex) throws Exception {
+        if (restartOffset < 0) {
+            super.jumpToItem(itemIndex);
+            return;
         }
-        
+
+        logger.info("Resuming {} at byte offset {} (item {})", resource.getDescription(), restartOffset, itemIndex);
+        skipTo(restartOffset);
+        lineCount = restartLineCount;
+    }
+
+    @Override
+    protected CustomerCSV doRead() throws Exception {
+        int length;
+        long lineStart = offset;
+        while ((length = readLine()) >= 0) {
+            if (length == 0) {
+                lineStart = offset;
+                continue; // Ignore empty lines
+            }
+            String line = new String(lineBuffer, 0, length, StandardCharsets.UTF_8);
+            try {
+                CustomerCSV customer = lineMapper.mapLine(line, lineCount);
+                customer.setSourceOffset(lineStart);
+                logger.debug("Read customer: {}", customer);
+                return customer;
+            } catch (Exception e) {
+                throw new FlatFileParseException("Parsing error at line " + lineCount + " in resource="
+                        + resource.getDescription() + ", input=[" + line + "]", e, line, lineCount);
+            }
+        }
+
         logger.info("Finished reading all customers from CSV");
         return null; // End of input
     }
-} 
\ No newline at end of file
+
+    @Override
+    public void update(ExecutionContext executionContext) throws ItemStreamException {
+        super.update(executionContext);
+        if (isSaveState()) {
+            executionContext.putLong(getExecutionContextKey(OFFSET_KEY), offset);
+            executionContext.putInt(getExecutionContextKey(LINE_COUNT_KEY), lineCount);
+        }
+    }
+
+    @Override
+    protected void doClose() throws Exception {
+        if (input != null) {
+            try {
+                input.close();
+            } finally {
+                input = null;
+            }
+        }
+    }
+
+    // Reads the next line into lineBuffer without its terminator; returns the length, or -1 at end of input
+    private int readLine() throws IOException {
+        int length = 0;
+        while (true) {
+            if (bufferPosition == bufferLimit && !fill()) {
+                if (length == 0) {
+                    return -1;
+                }
+                break;
+            }
+            int start = bufferPosition;
+            int newline = -1;
+            for (int i = start; i < bufferLimit; i++) {
+                if (buffer[i] == '\n') {
+                    newline = i;
+                    break;
+                }
+            }
+            int end = newline >= 0 ? newline : bufferLimit;
+            length = append(length, start, end);
+            bufferPosition = newline >= 0 ? newline + 1 : bufferLimit;
+            offset += bufferPosition - start;
+            if (newline >= 0) {
+                break;
+            }
+        }
+        lineCount++;
+        if (length > 0 && lineBuffer[length - 1] == '\r') {
+            length--;
+        }
+        return length;
+    }
+
+    private int append(int length, int start, int end) {
+        int count = end - start;
+        if (length + count > lineBuffer.length) {
+            byte[] grown = new byte[Math.max(length + count, lineBuffer.length * 2)];
+            System.arraycopy(lineBuffer, 0, grown, 0, length);
+            lineBuffer = grown;
+        }
+        System.arraycopy(buffer, start, lineBuffer, length, count);
+        return length + count;
+    }
+
+    private boolean fill() throws IOException {
+        int read = input.read(buffer, 0, buffer.length);
+        if (read <= 0) {
+            return false;
+        }
+        bufferPosition = 0;
+        bufferLimit = read;
+        return true;
+    }
+
+    // Moves forward to the given stream offset without parsing. For plain input this is a seek on
+    // file-backed streams; compressed input still has to be decompressed up to that point.
+    private void skipTo(long target) throws IOException {
+        long buffered = Math.min(bufferLimit - bufferPosition, target - offset);
+        bufferPosition += (int) buffered;
+        offset += buffered;
+        while (offset < target) {
+            long skipped = input.skip(target - offset);
+            if (skipped <= 0) {
+                if (input.read() < 0) {
+                    throw new EOFException("Restart offset " + target + " is beyond the end of "
+                            + resource.getDescription());
+                }
+                skipped = 1;
+            }
+            offset += skipped;
+        }
+    }
+
+    enum Compression {
+        NONE, GZIP, ZSTD;
+
+        static Compression detect(BufferedInputStream in) throws IOException {
+            in.mark(4);
+            byte[] magic = new byte[4];
+            int read = in.readNBytes(magic, 0, 4);
+            in.reset();
+            if (read >= 2 && (magic[0] & 0xFF) == 0x1F && (magic[1] & 0xFF) == 0x8B) {
+                return GZIP;
+            }
+            if (read == 4 && (magic[0] & 0xFF) == 0x28 && (magic[1] & 0xFF) == 0xB5
+                    && (magic[2] & 0xFF) == 0x2F && (magic[3] & 0xFF) == 0xFD) {
+                return ZSTD;
+            }
+            return NONE;
+        }
+    }
+}
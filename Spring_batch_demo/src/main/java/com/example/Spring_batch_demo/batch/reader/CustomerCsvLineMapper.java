@@ -0,0 +1,99 @@
+package com.example.Spring_batch_demo.batch.reader;
+
+import com.example.Spring_batch_demo.dto.CustomerCSV;
+import org.springframework.batch.item.file.LineMapper;
+import org.springframework.batch.item.file.transform.IncorrectTokenCountException;
+
+// Maps "first_name,last_name,email,age,city" lines straight onto CustomerCSV in a single pass over the
+// line's chars, with no FieldSet or BeanWrapper in between. Quoting follows DelimitedLineTokenizer:
+// a field wrapped in double quotes may contain commas, and "" inside it is an escaped quote.
+public class CustomerCsvLineMapper implements LineMapper<CustomerCSV> {
+
+    private static final int FIELD_COUNT = 5;
+    private static final char DELIMITER = ',';
+    private static final char QUOTE = '"';
+
+    @Override
+    public CustomerCSV mapLine(String line, int lineNumber) throws Exception {
+        CustomerCSV customer = new CustomerCSV();
+        int length = line.length();
+        int field = 0;
+        int position = 0;
+
+        while (true) {
+            String value;
+            if (position < length && line.charAt(position) == QUOTE) {
+                int close = closingQuote(line, position + 1);
+                value = unescape(line, position + 1, close);
+                // Anything between the closing quote and the next delimiter is dropped
+                int delimiter = close < length ? line.indexOf(DELIMITER, close + 1) : -1;
+                position = delimiter < 0 ? length : delimiter;
+            } else {
+                int delimiter = line.indexOf(DELIMITER, position);
+                int end = delimiter < 0 ? length : delimiter;
+                value = line.substring(position, end);
+                position = end;
+            }
+
+            if (field < FIELD_COUNT) {
+                assign(customer, field, value);
+            }
+            field++;
+
+            if (position >= length) {
+                break;
+            }
+            position++; // Skip the delimiter
+        }
+
+        if (field != FIELD_COUNT) {
+            throw new IncorrectTokenCountException("Incorrect number of tokens found in record",
+                    FIELD_COUNT, field, line);
+        }
+        customer.setRawLine(line);
+        return customer;
+    }
+
+    // Index of the quote closing a field opened just before start, or the line length if unterminated
+    private int closingQuote(String line, int start) {
+        int length = line.length();
+        int i = start;
+        while (i < length) {
+            if (line.charAt(i) == QUOTE) {
+                if (i + 1 < length && line.charAt(i + 1) == QUOTE) {
+                    i += 2;
+                    continue;
+                }
+                return i;
+            }
+            i++;
+        }
+        return length;
+    }
+
+    private String unescape(String line, int start, int end) {
+        int escape = line.indexOf("\"\"", start);
+        if (escape < 0 || escape >= end) {
+            return line.substring(start, end);
+        }
+        StringBuilder value = new StringBuilder(end - start);
+        int segmentStart = start;
+        while (escape >= 0 && escape < end) {
+            value.append(line, segmentStart, escape + 1);
+            segmentStart = escape + 2;
+            escape = line.indexOf("\"\"", segmentStart);
+        }
+        return value.append(line, segmentStart, end).toString();
+    }
+
+    private void assign(CustomerCSV customer, int field, String value) {
+        switch (field) {
+            case 0 -> customer.setFirstName(value);
+            case 1 -> customer.setLastName(value);
+            case 2 -> customer.setEmail(value);
+            case 3 -> customer.setAge(value);
+            case 4 -> customer.setCity(value);
+            default -> throw new IllegalArgumentException("Unexpected field index: " + field);
+        }
+    }
+}
@@ -0,0 +1,159 @@
+package com.example.Spring_batch_demo.batch.reader;
+
+import com.example.Spring_batch_demo.dto.CustomerCSV;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.batch.item.ExecutionContext;
+import org.springframework.batch.item.ItemStreamException;
+import org.springframework.batch.item.ItemStreamReader;
+import org.springframework.batch.item.ItemStreamSupport;
+import org.springframework.batch.item.file.FlatFileParseException;
+import org.springframework.batch.item.file.LineMapper;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+public class MappedCsvRangeItemReader extends ItemStreamSupport implements ItemStreamReader<CustomerCSV> {
+
+    private static final Logger logger = LoggerFactory.getLogger(MappedCsvRangeItemReader.class);
+
+    private static final String OFFSET_KEY = "offset";
+    private static final String LINE_COUNT_KEY = "line.count";
+    private static final int DEFAULT_WINDOW_SIZE = 64 * 1024 * 1024;
+
+    private final Path file;
+    private final long start;
+    private final long end;
+    private final LineMapper<CustomerCSV> lineMapper;
+
+    private int windowSize = DEFAULT_WINDOW_SIZE;
+
+    private FileChannel channel;
+    private MappedByteBuffer window;
+    private long windowStart;
+    private long fileSize;
+    private long position;
+    private int lineCount;
+    private byte[] lineBuffer = new byte[1024];
+
+    public MappedCsvRangeItemReader(Path file, long start, long end, LineMapper<CustomerCSV> lineMapper) {
+        this.file = file;
+        this.start = start;
+        this.end = end;
+        this.lineMapper = lineMapper;
+        setName(MappedCsvRangeItemReader.class.getSimpleName());
+    }
+
+    public void setWindowSize(int windowSize) {
+        this.windowSize = windowSize;
+    }
+
+    @Override
+    public void open(ExecutionContext executionContext) throws ItemStreamException {
+        try {
+            channel = FileChannel.open(file, StandardOpenOption.READ);
+            fileSize = channel.size();
+        } catch (IOException e) {
+            throw new ItemStreamException("Failed to open " + file, e);
+        }
+        position = executionContext.containsKey(getExecutionContextKey(OFFSET_KEY))
+                ? executionContext.getLong(getExecutionContextKey(OFFSET_KEY))
+                : start;
+        lineCount = executionContext.getInt(getExecutionContextKey(LINE_COUNT_KEY), 0);
+        window = null;
+
+        logger.info("Opened mapped reader for {} range {}-{} at offset {}", file.getFileName(), start, end, position);
+    }
+
+    @Override
+    public CustomerCSV read() throws Exception {
+        while (position < end) {
+            long lineStart = position;
+            int length = nextLine();
+            lineCount++;
+            if (length == 0) {
+                continue;
+            }
+            String line = new String(lineBuffer, 0, length, StandardCharsets.UTF_8);
+            try {
+                CustomerCSV customer = lineMapper.mapLine(line, lineCount);
+                customer.setSourceOffset(lineStart);
+                return customer;
+            } catch (Exception e) {
+                throw new FlatFileParseException("Parsing error at line " + lineCount + " of range "
+                        + start + "-" + end + " in " + file.getFileName(), e, line, lineCount);
+            }
+        }
+        return null;
+    }
+
+    // Copies the line starting at position into lineBuffer (without the line terminator), returns its length
+    private int nextLine() throws IOException {
+        while (true) {
+            ensureMapped();
+            int from = (int) (position - windowStart);
+            int limit = window.limit();
+            for (int i = from; i < limit; i++) {
+                if (window.get(i) == '\n') {
+                    int length = copyLine(from, i);
+                    position = windowStart + i + 1;
+                    return length;
+                }
+            }
+            if (windowStart + limit >= fileSize) {
+                int length = copyLine(from, limit);
+                position = fileSize;
+                return length;
+            }
+            // The line runs past the mapped window; remap starting at the line, growing the window if needed
+            if (from == 0) {
+                windowSize = Math.multiplyExact(windowSize, 2);
+            }
+            window = null;
+        }
+    }
+
+    private int copyLine(int from, int to) {
+        int length = to - from;
+        if (length > 0 && window.get(to - 1) == '\r') {
+            length--;
+        }
+        if (length > lineBuffer.length) {
+            lineBuffer = new byte[Math.max(length, lineBuffer.length * 2)];
+        }
+        window.get(from, lineBuffer, 0, length);
+        return length;
+    }
+
+    private void ensureMapped() throws IOException {
+        if (window == null || position < windowStart || position >= windowStart + window.limit()) {
+            long size = Math.min(windowSize, fileSize - position);
+            window = channel.map(FileChannel.MapMode.READ_ONLY, position, size);
+            windowStart = position;
+        }
+    }
+
+    @Override
+    public void update(ExecutionContext executionContext) throws ItemStreamException {
+        executionContext.putLong(getExecutionContextKey(OFFSET_KEY), position);
+        executionContext.putInt(getExecutionContextKey(LINE_COUNT_KEY), lineCount);
+    }
+
+    @Override
+    public void close() throws ItemStreamException {
+        window = null;
+        if (channel != null) {
+            try {
+                channel.close();
+            } catch (IOException e) {
+                throw new ItemStreamException("Failed to close " + file, e);
+            } finally {
+                channel = null;
+            }
+        }
+    }
+}
@@ -0,0 +1,5 @@
+package com.example.Spring_batch_demo.batch.remote;
+
+// A worker's answer to one chunk; message is set only when the chunk failed
+public record ChunkReply(long sequence, boolean successful, long writeCount, long filterCount, String message) {
+}
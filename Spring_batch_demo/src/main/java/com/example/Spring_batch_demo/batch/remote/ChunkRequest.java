@@ -0,0 +1,9 @@
+package com.example.Spring_batch_demo.batch.remote;
+
+import com.example.Spring_batch_demo.dto.CustomerCSV;
+
+import java.util.List;
+
+// A chunk of read items in BATCH_CHUNK_REQUEST, numbered by the manager step execution that sent it
+public record ChunkRequest(long stepExecutionId, long sequence, long jobExecutionId, List<CustomerCSV> items) {
+}
@@ -0,0 +1,155 @@
+package com.example.Spring_batch_demo.batch.remote;
+
+import com.example.Spring_batch_demo.dto.CustomerCSV;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.batch.core.StepExecution;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+// The channel between a remote chunking manager and its workers, kept in the shared batch database
+// like PartitionRequestQueue. Items travel as JSON; a request is claimed by flipping it from PENDING to
+// CLAIMED, and the reply is the same row moving on to DONE or FAILED. A claim not answered within
+// batch.remote.lease-ms (its worker died) goes back to PENDING. The reply only counts for the worker
+// still holding the claim, and a worker that lost it rolls its chunk back, so a re-queued chunk is
+// written once even if the first worker was only slow.
+@Component
+public class ChunkRequestQueue {
+
+    private static final Logger logger = LoggerFactory.getLogger(ChunkRequestQueue.class);
+
+    private static final String INSERT_SQL = "INSERT INTO BATCH_CHUNK_REQUEST "
+            + "(STEP_EXECUTION_ID, SEQUENCE, JOB_EXECUTION_ID, ITEMS, ITEM_COUNT, STATUS, CREATE_TIME) "
+            + "VALUES (?, ?, ?, ?, ?, 'PENDING', ?)";
+
+    private static final String NEXT_PENDING_SQL = "SELECT STEP_EXECUTION_ID, SEQUENCE, JOB_EXECUTION_ID, ITEMS "
+            + "FROM BATCH_CHUNK_REQUEST WHERE STATUS = 'PENDING' ORDER BY STEP_EXECUTION_ID, SEQUENCE LIMIT 1";
+
+    private static final String CLAIM_SQL = "UPDATE BATCH_CHUNK_REQUEST SET STATUS = 'CLAIMED', WORKER_ID = ?, "
+            + "CLAIM_TIME = ? WHERE STEP_EXECUTION_ID = ? AND SEQUENCE = ? AND STATUS = 'PENDING'";
+
+    private static final String REQUEUE_SQL = "UPDATE BATCH_CHUNK_REQUEST SET STATUS = 'PENDING', WORKER_ID = NULL, "
+            + "CLAIM_TIME = NULL WHERE STATUS = 'CLAIMED' AND CLAIM_TIME < ?";
+
+    // Requests of earlier executions of a step in the same job instance that never got a successful reply
+    private static final String UNFINISHED_SQL = "SELECT r.STEP_EXECUTION_ID, r.SEQUENCE, r.STATUS "
+            + "FROM BATCH_CHUNK_REQUEST r "
+            + "JOIN BATCH_STEP_EXECUTION s ON s.STEP_EXECUTION_ID = r.STEP_EXECUTION_ID "
+            + "JOIN BATCH_JOB_EXECUTION j ON j.JOB_EXECUTION_ID = s.JOB_EXECUTION_ID "
+            + "WHERE j.JOB_INSTANCE_ID = ? AND s.STEP_NAME = ? AND r.STEP_EXECUTION_ID <> ? "
+            + "AND r.STATUS IN ('PENDING', 'CLAIMED', 'FAILED') ORDER BY r.STEP_EXECUTION_ID, r.SEQUENCE";
+
+    // Moves a request over to a new step execution in one statement, so it is never lost or sent twice
+    private static final String TAKE_OVER_SQL = "UPDATE BATCH_CHUNK_REQUEST SET STEP_EXECUTION_ID = ?, SEQUENCE = ?, "
+            + "JOB_EXECUTION_ID = ?, STATUS = 'PENDING', WORKER_ID = NULL, CLAIM_TIME = NULL, WRITE_COUNT = NULL, "
+            + "FILTER_COUNT = NULL, ERROR_MESSAGE = NULL, END_TIME = NULL "
+            + "WHERE STEP_EXECUTION_ID = ? AND SEQUENCE = ? AND STATUS IN ('PENDING', 'FAILED')";
+
+    private static final String REPLY_SQL = "UPDATE BATCH_CHUNK_REQUEST SET STATUS = ?, WRITE_COUNT = ?, "
+            + "FILTER_COUNT = ?, ERROR_MESSAGE = ?, END_TIME = ? WHERE STEP_EXECUTION_ID = ? AND SEQUENCE = ? "
+            + "AND WORKER_ID = ? AND STATUS = 'CLAIMED'";
+
+    private static final String REPLIES_SQL = "SELECT SEQUENCE, STATUS, WRITE_COUNT, FILTER_COUNT, ERROR_MESSAGE "
+            + "FROM BATCH_CHUNK_REQUEST WHERE STEP_EXECUTION_ID = ? AND SEQUENCE = ANY(?) AND STATUS IN ('DONE', 'FAILED')";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+    private final JavaType itemsType;
+    private final long leaseMillis;
+
+    public ChunkRequestQueue(JdbcTemplate jdbcTemplate, ObjectMapper objectMapper,
+                             @Value("${batch.remote.lease-ms:60000}") long leaseMillis) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.objectMapper = objectMapper;
+        this.leaseMillis = leaseMillis;
+        this.itemsType = objectMapper.getTypeFactory().constructCollectionType(List.class, CustomerCSV.class);
+    }
+
+    // Joins the caller's transaction, so a chunk rolled back on the manager is never seen by a worker
+    public void send(ChunkRequest request) throws JsonProcessingException {
+        jdbcTemplate.update(INSERT_SQL, request.stepExecutionId(), request.sequence(), request.jobExecutionId(),
+                objectMapper.writeValueAsString(request.items()), request.items().size(),
+                Timestamp.valueOf(LocalDateTime.now()));
+    }
+
+    // The oldest pending chunk, now claimed by this worker, or empty if nothing is pending
+    public Optional<ChunkRequest> claimNext(String workerId) throws JsonProcessingException {
+        int requeued = jdbcTemplate.update(REQUEUE_SQL, Timestamp.valueOf(LocalDateTime.now().minusNanos(leaseMillis * 1_000_000)));
+        if (requeued > 0) {
+            logger.warn("Re-queued {} chunk requests not answered within their lease", requeued);
+        }
+        while (true) {
+            List<Object[]> pending = jdbcTemplate.query(NEXT_PENDING_SQL,
+                    (rs, rowNum) -> new Object[] {rs.getLong(1), rs.getLong(2), rs.getLong(3), rs.getString(4)});
+            if (pending.isEmpty()) {
+                return Optional.empty();
+            }
+            Object[] row = pending.get(0);
+            long stepExecutionId = (Long) row[0];
+            long sequence = (Long) row[1];
+            if (jdbcTemplate.update(CLAIM_SQL, workerId, Timestamp.valueOf(LocalDateTime.now()), stepExecutionId, sequence) == 1) {
+                List<CustomerCSV> items = objectMapper.readValue((String) row[3], itemsType);
+                return Optional.of(new ChunkRequest(stepExecutionId, sequence, (Long) row[2], items));
+            }
+            // Another worker claimed it first; try the next one
+        }
+    }
+
+    // False if this worker's claim has expired and the chunk was re-queued meanwhile
+    public boolean reply(long stepExecutionId, String workerId, ChunkReply reply) {
+        return jdbcTemplate.update(REPLY_SQL, reply.successful() ? "DONE" : "FAILED", reply.writeCount(), reply.filterCount(),
+                reply.message(), Timestamp.valueOf(LocalDateTime.now()), stepExecutionId, reply.sequence(), workerId) == 1;
+    }
+
+    // Re-sends, as chunks of the given step execution numbered from firstSequence, the requests of earlier
+    // executions of its step that failed or were never answered: their items were already read and
+    // checkpointed by those executions, so a restart would otherwise skip them. Requests a worker is
+    // still holding are left alone. Returns the sequences taken over and whether any were left.
+    public TakeOver takeOverUnfinished(StepExecution stepExecution, long firstSequence) {
+        List<Object[]> unfinished = jdbcTemplate.query(UNFINISHED_SQL,
+                (rs, rowNum) -> new Object[] {rs.getLong(1), rs.getLong(2), rs.getString(3)},
+                stepExecution.getJobExecution().getJobInstance().getInstanceId(), stepExecution.getStepName(),
+                stepExecution.getId());
+        List<Long> sequences = new ArrayList<>();
+        boolean claimed = false;
+        long sequence = firstSequence;
+        for (Object[] row : unfinished) {
+            if ("CLAIMED".equals(row[2])) {
+                claimed = true;
+                continue;
+            }
+            if (jdbcTemplate.update(TAKE_OVER_SQL, stepExecution.getId(), sequence, stepExecution.getJobExecutionId(),
+                    row[0], row[1]) == 1) {
+                sequences.add(sequence++);
+            } else {
+                // A worker claimed it between the query and the update
+                claimed = true;
+            }
+        }
+        if (!sequences.isEmpty()) {
+            logger.info("Re-sent {} unfinished chunks of earlier executions of {}", sequences.size(), stepExecution.getStepName());
+        }
+        return new TakeOver(sequences, claimed);
+    }
+
+    public record TakeOver(List<Long> sequences, boolean claimedLeft) {
+    }
+
+    // Replies to those of the given chunks that workers have finished
+    public List<ChunkReply> replies(long stepExecutionId, Collection<Long> sequences) {
+        return jdbcTemplate.query(REPLIES_SQL, (rs, rowNum) -> new ChunkReply(rs.getLong(1), "DONE".equals(rs.getString(2)),
+                        rs.getLong(3), rs.getLong(4), rs.getString(5)),
+                stepExecutionId, sequences.toArray());
+    }
+}
@@ -0,0 +1,7 @@
+package com.example.Spring_batch_demo.batch.remote;
+
+// A worker step execution waiting in BATCH_PARTITION_REQUEST; stepName is the bean name of the worker step.
+// attemptId is the step execution currently running the partition: the partition's own at first, a
+// fresh one for each worker that takes the partition over from one that lost its claim.
+public record PartitionRequest(long stepExecutionId, long jobExecutionId, String stepName, long attemptId) {
+}
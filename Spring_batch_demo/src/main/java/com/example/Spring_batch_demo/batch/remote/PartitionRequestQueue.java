@@ -0,0 +1,120 @@
+package com.example.Spring_batch_demo.batch.remote;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.batch.core.StepExecution;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+// The channel between a partition manager and its workers: a table in the shared batch database, so
+// any node that can reach the JobRepository can take work. A request is claimed by flipping it from
+// PENDING to CLAIMED with a conditional update, which exactly one worker can win. A claim is a lease:
+// the worker renews CLAIM_TIME while it runs the partition, and a claim left unrenewed for longer
+// than batch.remote.lease-ms (its worker died) goes back to PENDING for another worker to resume
+// from the partition's last checkpoint, as a new attempt. A request only becomes DONE through the
+// worker holding its claim, so the manager takes the outcome of that worker's attempt and never that
+// of a worker which lost its claim.
+@Component
+public class PartitionRequestQueue {
+
+    private static final Logger logger = LoggerFactory.getLogger(PartitionRequestQueue.class);
+
+    private static final String INSERT_SQL = "INSERT INTO BATCH_PARTITION_REQUEST "
+            + "(STEP_EXECUTION_ID, JOB_EXECUTION_ID, STEP_NAME, ATTEMPT_ID, STATUS, CREATE_TIME) "
+            + "VALUES (?, ?, ?, ?, 'PENDING', ?)";
+
+    private static final String NEXT_PENDING_SQL = "SELECT STEP_EXECUTION_ID, JOB_EXECUTION_ID, STEP_NAME, ATTEMPT_ID "
+            + "FROM BATCH_PARTITION_REQUEST WHERE STATUS = 'PENDING' ORDER BY STEP_EXECUTION_ID LIMIT 1";
+
+    private static final String CLAIM_SQL = "UPDATE BATCH_PARTITION_REQUEST SET STATUS = 'CLAIMED', WORKER_ID = ?, "
+            + "CLAIM_TIME = ? WHERE STEP_EXECUTION_ID = ? AND STATUS = 'PENDING'";
+
+    private static final String RENEW_SQL = "UPDATE BATCH_PARTITION_REQUEST SET CLAIM_TIME = ? "
+            + "WHERE STEP_EXECUTION_ID = ? AND WORKER_ID = ? AND STATUS = 'CLAIMED'";
+
+    private static final String REQUEUE_SQL = "UPDATE BATCH_PARTITION_REQUEST SET STATUS = 'PENDING', WORKER_ID = NULL, "
+            + "CLAIM_TIME = NULL WHERE STATUS = 'CLAIMED' AND CLAIM_TIME < ?";
+
+    private static final String ATTEMPT_SQL = "UPDATE BATCH_PARTITION_REQUEST SET ATTEMPT_ID = ? "
+            + "WHERE STEP_EXECUTION_ID = ? AND WORKER_ID = ? AND STATUS = 'CLAIMED'";
+
+    private static final String DONE_SQL = "SELECT STEP_EXECUTION_ID, ATTEMPT_ID FROM BATCH_PARTITION_REQUEST "
+            + "WHERE STEP_EXECUTION_ID = ANY(?) AND STATUS = 'DONE'";
+
+    private static final String COMPLETE_SQL = "UPDATE BATCH_PARTITION_REQUEST SET STATUS = 'DONE', END_TIME = ? "
+            + "WHERE STEP_EXECUTION_ID = ? AND WORKER_ID = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final long leaseMillis;
+
+    public PartitionRequestQueue(JdbcTemplate jdbcTemplate, @Value("${batch.remote.lease-ms:60000}") long leaseMillis) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.leaseMillis = leaseMillis;
+    }
+
+    public long getLeaseMillis() {
+        return leaseMillis;
+    }
+
+    public void publish(Collection<StepExecution> stepExecutions, String stepName) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        List<Object[]> batchArgs = new ArrayList<>(stepExecutions.size());
+        for (StepExecution stepExecution : stepExecutions) {
+            batchArgs.add(new Object[] {stepExecution.getId(), stepExecution.getJobExecutionId(), stepName, stepExecution.getId(), now});
+        }
+        jdbcTemplate.batchUpdate(INSERT_SQL, batchArgs);
+    }
+
+    // The oldest pending request, now claimed by this worker, or empty if nothing is pending
+    public Optional<PartitionRequest> claimNext(String workerId) {
+        int requeued = jdbcTemplate.update(REQUEUE_SQL, Timestamp.valueOf(LocalDateTime.now().minusNanos(leaseMillis * 1_000_000)));
+        if (requeued > 0) {
+            logger.warn("Re-queued {} partition requests whose workers stopped renewing their claim", requeued);
+        }
+        while (true) {
+            List<PartitionRequest> pending = jdbcTemplate.query(NEXT_PENDING_SQL,
+                    (rs, rowNum) -> new PartitionRequest(rs.getLong(1), rs.getLong(2), rs.getString(3), rs.getLong(4)));
+            if (pending.isEmpty()) {
+                return Optional.empty();
+            }
+            PartitionRequest request = pending.get(0);
+            if (jdbcTemplate.update(CLAIM_SQL, workerId, Timestamp.valueOf(LocalDateTime.now()), request.stepExecutionId()) == 1) {
+                return Optional.of(request);
+            }
+            // Another worker claimed it first; try the next one
+        }
+    }
+
+    // Extends this worker's claim; false if the claim has expired and been re-queued meanwhile
+    public boolean renew(long stepExecutionId, String workerId) {
+        return jdbcTemplate.update(RENEW_SQL, Timestamp.valueOf(LocalDateTime.now()), stepExecutionId, workerId) == 1;
+    }
+
+    // Records the step execution this worker runs the partition as; false if its claim has been lost
+    public boolean recordAttempt(long stepExecutionId, String workerId, long attemptId) {
+        return jdbcTemplate.update(ATTEMPT_SQL, attemptId, stepExecutionId, workerId) == 1;
+    }
+
+    // Partition step execution id to the attempt that finished it, for those of the given partitions that are done
+    public Map<Long, Long> finishedAttempts(Collection<Long> stepExecutionIds) {
+        Map<Long, Long> attempts = new HashMap<>();
+        jdbcTemplate.query(DONE_SQL, rs -> {
+            attempts.put(rs.getLong(1), rs.getLong(2));
+        }, (Object) stepExecutionIds.toArray());
+        return attempts;
+    }
+
+    public void complete(long stepExecutionId, String workerId) {
+        jdbcTemplate.update(COMPLETE_SQL, Timestamp.valueOf(LocalDateTime.now()), stepExecutionId, workerId);
+    }
+}
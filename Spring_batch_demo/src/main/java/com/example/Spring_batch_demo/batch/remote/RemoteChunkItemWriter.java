@@ -0,0 +1,151 @@
+package com.example.Spring_batch_demo.batch.remote;
+
+import com.example.Spring_batch_demo.dto.CustomerCSV;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.batch.core.BatchStatus;
+import org.springframework.batch.core.ExitStatus;
+import org.springframework.batch.core.StepExecution;
+import org.springframework.batch.core.StepExecutionListener;
+import org.springframework.batch.item.Chunk;
+import org.springframework.batch.item.ItemWriter;
+import org.springframework.batch.item.WriteFailedException;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.TimeoutException;
+
+// Manager side of remote chunking: instead of processing and writing, each chunk of read items is sent
+// to the workers through ChunkRequestQueue. At most `window` committed chunks may wait for a reply; the
+// next write blocks until one comes back, which keeps the reader from running ahead of the workers.
+// afterStep waits for the rest and replaces the step's write count with what the workers wrote.
+// A chunk's reader checkpoint commits with its send, before a worker has answered, so on a restart
+// beforeStep first re-sends the chunks earlier executions of the step never got written: those that
+// failed or were never answered.
+// Holds the state of one manager step execution, so the bean is step scoped.
+public class RemoteChunkItemWriter implements ItemWriter<CustomerCSV>, StepExecutionListener {
+
+    private static final Logger logger = LoggerFactory.getLogger(RemoteChunkItemWriter.class);
+
+    private final ChunkRequestQueue requestQueue;
+    private final int window;
+    private final long pollIntervalMillis;
+    private final long timeoutMillis;
+
+    private StepExecution stepExecution;
+    private long sequence;
+    private final Set<Long> outstanding = new HashSet<>();
+    private long remoteWriteCount;
+    private long remoteFilterCount;
+
+    public RemoteChunkItemWriter(ChunkRequestQueue requestQueue, int window, long pollIntervalMillis, long timeoutMillis) {
+        if (window < 1) {
+            throw new IllegalArgumentException("batch.remote.chunk-window must be at least 1: " + window);
+        }
+        this.requestQueue = requestQueue;
+        this.window = window;
+        this.pollIntervalMillis = pollIntervalMillis;
+        this.timeoutMillis = timeoutMillis;
+    }
+
+    @Override
+    public void beforeStep(StepExecution stepExecution) {
+        this.stepExecution = stepExecution;
+        sequence = 0;
+        outstanding.clear();
+        remoteWriteCount = 0;
+        remoteFilterCount = 0;
+        takeOverUnfinishedChunks();
+    }
+
+    // Chunks a worker still holds from the earlier execution end up answered, or failed or expired
+    // and taken over here, so this waits for them like for any outstanding chunk
+    private void takeOverUnfinishedChunks() {
+        long deadline = timeoutMillis > 0 ? System.currentTimeMillis() + timeoutMillis : Long.MAX_VALUE;
+        while (true) {
+            ChunkRequestQueue.TakeOver takeOver = requestQueue.takeOverUnfinished(stepExecution, sequence + 1);
+            outstanding.addAll(takeOver.sequences());
+            sequence += takeOver.sequences().size();
+            if (!takeOver.claimedLeft()) {
+                return;
+            }
+            if (System.currentTimeMillis() >= deadline) {
+                throw new IllegalStateException("Timed out after " + timeoutMillis + " ms waiting for workers to "
+                        + "finish chunks of an earlier execution of " + stepExecution.getStepName());
+            }
+            try {
+                Thread.sleep(pollIntervalMillis);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while taking over chunks of " + stepExecution.getStepName(), e);
+            }
+        }
+    }
+
+    @Override
+    public void write(Chunk<? extends CustomerCSV> chunk) throws Exception {
+        awaitOutstandingBelow(window);
+        long chunkSequence = ++sequence;
+        requestQueue.send(new ChunkRequest(stepExecution.getId(), chunkSequence, stepExecution.getJobExecutionId(),
+                new ArrayList<>(chunk.getItems())));
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    outstanding.add(chunkSequence);
+                }
+            });
+        } else {
+            outstanding.add(chunkSequence);
+        }
+    }
+
+    @Override
+    public ExitStatus afterStep(StepExecution stepExecution) {
+        if (stepExecution.getStatus() != BatchStatus.COMPLETED) {
+            return null;
+        }
+        try {
+            awaitOutstandingBelow(1);
+        } catch (Exception e) {
+            logger.error("Remote chunks of {} did not complete", stepExecution.getStepName(), e);
+            stepExecution.addFailureException(e);
+            stepExecution.setStatus(BatchStatus.FAILED);
+            return ExitStatus.FAILED.addExitDescription(e);
+        }
+        // Items were counted as written when they were sent; workers report what they really wrote
+        stepExecution.setWriteCount(remoteWriteCount);
+        stepExecution.setFilterCount(stepExecution.getFilterCount() + remoteFilterCount);
+        logger.info("Workers wrote {} and filtered {} items in {} chunks of {}",
+                remoteWriteCount, remoteFilterCount, sequence, stepExecution.getStepName());
+        return null;
+    }
+
+    private void awaitOutstandingBelow(int limit) throws Exception {
+        long deadline = timeoutMillis > 0 ? System.currentTimeMillis() + timeoutMillis : Long.MAX_VALUE;
+        while (true) {
+            if (!outstanding.isEmpty()) {
+                for (ChunkReply reply : requestQueue.replies(stepExecution.getId(), outstanding)) {
+                    if (!reply.successful()) {
+                        throw new WriteFailedException("Remote chunk " + reply.sequence() + " of "
+                                + stepExecution.getStepName() + " failed: " + reply.message());
+                    }
+                    outstanding.remove(reply.sequence());
+                    remoteWriteCount += reply.writeCount();
+                    remoteFilterCount += reply.filterCount();
+                }
+            }
+            if (outstanding.size() < limit) {
+                return;
+            }
+            if (System.currentTimeMillis() >= deadline) {
+                throw new TimeoutException("Timed out after " + timeoutMillis + " ms waiting for "
+                        + outstanding.size() + " remote chunks of " + stepExecution.getStepName());
+            }
+            Thread.sleep(pollIntervalMillis);
+        }
+    }
+}
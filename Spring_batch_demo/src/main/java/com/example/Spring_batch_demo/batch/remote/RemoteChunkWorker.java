@@ -0,0 +1,184 @@
+package com.example.Spring_batch_demo.batch.remote;
+
+import com.example.Spring_batch_demo.batch.processor.CustomerItemProcessor;
+import com.example.Spring_batch_demo.dto.CustomerCSV;
+import com.example.Spring_batch_demo.model.Customer;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.batch.core.StepExecution;
+import org.springframework.batch.core.explore.JobExplorer;
+import org.springframework.batch.core.scope.context.StepSynchronizationManager;
+import org.springframework.batch.item.Chunk;
+import org.springframework.batch.item.ItemWriter;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+// Worker side of remote chunking: with batch.remote.mode=worker or both, polling threads claim chunks
+// and run them through CustomerItemProcessor and the customer writer in one transaction, together with
+// the DONE reply, so a chunk is acknowledged exactly when its customers are stored. The manager's step
+// execution is registered for the duration, so per-job state (the dead-letter source) is shared
+// with the rest of the job. A chunk must finish within batch.remote.lease-ms, or it is handed to another
+// worker and this one's transaction is rolled back.
+@Component
+public class RemoteChunkWorker {
+
+    private static final Logger logger = LoggerFactory.getLogger(RemoteChunkWorker.class);
+
+    private final ChunkRequestQueue requestQueue;
+    private final JobExplorer jobExplorer;
+    private final CustomerItemProcessor processor;
+    private final ItemWriter<Customer> writer;
+    private final TransactionTemplate transactionTemplate;
+    private final boolean enabled;
+    private final int concurrency;
+    private final long pollIntervalMillis;
+    private final String workerId;
+
+    private final List<Thread> threads = new ArrayList<>();
+    private volatile boolean running;
+
+    public RemoteChunkWorker(ChunkRequestQueue requestQueue,
+                             JobExplorer jobExplorer,
+                             CustomerItemProcessor processor,
+                             @Qualifier("customerWriter") ItemWriter<Customer> writer,
+                             PlatformTransactionManager transactionManager,
+                             @Value("${batch.remote.mode:none}") String mode,
+                             @Value("${batch.remote.worker-concurrency:2}") int concurrency,
+                             @Value("${batch.remote.poll-interval-ms:500}") long pollIntervalMillis) {
+        this.requestQueue = requestQueue;
+        this.jobExplorer = jobExplorer;
+        this.processor = processor;
+        this.writer = writer;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.enabled = switch (mode.toLowerCase()) {
+            case "none", "manager" -> false;
+            case "worker", "both" -> true;
+            default -> throw new IllegalArgumentException("Unknown batch.remote.mode: " + mode);
+        };
+        this.concurrency = concurrency;
+        this.pollIntervalMillis = pollIntervalMillis;
+        this.workerId = ManagementFactory.getRuntimeMXBean().getName();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void start() {
+        if (!enabled || running) {
+            return;
+        }
+        running = true;
+        for (int i = 0; i < concurrency; i++) {
+            Thread thread = new Thread(this::poll, "ChunkWorker-" + (i + 1));
+            thread.setDaemon(true);
+            thread.start();
+            threads.add(thread);
+        }
+        logger.info("Remote chunk worker {} polling with {} threads", workerId, concurrency);
+    }
+
+    private void poll() {
+        while (running) {
+            try {
+                Optional<ChunkRequest> request = requestQueue.claimNext(workerId);
+                if (request.isPresent()) {
+                    execute(request.get());
+                } else {
+                    Thread.sleep(pollIntervalMillis);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (Exception e) {
+                logger.error("Remote chunk worker failed to poll for work", e);
+                try {
+                    Thread.sleep(pollIntervalMillis);
+                } catch (InterruptedException interrupted) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
+
+    void execute(ChunkRequest request) {
+        StepExecution stepExecution = jobExplorer.getStepExecution(request.jobExecutionId(), request.stepExecutionId());
+        if (stepExecution != null) {
+            StepSynchronizationManager.register(stepExecution);
+        }
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                Chunk<Customer> outputs = new Chunk<>();
+                for (CustomerCSV item : request.items()) {
+                    Customer customer = process(item);
+                    if (customer != null) {
+                        outputs.add(customer);
+                    }
+                }
+                write(outputs);
+                long filtered = request.items().size() - outputs.size();
+                if (!requestQueue.reply(request.stepExecutionId(), workerId,
+                        new ChunkReply(request.sequence(), true, outputs.size(), filtered, null))) {
+                    // The lease ran out and another worker has the chunk now; its write is the one that counts
+                    logger.warn("Worker {} lost its claim on chunk {} of step execution {}; rolling it back",
+                            workerId, request.sequence(), request.stepExecutionId());
+                    status.setRollbackOnly();
+                }
+            });
+        } catch (RuntimeException e) {
+            logger.error("Remote chunk {} of step execution {} failed", request.sequence(), request.stepExecutionId(), e);
+            requestQueue.reply(request.stepExecutionId(), workerId,
+                    new ChunkReply(request.sequence(), false, 0, 0, abbreviate(e.toString())));
+        } finally {
+            if (stepExecution != null) {
+                StepSynchronizationManager.close();
+            }
+        }
+    }
+
+    private Customer process(CustomerCSV item) {
+        try {
+            return processor.process(item);
+        } catch (RuntimeException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private void write(Chunk<Customer> outputs) {
+        if (outputs.isEmpty()) {
+            return;
+        }
+        try {
+            writer.write(outputs);
+        } catch (RuntimeException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static String abbreviate(String message) {
+        return message.length() <= 2500 ? message : message.substring(0, 2500);
+    }
+
+    @PreDestroy
+    public synchronized void stop() throws InterruptedException {
+        running = false;
+        for (Thread thread : threads) {
+            thread.interrupt();
+            thread.join();
+        }
+        threads.clear();
+    }
+}
@@ -0,0 +1,84 @@
+package com.example.Spring_batch_demo.batch.remote;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.batch.core.JobExecution;
+import org.springframework.batch.core.Step;
+import org.springframework.batch.core.StepExecution;
+import org.springframework.batch.core.explore.JobExplorer;
+import org.springframework.batch.core.partition.support.AbstractPartitionHandler;
+import org.springframework.batch.core.step.StepHolder;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeoutException;
+
+// Manager side of remote partitioning. The partition step execution contexts are already saved by the
+// StepExecutionSplitter, so the handler only queues their ids for workers and then follows the shared
+// JobRepository until every partition request is done. A partition taken over from a worker that lost
+// its claim finishes as a new step execution (see RemotePartitionWorker), so the result of each partition
+// is the attempt its request names, never another attempt that recorded an outcome on its way out.
+// PartitionStep aggregates the results from there just as it does for local partitions.
+public class RemotePartitionHandler extends AbstractPartitionHandler implements StepHolder {
+
+    private static final Logger logger = LoggerFactory.getLogger(RemotePartitionHandler.class);
+
+    private final Step step;
+    private final PartitionRequestQueue requestQueue;
+    private final JobExplorer jobExplorer;
+    private final long pollIntervalMillis;
+    private final long timeoutMillis;
+
+    public RemotePartitionHandler(Step step, PartitionRequestQueue requestQueue, JobExplorer jobExplorer,
+                                  int gridSize, long pollIntervalMillis, long timeoutMillis) {
+        this.step = step;
+        this.requestQueue = requestQueue;
+        this.jobExplorer = jobExplorer;
+        this.pollIntervalMillis = pollIntervalMillis;
+        this.timeoutMillis = timeoutMillis;
+        setGridSize(gridSize);
+    }
+
+    @Override
+    public Step getStep() {
+        return step;
+    }
+
+    @Override
+    protected Set<StepExecution> doHandle(StepExecution managerStepExecution,
+                                          Set<StepExecution> partitionStepExecutions) throws Exception {
+        if (partitionStepExecutions.isEmpty()) {
+            return partitionStepExecutions;
+        }
+        requestQueue.publish(partitionStepExecutions, step.getName());
+        logger.info("Queued {} partitions of {} for remote workers", partitionStepExecutions.size(), step.getName());
+
+        Map<Long, StepExecution> pending = new HashMap<>();
+        partitionStepExecutions.forEach(stepExecution -> pending.put(stepExecution.getId(), stepExecution));
+        Set<StepExecution> finished = new HashSet<>();
+        long deadline = timeoutMillis > 0 ? System.currentTimeMillis() + timeoutMillis : Long.MAX_VALUE;
+        while (true) {
+            Map<Long, Long> attempts = requestQueue.finishedAttempts(pending.keySet());
+            if (!attempts.isEmpty()) {
+                Map<Long, StepExecution> byId = new HashMap<>();
+                JobExecution jobExecution = jobExplorer.getJobExecution(managerStepExecution.getJobExecutionId());
+                jobExecution.getStepExecutions().forEach(stepExecution -> byId.put(stepExecution.getId(), stepExecution));
+                attempts.forEach((id, attemptId) -> {
+                    StepExecution partition = pending.remove(id);
+                    // A request for an unknown step execution is dropped by the worker without an attempt
+                    finished.add(byId.getOrDefault(attemptId, partition));
+                });
+            }
+            if (pending.isEmpty()) {
+                return finished;
+            }
+            if (System.currentTimeMillis() >= deadline) {
+                throw new TimeoutException("Timed out after " + timeoutMillis + " ms waiting for "
+                        + pending.size() + " remote partitions of " + step.getName());
+            }
+            Thread.sleep(pollIntervalMillis);
+        }
+    }
+}
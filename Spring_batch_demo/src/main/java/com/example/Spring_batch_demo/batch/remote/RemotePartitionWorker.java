@@ -0,0 +1,218 @@
+package com.example.Spring_batch_demo.batch.remote;
+
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.batch.core.BatchStatus;
+import org.springframework.batch.core.ExitStatus;
+import org.springframework.batch.core.JobInterruptedException;
+import org.springframework.batch.core.Step;
+import org.springframework.batch.core.StepExecution;
+import org.springframework.batch.core.explore.JobExplorer;
+import org.springframework.batch.core.repository.JobRepository;
+import org.springframework.batch.item.ExecutionContext;
+import org.springframework.beans.factory.BeanFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.lang.management.ManagementFactory;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Worker side of remote partitioning: with batch.remote.mode=worker or both, a few polling threads
+// claim partition requests and run the named worker step against the step execution the manager
+// created. The step records its own progress and outcome in the shared JobRepository, which is all
+// the manager waits on. A heartbeat thread renews the claims on the partitions in flight; a partition
+// whose claim was lost anyway (e.g. after a long pause) is handed to another worker, so this one is
+// told to stop at its next chunk. The worker that takes the partition over does not reuse the step
+// execution the first one may still be updating: it abandons it, which makes the first worker's next
+// commit fail on the version check, and continues from its last checkpoint as a new step execution.
+@Component
+public class RemotePartitionWorker {
+
+    private static final Logger logger = LoggerFactory.getLogger(RemotePartitionWorker.class);
+
+    private final PartitionRequestQueue requestQueue;
+    private final JobExplorer jobExplorer;
+    private final JobRepository jobRepository;
+    private final BeanFactory beanFactory;
+    private final boolean enabled;
+    private final int concurrency;
+    private final long pollIntervalMillis;
+    private final String workerId;
+
+    private final List<Thread> threads = new ArrayList<>();
+    private final Map<Long, StepExecution> inFlight = new ConcurrentHashMap<>();
+    private volatile boolean running;
+
+    public RemotePartitionWorker(PartitionRequestQueue requestQueue,
+                                 JobExplorer jobExplorer,
+                                 JobRepository jobRepository,
+                                 BeanFactory beanFactory,
+                                 @Value("${batch.remote.mode:none}") String mode,
+                                 @Value("${batch.remote.worker-concurrency:2}") int concurrency,
+                                 @Value("${batch.remote.poll-interval-ms:500}") long pollIntervalMillis) {
+        this.requestQueue = requestQueue;
+        this.jobExplorer = jobExplorer;
+        this.jobRepository = jobRepository;
+        this.beanFactory = beanFactory;
+        this.enabled = switch (mode.toLowerCase()) {
+            case "none", "manager" -> false;
+            case "worker", "both" -> true;
+            default -> throw new IllegalArgumentException("Unknown batch.remote.mode: " + mode);
+        };
+        this.concurrency = concurrency;
+        this.pollIntervalMillis = pollIntervalMillis;
+        this.workerId = ManagementFactory.getRuntimeMXBean().getName();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void start() {
+        if (!enabled || running) {
+            return;
+        }
+        running = true;
+        for (int i = 0; i < concurrency; i++) {
+            Thread thread = new Thread(this::poll, "PartitionWorker-" + (i + 1));
+            thread.setDaemon(true);
+            thread.start();
+            threads.add(thread);
+        }
+        Thread heartbeat = new Thread(this::heartbeat, "PartitionWorker-heartbeat");
+        heartbeat.setDaemon(true);
+        heartbeat.start();
+        threads.add(heartbeat);
+        logger.info("Remote partition worker {} polling with {} threads", workerId, concurrency);
+    }
+
+    private void poll() {
+        while (running) {
+            try {
+                Optional<PartitionRequest> request = requestQueue.claimNext(workerId);
+                if (request.isPresent()) {
+                    execute(request.get());
+                } else {
+                    Thread.sleep(pollIntervalMillis);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException e) {
+                logger.error("Remote partition worker failed to poll for work", e);
+                try {
+                    Thread.sleep(pollIntervalMillis);
+                } catch (InterruptedException interrupted) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
+
+    private void heartbeat() {
+        long interval = Math.max(1, requestQueue.getLeaseMillis() / 3);
+        while (running) {
+            try {
+                Thread.sleep(interval);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            inFlight.forEach((id, stepExecution) -> {
+                try {
+                    if (!requestQueue.renew(id, workerId)) {
+                        logger.warn("Worker {} lost its claim on {}; stopping it", workerId, stepExecution.getStepName());
+                        stepExecution.setTerminateOnly();
+                    }
+                } catch (RuntimeException e) {
+                    logger.error("Remote partition worker failed to renew its claim on {}", stepExecution.getStepName(), e);
+                }
+            });
+        }
+    }
+
+    void execute(PartitionRequest request) {
+        StepExecution stepExecution = jobExplorer.getStepExecution(request.jobExecutionId(), request.attemptId());
+        if (stepExecution == null) {
+            logger.warn("Dropping partition request for unknown step execution {}", request.attemptId());
+            requestQueue.complete(request.stepExecutionId(), workerId);
+            return;
+        }
+        if (stepExecution.getStatus() == BatchStatus.COMPLETED) {
+            // Re-queued after its worker had finished the partition but before it could say so
+            requestQueue.complete(request.stepExecutionId(), workerId);
+            return;
+        }
+        if (stepExecution.getStatus() != BatchStatus.STARTING) {
+            // An earlier claim started this attempt and lost the claim before finishing it
+            stepExecution = takeOver(request, stepExecution);
+            if (stepExecution == null) {
+                return;
+            }
+        }
+        logger.info("Worker {} running {}", workerId, stepExecution.getStepName());
+        inFlight.put(request.stepExecutionId(), stepExecution);
+        try {
+            beanFactory.getBean(request.stepName(), Step.class).execute(stepExecution);
+        } catch (JobInterruptedException e) {
+            stepExecution.setStatus(BatchStatus.STOPPED);
+            jobRepository.update(stepExecution);
+        } catch (Throwable e) {
+            // Normally the step records its own failure; this covers errors before it could
+            logger.error("Partition {} failed", stepExecution.getStepName(), e);
+            stepExecution.addFailureException(e);
+            stepExecution.setStatus(BatchStatus.FAILED);
+            jobRepository.update(stepExecution);
+        } finally {
+            inFlight.remove(request.stepExecutionId());
+            requestQueue.complete(request.stepExecutionId(), workerId);
+        }
+    }
+
+    // Abandons the earlier attempt and registers a new one resuming from its last committed state, or
+    // returns null if this worker has lost the claim meanwhile
+    private StepExecution takeOver(PartitionRequest request, StepExecution previous) {
+        StepExecution attempt = previous.getJobExecution().createStepExecution(previous.getStepName());
+        attempt.setExecutionContext(new ExecutionContext(previous.getExecutionContext()));
+        attempt.setReadCount(previous.getReadCount());
+        attempt.setWriteCount(previous.getWriteCount());
+        attempt.setFilterCount(previous.getFilterCount());
+        attempt.setReadSkipCount(previous.getReadSkipCount());
+        attempt.setWriteSkipCount(previous.getWriteSkipCount());
+        attempt.setProcessSkipCount(previous.getProcessSkipCount());
+        attempt.setCommitCount(previous.getCommitCount());
+        jobRepository.add(attempt);
+        if (!requestQueue.recordAttempt(request.stepExecutionId(), workerId, attempt.getId())) {
+            attempt.setStatus(BatchStatus.ABANDONED);
+            attempt.setEndTime(LocalDateTime.now());
+            jobRepository.update(attempt);
+            return null;
+        }
+        if (previous.getStatus().isRunning()) {
+            previous.setStatus(BatchStatus.ABANDONED);
+            previous.setExitStatus(ExitStatus.UNKNOWN.addExitDescription(
+                    "Claim lost; continued as step execution " + attempt.getId()));
+            previous.setEndTime(LocalDateTime.now());
+            jobRepository.update(previous);
+        }
+        logger.warn("Worker {} took over {} from step execution {} as {}", workerId, previous.getStepName(),
+                previous.getId(), attempt.getId());
+        return attempt;
+    }
+
+    @PreDestroy
+    public synchronized void stop() throws InterruptedException {
+        running = false;
+        for (Thread thread : threads) {
+            thread.interrupt();
+            thread.join();
+        }
+        threads.clear();
+    }
+}
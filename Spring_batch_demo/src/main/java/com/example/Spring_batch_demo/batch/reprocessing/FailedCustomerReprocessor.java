@@ -0,0 +1,50 @@
+package com.example.Spring_batch_demo.batch.reprocessing;
+
+import com.example.Spring_batch_demo.batch.processor.CustomerItemProcessor;
+import com.example.Spring_batch_demo.batch.validation.CustomerValidationRules;
+import com.example.Spring_batch_demo.dto.CustomerCSV;
+import com.example.Spring_batch_demo.model.Customer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.batch.item.ItemProcessor;
+import org.springframework.stereotype.Component;
+
+// Runs a stored FAILED customer through the import's transform and validation again. Customers that
+// now pass both the import validation and CustomerValidationRules come back with the status the rules
+// give them (VALIDATED), as the validation step would; the rest are filtered out and stay FAILED.
+@Component
+public class FailedCustomerReprocessor implements ItemProcessor<Customer, ReprocessedCustomer> {
+
+    private static final Logger logger = LoggerFactory.getLogger(FailedCustomerReprocessor.class);
+
+    private final CustomerItemProcessor customerItemProcessor;
+    private final CustomerValidationRules validationRules;
+
+    public FailedCustomerReprocessor(CustomerItemProcessor customerItemProcessor,
+                                     CustomerValidationRules validationRules) {
+        this.customerItemProcessor = customerItemProcessor;
+        this.validationRules = validationRules;
+    }
+
+    @Override
+    public ReprocessedCustomer process(Customer failed) {
+        CustomerCSV source = new CustomerCSV(failed.getFirstName(), failed.getLastName(), failed.getEmail(),
+                failed.getAge() != null ? failed.getAge().toString() : null, failed.getCity());
+        Customer reprocessed;
+        try {
+            reprocessed = customerItemProcessor.transform(source);
+        } catch (RuntimeException e) {
+            logger.warn("Customer {} still fails to transform: {}", failed.getId(), e.toString());
+            return null;
+        }
+        String violations = customerItemProcessor.validate(reprocessed);
+        Customer.CustomerStatus status = violations == null ? validationRules.validate(reprocessed) : Customer.CustomerStatus.FAILED;
+        if (status == Customer.CustomerStatus.FAILED) {
+            logger.debug("Customer {} is still invalid", failed.getId());
+            return null;
+        }
+        reprocessed.setId(failed.getId());
+        reprocessed.setStatus(status);
+        return new ReprocessedCustomer(failed, reprocessed);
+    }
+}
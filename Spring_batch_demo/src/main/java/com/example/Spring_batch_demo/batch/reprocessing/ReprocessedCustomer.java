@@ -0,0 +1,7 @@
+package com.example.Spring_batch_demo.batch.reprocessing;
+
+import com.example.Spring_batch_demo.model.Customer;
+
+// A stored FAILED customer and the row that replaces it
+public record ReprocessedCustomer(Customer failed, Customer reprocessed) {
+}
@@ -0,0 +1,29 @@
+package com.example.Spring_batch_demo.batch.support;
+
+// 64-bit string hash shared by the email dedup set and the city lookup: FNV-1a over the chars,
+// finished with the MurmurHash3 64-bit mixer so the low bits index well.
+public final class StringHash {
+
+    private StringHash() {
+    }
+
+    public static long hash(CharSequence value) {
+        return hash(value, 0, value.length(), false);
+    }
+
+    // Over the chars in [start, end), lower-cased first if asked to
+    public static long hash(CharSequence value, int start, int end, boolean lowerCase) {
+        long h = 0xcbf29ce484222325L;
+        for (int i = start; i < end; i++) {
+            char c = value.charAt(i);
+            h ^= lowerCase ? Character.toLowerCase(c) : c;
+            h *= 0x100000001b3L;
+        }
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+}
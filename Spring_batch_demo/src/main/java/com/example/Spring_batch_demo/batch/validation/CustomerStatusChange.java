@@ -0,0 +1,6 @@
+package com.example.Spring_batch_demo.batch.validation;
+
+import com.example.Spring_batch_demo.model.Customer;
+
+public record CustomerStatusChange(long id, Customer.CustomerStatus from, Customer.CustomerStatus to) {
+}
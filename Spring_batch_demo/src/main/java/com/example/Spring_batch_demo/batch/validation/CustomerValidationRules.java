@@ -0,0 +1,32 @@
+package com.example.Spring_batch_demo.batch.validation;
+
+import com.example.Spring_batch_demo.model.Customer;
+import org.springframework.stereotype.Component;
+
+import java.util.regex.Pattern;
+
+// Rules a stored customer must pass to be VALIDATED. Applied to rows already in the table by
+// dataValidationStep, so changing a rule only needs a re-validation run, not a re-import.
+@Component
+public class CustomerValidationRules {
+
+    private static final Pattern EMAIL = Pattern.compile("^[^@\\s]+@[^@\\s]+\\.[^@\\s]+$");
+
+    private static final int MIN_AGE = 0;
+    private static final int MAX_AGE = 150;
+
+    public Customer.CustomerStatus validate(Customer customer) {
+        return isValid(customer) ? Customer.CustomerStatus.VALIDATED : Customer.CustomerStatus.FAILED;
+    }
+
+    public boolean isValid(Customer customer) {
+        return customer.getEmail() != null && EMAIL.matcher(customer.getEmail()).matches()
+                && customer.getAge() != null && customer.getAge() >= MIN_AGE && customer.getAge() <= MAX_AGE
+                && hasText(customer.getFirstName())
+                && hasText(customer.getLastName());
+    }
+
+    private static boolean hasText(String value) {
+        return value != null && !value.isBlank();
+    }
+}
@@ -0,0 +1,138 @@
+package com.example.Spring_batch_demo.batch.writer;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.batch.core.StepExecution;
+import org.springframework.batch.core.scope.context.StepContext;
+import org.springframework.batch.core.scope.context.StepSynchronizationManager;
+import org.springframework.batch.core.step.skip.SkipPolicy;
+import org.springframework.batch.item.Chunk;
+import org.springframework.batch.item.ItemWriter;
+import org.springframework.jdbc.datasource.DataSourceUtils;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Savepoint;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+// Isolates the rows that make a chunk write fail without rolling back the whole chunk, and without a
+// fault-tolerant step's scan, which rewrites it one item per transaction. Each write runs under a
+// savepoint of the chunk transaction's connection; when it fails with an exception the skip policy
+// accepts, the savepoint is rolled back and the two halves are written separately, recursing into the
+// half that fails. Good rows commit in bulk and a single bad row costs about 2 * log2(chunk size) extra
+// writes.
+//
+// The customer steps are plain (not fault-tolerant) chunk steps, so the writer does its own skip
+// accounting: isolated rows are removed from the chunk, which keeps them out of the step's write count,
+// and added to its write skip count once the chunk commits. No SkipListener is called for them.
+// Exceptions the skip policy rejects, and reaching the skip limit, propagate unchanged and fail the
+// chunk and the step; nothing retries them.
+//
+// The delegate must write eagerly through the same DataSource (JDBC), not defer its inserts to the flush at
+// commit. Savepoints are set on the JDBC connection directly: JpaTransactionManager has no nested
+// transactions with Hibernate.
+public class BisectingItemWriter<T> implements ItemWriter<T> {
+
+    private static final Logger logger = LoggerFactory.getLogger(BisectingItemWriter.class);
+
+    private final ItemWriter<T> delegate;
+    private final SkipPolicy skipPolicy;
+    private final DataSource dataSource;
+
+    public BisectingItemWriter(ItemWriter<T> delegate, DataSource dataSource, SkipPolicy skipPolicy) {
+        this.delegate = delegate;
+        this.dataSource = dataSource;
+        this.skipPolicy = skipPolicy;
+    }
+
+    @Override
+    public void write(Chunk<? extends T> chunk) throws Exception {
+        if (!TransactionSynchronizationManager.isActualTransactionActive()) {
+            throw new IllegalStateException("BisectingItemWriter needs to run inside the chunk transaction");
+        }
+        List<? extends T> items = new ArrayList<>(chunk.getItems());
+        Map<T, Exception> failed = new IdentityHashMap<>();
+        long skipCount = currentSkipCount();
+        write(items, failed, skipCount);
+        if (failed.isEmpty()) {
+            return;
+        }
+
+        for (var iterator = chunk.iterator(); iterator.hasNext(); ) {
+            Exception exception = failed.get(iterator.next());
+            if (exception != null) {
+                iterator.remove(exception);
+            }
+        }
+        logger.warn("Isolated {} failing item(s) in a chunk of {}", failed.size(), items.size());
+        addWriteSkipsAfterCommit(failed.size());
+    }
+
+    private void write(List<? extends T> items, Map<T, Exception> failed, long skipCount) throws Exception {
+        Exception failure = tryWrite(items);
+        if (failure == null) {
+            return;
+        }
+        if (!isSkippable(failure, skipCount + failed.size())) {
+            throw failure;
+        }
+        if (items.size() == 1) {
+            failed.put(items.get(0), failure);
+            return;
+        }
+        int middle = items.size() / 2;
+        write(items.subList(0, middle), failed, skipCount);
+        write(items.subList(middle, items.size()), failed, skipCount);
+    }
+
+    // Writes the items under a savepoint; returns the failure after rolling back to it
+    private Exception tryWrite(List<? extends T> items) throws SQLException {
+        Connection connection = DataSourceUtils.getConnection(dataSource);
+        try {
+            Savepoint savepoint = connection.setSavepoint();
+            try {
+                delegate.write(new Chunk<>(items));
+            } catch (Exception e) {
+                connection.rollback(savepoint);
+                return e;
+            }
+            connection.releaseSavepoint(savepoint);
+            return null;
+        } finally {
+            DataSourceUtils.releaseConnection(connection, dataSource);
+        }
+    }
+
+    private boolean isSkippable(Exception exception, long skipCount) {
+        // The limit checking policy throws once the limit is reached, which fails the step
+        return skipPolicy.shouldSkip(exception, skipCount);
+    }
+
+    private static long currentSkipCount() {
+        StepContext context = StepSynchronizationManager.getContext();
+        return context != null ? context.getStepExecution().getSkipCount() : 0;
+    }
+
+    private static void addWriteSkipsAfterCommit(int count) {
+        StepContext context = StepSynchronizationManager.getContext();
+        if (context == null) {
+            return;
+        }
+        StepExecution stepExecution = context.getStepExecution();
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                // StepExecution.apply synchronizes on the execution as well
+                synchronized (stepExecution) {
+                    stepExecution.setWriteSkipCount(stepExecution.getWriteSkipCount() + count);
+                }
+            }
+        });
+    }
+}
@@ -0,0 +1,42 @@
+package com.example.Spring_batch_demo.batch.writer;
+
+import com.example.Spring_batch_demo.model.Customer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.support.incrementer.DataFieldMaxValueIncrementer;
+import org.springframework.jdbc.support.incrementer.H2SequenceMaxValueIncrementer;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+
+@Component
+public class CustomerIdAllocator {
+
+    private static final Logger logger = LoggerFactory.getLogger(CustomerIdAllocator.class);
+
+    private final DataFieldMaxValueIncrementer incrementer;
+    private final int allocationSize;
+
+    private long next;
+    private long limit;
+
+    public CustomerIdAllocator(DataSource dataSource) {
+        // Same sequence and block size as the JPA mapping, so both write paths hand out disjoint ids
+        // (Hibernate runs the "pooled-lo" optimizer: each sequence value is the low end of a block)
+        this.incrementer = new H2SequenceMaxValueIncrementer(dataSource, Customer.ID_SEQUENCE);
+        this.allocationSize = Customer.ID_ALLOCATION_SIZE;
+    }
+
+    public synchronized long[] allocate(int count) {
+        long[] ids = new long[count];
+        for (int i = 0; i < count; i++) {
+            if (next >= limit) {
+                next = incrementer.nextLongValue();
+                limit = next + allocationSize;
+                logger.debug("Allocated customer id block {}-{}", next, limit - 1);
+            }
+            ids[i] = next++;
+        }
+        return ids;
+    }
+}
@@ -2,14 +2,15 @@ package com.example.Spring_batch_demo.batch.writer;
 
 import com.example.Spring_batch_demo.model.Customer;
 import com.example.Spring_batch_demo.repository.CustomerRepository;
+import com.example.Spring_batch_demo.service.CustomerStatisticsAggregator;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.batch.item.Chunk;
 import org.springframework.batch.item.ItemWriter;
 import org.springframework.stereotype.Component;
 
+import java.util.ArrayList;
 import java.util.List;
-import java.util.stream.Collectors;
 
 @Component
 public class CustomerItemWriter implements ItemWriter<Customer> {
@@ -17,9 +18,12 @@ public class CustomerItemWriter implements ItemWriter<Customer> {
     private static final Logger logger = LoggerFactory.getLogger(CustomerItemWriter.class);
     
     private final CustomerRepository customerRepository;
+    private final CustomerStatisticsAggregator statisticsAggregator;
     
-    public CustomerItemWriter(CustomerRepository customerRepository) {
+    public CustomerItemWriter(CustomerRepository customerRepository,
+                              CustomerStatisticsAggregator statisticsAggregator) {
         this.customerRepository = customerRepository;
+        this.statisticsAggregator = statisticsAggregator;
     }
     
     @Override
@@ -29,35 +33,30 @@ public class CustomerItemWriter implements ItemWriter<Customer> {
         logger.info("Writing {} customers to database", customers.size());
         
         try {
-            // Convert to List<Customer> for saving
-            List<Customer> customerList = customers.stream()
-                    .map(Customer.class::cast)
-                    .collect(Collectors.toList());
+            // Copy to List<Customer> for saving
+            List<Customer> customerList = new ArrayList<>(customers);
             
             // Save all customers
             List<Customer> savedCustomers = customerRepository.saveAll(customerList);
+            statisticsAggregator.recordInserted(savedCustomers);
             
-            // Log statistics
-            long successfulCount = savedCustomers.stream()
-                    .filter(c -> c.getStatus() == Customer.CustomerStatus.PROCESSED)
-                    .count();
-            long failedCount = savedCustomers.stream()
-                    .filter(c -> c.getStatus() == Customer.CustomerStatus.FAILED)
-                    .count();
+            // Count and collect failures in one pass over the saved customers
+            long successfulCount = 0;
+            List<String> failedEmails = new ArrayList<>();
+            for (Customer customer : savedCustomers) {
+                if (customer.getStatus() == Customer.CustomerStatus.PROCESSED) {
+                    successfulCount++;
+                } else if (customer.getStatus() == Customer.CustomerStatus.FAILED) {
+                    failedEmails.add(customer.getEmail());
+                }
+            }
             
             logger.info("Successfully saved {} customers - Success: {}, Failed: {}", 
-                    savedCustomers.size(), successfulCount, failedCount);
+                    savedCustomers.size(), successfulCount, failedEmails.size());
             
             // Log failed customers for debugging
-            List<Customer> failedCustomers = savedCustomers.stream()
-                    .filter(c -> c.getStatus() == Customer.CustomerStatus.FAILED)
-                    .collect(Collectors.toList());
-            
-            if (!failedCustomers.isEmpty()) {
-                logger.warn("Failed customers: {}", 
-                        failedCustomers.stream()
-                                .map(c -> c.getEmail())
-                                .collect(Collectors.joining(", ")));
+            if (!failedEmails.isEmpty()) {
+                logger.warn("Failed customers: {}", String.join(", ", failedEmails));
             }
             
         } catch (Exception e) {
@@ -0,0 +1,112 @@
+package com.example.Spring_batch_demo.batch.writer;
+
+import com.example.Spring_batch_demo.model.Customer;
+import com.example.Spring_batch_demo.service.CustomerStatisticsAggregator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.batch.item.Chunk;
+import org.springframework.batch.item.ItemWriter;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.List;
+
+@Component
+public class CustomerJdbcItemWriter implements ItemWriter<Customer> {
+
+    private static final Logger logger = LoggerFactory.getLogger(CustomerJdbcItemWriter.class);
+
+    static final String INSERT_SQL = "INSERT INTO customers "
+            + "(id, first_name, last_name, email, age, city, processed_at, status, region) "
+            + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final CustomerIdAllocator idAllocator;
+    private final CustomerStatisticsAggregator statisticsAggregator;
+
+    public CustomerJdbcItemWriter(JdbcTemplate jdbcTemplate, CustomerIdAllocator idAllocator,
+                                  CustomerStatisticsAggregator statisticsAggregator) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.idAllocator = idAllocator;
+        this.statisticsAggregator = statisticsAggregator;
+    }
+
+    @Override
+    public void write(Chunk<? extends Customer> chunk) throws Exception {
+        List<? extends Customer> customers = chunk.getItems();
+        if (customers.isEmpty()) {
+            return;
+        }
+
+        logger.info("Writing {} customers to database (jdbc batch)", customers.size());
+
+        try {
+            long[] ids = idAllocator.allocate(customers.size());
+            long successfulCount = 0;
+            long failedCount = 0;
+            List<String> failedEmails = new ArrayList<>();
+            for (int i = 0; i < customers.size(); i++) {
+                Customer customer = customers.get(i);
+                customer.setId(ids[i]);
+                if (customer.getStatus() == Customer.CustomerStatus.PROCESSED) {
+                    successfulCount++;
+                } else if (customer.getStatus() == Customer.CustomerStatus.FAILED) {
+                    failedCount++;
+                    failedEmails.add(customer.getEmail());
+                }
+            }
+
+            jdbcTemplate.batchUpdate(INSERT_SQL, new CustomerInsertSetter(customers));
+            statisticsAggregator.recordInserted(customers);
+
+            logger.info("Successfully saved {} customers - Success: {}, Failed: {}",
+                    customers.size(), successfulCount, failedCount);
+
+            if (!failedEmails.isEmpty()) {
+                logger.warn("Failed customers: {}", String.join(", ", failedEmails));
+            }
+
+        } catch (Exception e) {
+            logger.error("Error writing customers to database", e);
+            throw e;
+        }
+    }
+
+    static final class CustomerInsertSetter implements BatchPreparedStatementSetter {
+
+        private final List<? extends Customer> customers;
+
+        CustomerInsertSetter(List<? extends Customer> customers) {
+            this.customers = customers;
+        }
+
+        @Override
+        public void setValues(PreparedStatement ps, int i) throws SQLException {
+            Customer customer = customers.get(i);
+            ps.setLong(1, customer.getId());
+            ps.setString(2, customer.getFirstName());
+            ps.setString(3, customer.getLastName());
+            ps.setString(4, customer.getEmail());
+            if (customer.getAge() != null) {
+                ps.setInt(5, customer.getAge());
+            } else {
+                ps.setNull(5, Types.INTEGER);
+            }
+            ps.setString(6, customer.getCity());
+            ps.setTimestamp(7, customer.getProcessedAt() != null ? Timestamp.valueOf(customer.getProcessedAt()) : null);
+            ps.setString(8, customer.getStatus() != null ? customer.getStatus().name() : null);
+            ps.setString(9, customer.getRegion());
+        }
+
+        @Override
+        public int getBatchSize() {
+            return customers.size();
+        }
+    }
+}
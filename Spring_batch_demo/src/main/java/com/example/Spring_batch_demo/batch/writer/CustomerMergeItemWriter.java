@@ -0,0 +1,106 @@
+package com.example.Spring_batch_demo.batch.writer;
+
+import com.example.Spring_batch_demo.model.Customer;
+import com.example.Spring_batch_demo.service.CustomerStatisticsAggregator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.batch.item.Chunk;
+import org.springframework.batch.item.ItemWriter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+// Upserts customers keyed on email, so re-running an import over overlapping input refreshes the
+// existing rows instead of failing on the unique constraint. Each chunk costs one lookup of the
+// chunk's emails (to keep existing ids and the statistics exact) and one MERGE batch.
+@Component
+public class CustomerMergeItemWriter implements ItemWriter<Customer> {
+
+    private static final Logger logger = LoggerFactory.getLogger(CustomerMergeItemWriter.class);
+
+    static final String SELECT_EXISTING_SQL =
+            "SELECT id, email, city, status FROM customers WHERE email = ANY(?)";
+
+    // Matched rows keep their id; the parameters are bound in CustomerInsertSetter's column order
+    static final String MERGE_SQL = "MERGE INTO customers c USING (VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)) "
+            + "AS s(id, first_name, last_name, email, age, city, processed_at, status, region) ON c.email = s.email "
+            + "WHEN MATCHED THEN UPDATE SET first_name = s.first_name, last_name = s.last_name, age = s.age, "
+            + "city = s.city, processed_at = s.processed_at, status = s.status, region = s.region "
+            + "WHEN NOT MATCHED THEN INSERT (id, first_name, last_name, email, age, city, processed_at, status, region) "
+            + "VALUES (s.id, s.first_name, s.last_name, s.email, s.age, s.city, s.processed_at, s.status, s.region)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final CustomerIdAllocator idAllocator;
+    private final CustomerStatisticsAggregator statisticsAggregator;
+
+    public CustomerMergeItemWriter(JdbcTemplate jdbcTemplate, CustomerIdAllocator idAllocator,
+                                   CustomerStatisticsAggregator statisticsAggregator) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.idAllocator = idAllocator;
+        this.statisticsAggregator = statisticsAggregator;
+    }
+
+    @Override
+    public void write(Chunk<? extends Customer> chunk) throws Exception {
+        List<? extends Customer> customers = chunk.getItems();
+        if (customers.isEmpty()) {
+            return;
+        }
+
+        logger.info("Merging {} customers into database (jdbc batch)", customers.size());
+
+        try {
+            // Current row per email; an email repeated within the chunk replaces its earlier occurrence
+            Map<String, Customer> current = findExisting(customers);
+            List<Customer> inserted = new ArrayList<>();
+            List<Customer> previous = new ArrayList<>();
+            List<Customer> replacing = new ArrayList<>();
+            for (Customer customer : customers) {
+                Customer existing = current.put(customer.getEmail(), customer);
+                if (existing == null) {
+                    inserted.add(customer);
+                } else {
+                    previous.add(existing);
+                    replacing.add(customer);
+                }
+            }
+            long[] ids = idAllocator.allocate(inserted.size());
+            for (int i = 0; i < inserted.size(); i++) {
+                inserted.get(i).setId(ids[i]);
+            }
+            for (int i = 0; i < replacing.size(); i++) {
+                replacing.get(i).setId(previous.get(i).getId());
+            }
+
+            jdbcTemplate.batchUpdate(MERGE_SQL, new CustomerJdbcItemWriter.CustomerInsertSetter(customers));
+            statisticsAggregator.recordInserted(inserted);
+            statisticsAggregator.recordReplaced(previous, replacing);
+
+            logger.info("Successfully merged {} customers - Inserted: {}, Updated: {}",
+                    customers.size(), inserted.size(), replacing.size());
+
+        } catch (Exception e) {
+            logger.error("Error merging customers into database", e);
+            throw e;
+        }
+    }
+
+    private Map<String, Customer> findExisting(List<? extends Customer> customers) {
+        Object[] emails = customers.stream().map(Customer::getEmail).distinct().toArray();
+        Map<String, Customer> existing = new HashMap<>();
+        jdbcTemplate.query(SELECT_EXISTING_SQL, rs -> {
+            Customer customer = new Customer();
+            customer.setId(rs.getLong(1));
+            customer.setEmail(rs.getString(2));
+            customer.setCity(rs.getString(3));
+            String status = rs.getString(4);
+            customer.setStatus(status != null ? Customer.CustomerStatus.valueOf(status) : null);
+            existing.put(customer.getEmail(), customer);
+        }, (Object) emails);
+        return existing;
+    }
+}
@@ -0,0 +1,46 @@
+package com.example.Spring_batch_demo.batch.writer;
+
+import com.example.Spring_batch_demo.batch.enrichment.CustomerRegion;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.batch.item.Chunk;
+import org.springframework.batch.item.ItemWriter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+// Writes a chunk of regions set-based: one UPDATE per distinct region covering all of the chunk's
+// ids for it
+@Component
+public class CustomerRegionItemWriter implements ItemWriter<CustomerRegion> {
+
+    private static final Logger logger = LoggerFactory.getLogger(CustomerRegionItemWriter.class);
+
+    static final String UPDATE_SQL = "UPDATE customers SET region = ? WHERE id = ANY(?)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public CustomerRegionItemWriter(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public void write(Chunk<? extends CustomerRegion> chunk) throws Exception {
+        if (chunk.isEmpty()) {
+            return;
+        }
+        Map<String, List<Long>> idsByRegion = new HashMap<>();
+        for (CustomerRegion customer : chunk) {
+            idsByRegion.computeIfAbsent(customer.region(), region -> new ArrayList<>()).add(customer.id());
+        }
+
+        List<Object[]> batchArgs = new ArrayList<>(idsByRegion.size());
+        idsByRegion.forEach((region, ids) -> batchArgs.add(new Object[] {region, ids.toArray()}));
+        jdbcTemplate.batchUpdate(UPDATE_SQL, batchArgs);
+        logger.debug("Updated region of {} customers in {} statements", chunk.size(), batchArgs.size());
+    }
+}
@@ -0,0 +1,59 @@
+package com.example.Spring_batch_demo.batch.writer;
+
+import com.example.Spring_batch_demo.batch.validation.CustomerStatusChange;
+import com.example.Spring_batch_demo.model.Customer;
+import com.example.Spring_batch_demo.service.CustomerStatisticsAggregator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.batch.item.Chunk;
+import org.springframework.batch.item.ItemWriter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+// Applies a chunk of status changes set-based: one UPDATE per target status covering all of the
+// chunk's ids for it, instead of one statement per row
+@Component
+public class CustomerStatusItemWriter implements ItemWriter<CustomerStatusChange> {
+
+    private static final Logger logger = LoggerFactory.getLogger(CustomerStatusItemWriter.class);
+
+    static final String UPDATE_SQL = "UPDATE customers SET status = ? WHERE id = ANY(?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final CustomerStatisticsAggregator statisticsAggregator;
+
+    public CustomerStatusItemWriter(JdbcTemplate jdbcTemplate, CustomerStatisticsAggregator statisticsAggregator) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.statisticsAggregator = statisticsAggregator;
+    }
+
+    @Override
+    public void write(Chunk<? extends CustomerStatusChange> chunk) throws Exception {
+        if (chunk.isEmpty()) {
+            return;
+        }
+        Map<Customer.CustomerStatus, List<Long>> idsByStatus = new EnumMap<>(Customer.CustomerStatus.class);
+        Map<Transition, Long> transitions = new HashMap<>();
+        for (CustomerStatusChange change : chunk) {
+            idsByStatus.computeIfAbsent(change.to(), status -> new ArrayList<>()).add(change.id());
+            transitions.merge(new Transition(change.from(), change.to()), 1L, Long::sum);
+        }
+
+        List<Object[]> batchArgs = new ArrayList<>(idsByStatus.size());
+        idsByStatus.forEach((status, ids) -> batchArgs.add(new Object[] {status.name(), ids.toArray()}));
+        jdbcTemplate.batchUpdate(UPDATE_SQL, batchArgs);
+
+        transitions.forEach((transition, count) ->
+                statisticsAggregator.recordStatusChange(transition.from(), transition.to(), count));
+        logger.debug("Updated status of {} customers: {}", chunk.size(), transitions);
+    }
+
+    private record Transition(Customer.CustomerStatus from, Customer.CustomerStatus to) {
+    }
+}
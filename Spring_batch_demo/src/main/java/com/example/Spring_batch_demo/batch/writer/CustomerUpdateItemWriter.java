@@ -0,0 +1,76 @@
+package com.example.Spring_batch_demo.batch.writer;
+
+import com.example.Spring_batch_demo.batch.reprocessing.ReprocessedCustomer;
+import com.example.Spring_batch_demo.model.Customer;
+import com.example.Spring_batch_demo.service.CustomerStatisticsAggregator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.batch.item.Chunk;
+import org.springframework.batch.item.ItemWriter;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.List;
+
+// Overwrites reprocessed customers in place, one JDBC batch of updates by id per chunk
+@Component
+public class CustomerUpdateItemWriter implements ItemWriter<ReprocessedCustomer> {
+
+    private static final Logger logger = LoggerFactory.getLogger(CustomerUpdateItemWriter.class);
+
+    static final String UPDATE_SQL = "UPDATE customers SET first_name = ?, last_name = ?, email = ?, age = ?, "
+            + "city = ?, processed_at = ?, status = ? WHERE id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final CustomerStatisticsAggregator statisticsAggregator;
+
+    public CustomerUpdateItemWriter(JdbcTemplate jdbcTemplate, CustomerStatisticsAggregator statisticsAggregator) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.statisticsAggregator = statisticsAggregator;
+    }
+
+    @Override
+    public void write(Chunk<? extends ReprocessedCustomer> chunk) throws Exception {
+        if (chunk.isEmpty()) {
+            return;
+        }
+        List<Customer> previous = new ArrayList<>(chunk.size());
+        List<Customer> customers = new ArrayList<>(chunk.size());
+        for (ReprocessedCustomer item : chunk) {
+            previous.add(item.failed());
+            customers.add(item.reprocessed());
+        }
+
+        jdbcTemplate.batchUpdate(UPDATE_SQL, new BatchPreparedStatementSetter() {
+            @Override
+            public void setValues(PreparedStatement ps, int i) throws SQLException {
+                Customer customer = customers.get(i);
+                ps.setString(1, customer.getFirstName());
+                ps.setString(2, customer.getLastName());
+                ps.setString(3, customer.getEmail());
+                if (customer.getAge() != null) {
+                    ps.setInt(4, customer.getAge());
+                } else {
+                    ps.setNull(4, Types.INTEGER);
+                }
+                ps.setString(5, customer.getCity());
+                ps.setTimestamp(6, customer.getProcessedAt() != null ? Timestamp.valueOf(customer.getProcessedAt()) : null);
+                ps.setString(7, customer.getStatus().name());
+                ps.setLong(8, customer.getId());
+            }
+
+            @Override
+            public int getBatchSize() {
+                return customers.size();
+            }
+        });
+        statisticsAggregator.recordReplaced(previous, customers);
+        logger.info("Reprocessed {} failed customers", customers.size());
+    }
+}
@@ -1,8 +1,16 @@
 package com.example.Spring_batch_demo.config;
 
+import com.example.Spring_batch_demo.batch.enrichment.CityRegionIndex;
 import com.example.Spring_batch_demo.batch.listener.JobCompletionListener;
+import com.example.Spring_batch_demo.batch.metrics.JobMetricsListener;
+import com.example.Spring_batch_demo.batch.metrics.StepMetricsListener;
+import com.example.Spring_batch_demo.batch.policy.AdaptiveChunkCompletionPolicy;
+import com.example.Spring_batch_demo.batch.policy.ChunkPolicyFactory;
 import com.example.Spring_batch_demo.batch.processor.CustomerItemProcessor;
-import com.example.Spring_batch_demo.batch.writer.CustomerItemWriter;
+import com.example.Spring_batch_demo.batch.progress.JobProgressListener;
+import com.example.Spring_batch_demo.batch.reader.CustomerCsvItemReader;
+import com.example.Spring_batch_demo.batch.reader.CustomerCsvLineMapper;
+import com.example.Spring_batch_demo.batch.validation.CustomerValidationRules;
 import com.example.Spring_batch_demo.dto.CustomerCSV;
 import com.example.Spring_batch_demo.model.Customer;
 import org.springframework.batch.core.Job;
@@ -10,28 +18,68 @@ import org.springframework.batch.core.Step;
 import org.springframework.batch.core.job.builder.JobBuilder;
 import org.springframework.batch.core.launch.support.RunIdIncrementer;
 import org.springframework.batch.core.repository.JobRepository;
+import org.springframework.batch.core.step.builder.SimpleStepBuilder;
 import org.springframework.batch.core.step.builder.StepBuilder;
+import org.springframework.batch.item.ItemProcessor;
+import org.springframework.batch.item.ItemStreamReader;
+import org.springframework.batch.item.ItemWriter;
 import org.springframework.batch.item.file.FlatFileItemReader;
+import org.springframework.batch.item.file.LineMapper;
 import org.springframework.batch.item.file.mapping.BeanWrapperFieldSetMapper;
 import org.springframework.batch.item.file.mapping.DefaultLineMapper;
 import org.springframework.batch.item.file.transform.DelimitedLineTokenizer;
+import org.springframework.batch.item.support.CompositeItemProcessor;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
-import org.springframework.core.io.ClassPathResource;
+import org.springframework.core.io.Resource;
 import org.springframework.transaction.PlatformTransactionManager;
 
 @Configuration
 public class BatchConfiguration {
     
-    @Value("${batch.chunk.size:10}")
-    private int chunkSize;
+    // delimited - DelimitedLineTokenizer + BeanWrapperFieldSetMapper
+    // direct    - CustomerCsvLineMapper, single pass straight into CustomerCSV
+    @Value("${batch.reader.line-mapper:delimited}")
+    private String lineMapperType;
+    
+    // flatfile  - FlatFileItemReader, plain text only
+    // streaming - CustomerCsvItemReader, also reads gzip/zstd and restarts from its byte offset
+    @Value("${batch.reader.type:flatfile}")
+    private String readerType;
+    
+    @Value("${batch.input.file:classpath:data/customers.csv}")
+    private Resource inputResource;
+    
+    // staged - complexDataProcessingJob stores customers in csvToDbStep, then dataValidationStep and
+    //          dataEnrichmentStep read the table back and update it
+    // fused  - fusedCsvToDbStep validates and enriches each customer in memory, so it is written once
+    @Value("${batch.pipeline.mode:staged}")
+    private String pipelineMode;
     
     @Bean
-    public FlatFileItemReader<CustomerCSV> customerCsvReader() {
+    public ItemStreamReader<CustomerCSV> customerCsvReader(LineMapper<CustomerCSV> customerLineMapper) {
+        if ("streaming".equalsIgnoreCase(readerType)) {
+            CustomerCsvItemReader reader = new CustomerCsvItemReader();
+            reader.setResource(inputResource);
+            reader.setLinesToSkip(1); // Skip header line
+            reader.setLineMapper(customerLineMapper);
+            return reader;
+        }
+        
         FlatFileItemReader<CustomerCSV> reader = new FlatFileItemReader<>();
-        reader.setResource(new ClassPathResource("data/customers.csv"));
+        reader.setResource(inputResource);
         reader.setLinesToSkip(1); // Skip header line
+        reader.setLineMapper(customerLineMapper);
+        return reader;
+    }
+    
+    @Bean
+    public LineMapper<CustomerCSV> customerLineMapper() {
+        if ("direct".equalsIgnoreCase(lineMapperType)) {
+            return new CustomerCsvLineMapper();
+        }
         
         DefaultLineMapper<CustomerCSV> lineMapper = new DefaultLineMapper<>();
         
@@ -44,22 +92,70 @@ public class BatchConfiguration {
         
         lineMapper.setLineTokenizer(tokenizer);
         lineMapper.setFieldSetMapper(fieldSetMapper);
-        
-        reader.setLineMapper(lineMapper);
-        return reader;
+        return (line, lineNumber) -> {
+            CustomerCSV customer = lineMapper.mapLine(line, lineNumber);
+            customer.setRawLine(line);
+            return customer;
+        };
     }
     
     @Bean
     public Step csvToDbStep(JobRepository jobRepository,
                            PlatformTransactionManager transactionManager,
-                           FlatFileItemReader<CustomerCSV> reader,
+                           ChunkPolicyFactory chunkPolicyFactory,
+                           @Qualifier("customerCsvReader") ItemStreamReader<CustomerCSV> reader,
                            CustomerItemProcessor processor,
-                           CustomerItemWriter writer) {
-        return new StepBuilder("csvToDbStep", jobRepository)
-                .<CustomerCSV, Customer>chunk(chunkSize, transactionManager)
+                           @Qualifier("customerWriter") ItemWriter<Customer> writer,
+                           JobProgressListener progressListener,
+                           StepMetricsListener metricsStepListener) {
+        AdaptiveChunkCompletionPolicy chunkPolicy = chunkPolicyFactory.create("csvToDbStep");
+        SimpleStepBuilder<CustomerCSV, Customer> step = new StepBuilder("csvToDbStep", jobRepository)
+                .<CustomerCSV, Customer>chunk(chunkPolicy, transactionManager)
                 .reader(reader)
                 .processor(processor)
                 .writer(writer)
+                .listener(chunkPolicy)
+                .listener(progressListener);
+        return metricsStepListener.instrument(step)
+                .allowStartIfComplete(true)
+                .build();
+    }
+    
+    // Import, validation and enrichment as one chain, with the rules and reference data of
+    // dataValidationStep and dataEnrichmentStep
+    @Bean
+    public ItemProcessor<CustomerCSV, Customer> fusedCustomerProcessor(CustomerItemProcessor processor,
+                                                                       CustomerValidationRules rules,
+                                                                       CityRegionIndex cityRegionIndex) {
+        ItemProcessor<Customer, Customer> validation = customer -> {
+            customer.setStatus(rules.validate(customer));
+            return customer;
+        };
+        ItemProcessor<Customer, Customer> enrichment = customer -> {
+            customer.setRegion(cityRegionIndex.regionOf(customer.getCity()));
+            return customer;
+        };
+        return new CompositeItemProcessor<>(processor, validation, enrichment);
+    }
+    
+    @Bean
+    public Step fusedCsvToDbStep(JobRepository jobRepository,
+                                PlatformTransactionManager transactionManager,
+                                ChunkPolicyFactory chunkPolicyFactory,
+                                @Qualifier("customerCsvReader") ItemStreamReader<CustomerCSV> reader,
+                                @Qualifier("fusedCustomerProcessor") ItemProcessor<CustomerCSV, Customer> processor,
+                                @Qualifier("customerWriter") ItemWriter<Customer> writer,
+                                JobProgressListener progressListener,
+                                StepMetricsListener metricsStepListener) {
+        AdaptiveChunkCompletionPolicy chunkPolicy = chunkPolicyFactory.create("fusedCsvToDbStep");
+        SimpleStepBuilder<CustomerCSV, Customer> step = new StepBuilder("fusedCsvToDbStep", jobRepository)
+                .<CustomerCSV, Customer>chunk(chunkPolicy, transactionManager)
+                .reader(reader)
+                .processor(processor)
+                .writer(writer)
+                .listener(chunkPolicy)
+                .listener(progressListener);
+        return metricsStepListener.instrument(step)
                 .allowStartIfComplete(true)
                 .build();
     }
@@ -67,29 +163,16 @@ public class BatchConfiguration {
     @Bean
     public Job importCustomerJob(JobRepository jobRepository,
                                 Step csvToDbStep,
-                                JobCompletionListener listener) {
+                                JobCompletionListener listener,
+                                JobMetricsListener metricsJobListener) {
         return new JobBuilder("importCustomerJob", jobRepository)
                 .incrementer(new RunIdIncrementer())
                 .listener(listener)
+                .listener(metricsJobListener)
                 .start(csvToDbStep)
                 .build();
     }
     
-    // Advanced batch job with multiple steps
-    @Bean
-    public Step dataValidationStep(JobRepository jobRepository,
-                                  PlatformTransactionManager transactionManager) {
-        return new StepBuilder("dataValidationStep", jobRepository)
-                .tasklet((contribution, chunkContext) -> {
-                    // Custom validation logic
-                    System.out.println("Performing data validation...");
-                    // Add your validation logic here
-                    return null;
-                }, transactionManager)
-                .allowStartIfComplete(true)
-                .build();
-    }
-    
     @Bean
     public Step dataCleanupStep(JobRepository jobRepository,
                                PlatformTransactionManager transactionManager) {
@@ -107,15 +190,29 @@ public class BatchConfiguration {
     @Bean
     public Job complexDataProcessingJob(JobRepository jobRepository,
                                        Step csvToDbStep,
+                                       Step fusedCsvToDbStep,
                                        Step dataValidationStep,
+                                       Step dataEnrichmentStep,
                                        Step dataCleanupStep,
-                                       JobCompletionListener listener) {
-        return new JobBuilder("complexDataProcessingJob", jobRepository)
+                                       JobCompletionListener listener,
+                                       JobMetricsListener metricsJobListener) {
+        JobBuilder job = new JobBuilder("complexDataProcessingJob", jobRepository)
                 .incrementer(new RunIdIncrementer())
                 .listener(listener)
-                .start(csvToDbStep)
-                .next(dataValidationStep)
-                .next(dataCleanupStep)
-                .build();
+                .listener(metricsJobListener);
+        return switch (pipelineMode.toLowerCase()) {
+            case "staged" -> job
+                    .start(csvToDbStep)
+                    .next(dataValidationStep)
+                    .next(dataEnrichmentStep)
+                    .next(dataCleanupStep)
+                    .build();
+            // Cleanup has no per-customer work to fold in, so it still runs once after the import
+            case "fused" -> job
+                    .start(fusedCsvToDbStep)
+                    .next(dataCleanupStep)
+                    .build();
+            default -> throw new IllegalArgumentException("Unknown batch.pipeline.mode: " + pipelineMode);
+        };
     }
 } 
\ No newline at end of file
@@ -0,0 +1,96 @@
+package com.example.Spring_batch_demo.config;
+
+import com.example.Spring_batch_demo.batch.enrichment.CityRegionIndex;
+import com.example.Spring_batch_demo.batch.enrichment.CustomerRegion;
+import com.example.Spring_batch_demo.batch.metrics.StepMetricsListener;
+import com.example.Spring_batch_demo.batch.policy.AdaptiveChunkCompletionPolicy;
+import com.example.Spring_batch_demo.batch.policy.ChunkPolicyFactory;
+import com.example.Spring_batch_demo.batch.progress.JobProgressListener;
+import com.example.Spring_batch_demo.batch.writer.CustomerRegionItemWriter;
+import com.example.Spring_batch_demo.model.Customer;
+import org.springframework.batch.core.Step;
+import org.springframework.batch.core.configuration.annotation.StepScope;
+import org.springframework.batch.core.repository.JobRepository;
+import org.springframework.batch.core.step.builder.SimpleStepBuilder;
+import org.springframework.batch.core.step.builder.StepBuilder;
+import org.springframework.batch.item.ItemProcessor;
+import org.springframework.batch.item.database.JdbcCursorItemReader;
+import org.springframework.batch.item.database.builder.JdbcCursorItemReaderBuilder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.io.Resource;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.util.Objects;
+
+// dataEnrichmentStep: sets each customer's region from the city reference data. The reference file
+// is loaded once into CityRegionIndex, so rows are enriched in memory and only the customers whose
+// region changes are written, set-based per chunk.
+@Configuration
+public class CustomerEnrichmentConfiguration {
+
+    private static final String ENRICHMENT_SQL = "SELECT id, city, region FROM customers ORDER BY id";
+
+    @Value("${batch.enrichment.city-regions:classpath:data/city-regions.csv}")
+    private Resource cityRegions;
+
+    @Value("${batch.customers.stream-fetch-size:500}")
+    private int fetchSize;
+
+    @Bean
+    public CityRegionIndex cityRegionIndex() throws IOException {
+        return CityRegionIndex.load(cityRegions);
+    }
+
+    @Bean
+    @StepScope
+    public JdbcCursorItemReader<Customer> customerEnrichmentReader(DataSource dataSource) {
+        return new JdbcCursorItemReaderBuilder<Customer>()
+                .name("customerEnrichmentReader")
+                .dataSource(dataSource)
+                .sql(ENRICHMENT_SQL)
+                .fetchSize(fetchSize)
+                .rowMapper((rs, rowNum) -> {
+                    Customer customer = new Customer();
+                    customer.setId(rs.getLong(1));
+                    customer.setCity(rs.getString(2));
+                    customer.setRegion(rs.getString(3));
+                    return customer;
+                })
+                .build();
+    }
+
+    @Bean
+    public ItemProcessor<Customer, CustomerRegion> customerEnrichmentProcessor(CityRegionIndex cityRegionIndex) {
+        // Customers already carrying the right region are filtered out and never updated
+        return customer -> {
+            String region = cityRegionIndex.regionOf(customer.getCity());
+            return Objects.equals(region, customer.getRegion()) ? null : new CustomerRegion(customer.getId(), region);
+        };
+    }
+
+    @Bean
+    public Step dataEnrichmentStep(JobRepository jobRepository,
+                                   PlatformTransactionManager transactionManager,
+                                   ChunkPolicyFactory chunkPolicyFactory,
+                                   JdbcCursorItemReader<Customer> customerEnrichmentReader,
+                                   ItemProcessor<Customer, CustomerRegion> customerEnrichmentProcessor,
+                                   CustomerRegionItemWriter writer,
+                                   JobProgressListener progressListener,
+                                   StepMetricsListener metricsStepListener) {
+        AdaptiveChunkCompletionPolicy chunkPolicy = chunkPolicyFactory.create("dataEnrichmentStep");
+        SimpleStepBuilder<Customer, CustomerRegion> step = new StepBuilder("dataEnrichmentStep", jobRepository)
+                .<Customer, CustomerRegion>chunk(chunkPolicy, transactionManager)
+                .reader(customerEnrichmentReader)
+                .processor(customerEnrichmentProcessor)
+                .writer(writer)
+                .listener(chunkPolicy)
+                .listener(progressListener);
+        return metricsStepListener.instrument(step)
+                .allowStartIfComplete(true)
+                .build();
+    }
+}
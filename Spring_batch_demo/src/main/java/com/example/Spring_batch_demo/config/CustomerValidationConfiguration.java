@@ -0,0 +1,121 @@
+package com.example.Spring_batch_demo.config;
+
+import com.example.Spring_batch_demo.batch.metrics.StepMetricsListener;
+import com.example.Spring_batch_demo.batch.partitioner.CustomerRangePartitioner;
+import com.example.Spring_batch_demo.batch.partitioner.PartitionHandlerFactory;
+import com.example.Spring_batch_demo.batch.policy.AdaptiveChunkCompletionPolicy;
+import com.example.Spring_batch_demo.batch.policy.ChunkPolicyFactory;
+import com.example.Spring_batch_demo.batch.progress.JobProgressListener;
+import com.example.Spring_batch_demo.batch.validation.CustomerStatusChange;
+import com.example.Spring_batch_demo.batch.validation.CustomerValidationRules;
+import com.example.Spring_batch_demo.batch.writer.CustomerStatusItemWriter;
+import com.example.Spring_batch_demo.model.Customer;
+import org.springframework.batch.core.Step;
+import org.springframework.batch.core.configuration.annotation.StepScope;
+import org.springframework.batch.core.repository.JobRepository;
+import org.springframework.batch.core.step.builder.SimpleStepBuilder;
+import org.springframework.batch.core.step.builder.StepBuilder;
+import org.springframework.batch.item.ItemProcessor;
+import org.springframework.batch.item.database.JdbcCursorItemReader;
+import org.springframework.batch.item.database.builder.JdbcCursorItemReaderBuilder;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import javax.sql.DataSource;
+
+// dataValidationStep: re-checks every stored customer against CustomerValidationRules. The id range
+// is split across partitionTaskExecutor; each worker walks its range with a forward-only cursor and
+// writes only the rows whose status changes, set-based per chunk.
+@Configuration
+public class CustomerValidationConfiguration {
+
+    private static final String VALIDATION_SQL = "SELECT id, first_name, last_name, email, age, status "
+            + "FROM customers WHERE id >= ? AND id < ? ORDER BY id";
+
+    @Value("${batch.grid.size:4}")
+    private int gridSize;
+
+    @Value("${batch.customers.stream-fetch-size:500}")
+    private int fetchSize;
+
+    @Bean
+    public CustomerRangePartitioner customerTablePartitioner(JdbcTemplate jdbcTemplate) {
+        return CustomerRangePartitioner.forTable(jdbcTemplate);
+    }
+
+    @Bean
+    @StepScope
+    public JdbcCursorItemReader<Customer> customerValidationReader(
+            @Value("#{stepExecutionContext['startRange']}") Long startRange,
+            @Value("#{stepExecutionContext['endRange']}") Long endRange,
+            DataSource dataSource) {
+        return new JdbcCursorItemReaderBuilder<Customer>()
+                .name("customerValidationReader")
+                .dataSource(dataSource)
+                .sql(VALIDATION_SQL)
+                .queryArguments(startRange, endRange)
+                .fetchSize(fetchSize)
+                .rowMapper((rs, rowNum) -> {
+                    Customer customer = new Customer();
+                    customer.setId(rs.getLong(1));
+                    customer.setFirstName(rs.getString(2));
+                    customer.setLastName(rs.getString(3));
+                    customer.setEmail(rs.getString(4));
+                    customer.setAge(rs.getObject(5, Integer.class));
+                    String status = rs.getString(6);
+                    customer.setStatus(status != null ? Customer.CustomerStatus.valueOf(status) : null);
+                    return customer;
+                })
+                .build();
+    }
+
+    @Bean
+    public ItemProcessor<Customer, CustomerStatusChange> customerValidationProcessor(CustomerValidationRules rules) {
+        // Rows already carrying the right status are filtered out and never updated
+        return customer -> {
+            Customer.CustomerStatus status = rules.validate(customer);
+            return status == customer.getStatus() ? null
+                    : new CustomerStatusChange(customer.getId(), customer.getStatus(), status);
+        };
+    }
+
+    @Bean
+    public Step dataValidationWorkerStep(JobRepository jobRepository,
+                                         PlatformTransactionManager transactionManager,
+                                         ChunkPolicyFactory chunkPolicyFactory,
+                                         JdbcCursorItemReader<Customer> customerValidationReader,
+                                         ItemProcessor<Customer, CustomerStatusChange> customerValidationProcessor,
+                                         CustomerStatusItemWriter writer,
+                                         JobProgressListener progressListener,
+                                         StepMetricsListener metricsStepListener) {
+        AdaptiveChunkCompletionPolicy chunkPolicy = chunkPolicyFactory.create("dataValidationWorkerStep");
+        SimpleStepBuilder<Customer, CustomerStatusChange> step = new StepBuilder("dataValidationWorkerStep", jobRepository)
+                .<Customer, CustomerStatusChange>chunk(chunkPolicy, transactionManager)
+                .reader(customerValidationReader)
+                .processor(customerValidationProcessor)
+                .writer(writer)
+                .listener(chunkPolicy)
+                .listener(progressListener);
+        return metricsStepListener.instrument(step)
+                .allowStartIfComplete(true)
+                .build();
+    }
+
+    @Bean
+    public Step dataValidationStep(JobRepository jobRepository,
+                                   PartitionHandlerFactory partitionHandlerFactory,
+                                   CustomerRangePartitioner customerTablePartitioner,
+                                   Step dataValidationWorkerStep,
+                                   @Qualifier("partitionTaskExecutor") TaskExecutor taskExecutor) {
+        return new StepBuilder("dataValidationStep", jobRepository)
+                .partitioner("dataValidationWorkerStep", customerTablePartitioner)
+                .partitionHandler(partitionHandlerFactory.create(dataValidationWorkerStep, gridSize, taskExecutor))
+                .allowStartIfComplete(true)
+                .build();
+    }
+}
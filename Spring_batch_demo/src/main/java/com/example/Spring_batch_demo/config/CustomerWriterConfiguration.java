@@ -0,0 +1,67 @@
+package com.example.Spring_batch_demo.config;
+
+import com.example.Spring_batch_demo.batch.writer.BisectingItemWriter;
+import com.example.Spring_batch_demo.batch.writer.CustomerItemWriter;
+import com.example.Spring_batch_demo.batch.writer.CustomerJdbcItemWriter;
+import com.example.Spring_batch_demo.batch.writer.CustomerMergeItemWriter;
+import com.example.Spring_batch_demo.model.Customer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.batch.core.step.skip.LimitCheckingItemSkipPolicy;
+import org.springframework.batch.item.ItemWriter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.dao.DataIntegrityViolationException;
+
+import javax.sql.DataSource;
+import java.util.Map;
+
+@Configuration
+public class CustomerWriterConfiguration {
+
+    private static final Logger logger = LoggerFactory.getLogger(CustomerWriterConfiguration.class);
+
+    // jpa   - CustomerItemWriter, saveAll through the persistence context
+    // jdbc  - CustomerJdbcItemWriter, batched inserts with pooled sequence ids
+    // merge - CustomerMergeItemWriter, batched MERGE keyed on email; re-runs update rows instead of failing
+    @Value("${batch.writer.mode:jpa}")
+    private String writerMode;
+
+    // none   - a failed chunk write fails the step; the customer steps are not fault-tolerant, so
+    //          there is no item-by-item scan to fall back on
+    // bisect - BisectingItemWriter splits the failed chunk under savepoints and skips the rows the
+    //          skip policy accepts; needs an eager (jdbc) writer
+    @Value("${batch.writer.failure-isolation:none}")
+    private String failureIsolation;
+
+    // Rows rejected by the database (duplicate email, constraint violations) that bisect may skip per step
+    @Value("${batch.writer.skip-limit:10}")
+    private int skipLimit;
+
+    @Bean
+    public ItemWriter<Customer> customerWriter(CustomerItemWriter jpaWriter,
+                                              CustomerJdbcItemWriter jdbcWriter,
+                                              CustomerMergeItemWriter mergeWriter,
+                                              DataSource dataSource) {
+        logger.info("Using '{}' customer writer with '{}' failure isolation", writerMode, failureIsolation);
+        ItemWriter<Customer> writer = switch (writerMode.toLowerCase()) {
+            case "jpa" -> jpaWriter;
+            case "jdbc" -> jdbcWriter;
+            case "merge" -> mergeWriter;
+            default -> throw new IllegalArgumentException("Unknown batch.writer.mode: " + writerMode);
+        };
+        return switch (failureIsolation.toLowerCase()) {
+            case "none" -> writer;
+            case "bisect" -> {
+                if (writer == jpaWriter) {
+                    // saveAll defers inserts to the flush at commit, after every savepoint has been released
+                    throw new IllegalArgumentException("batch.writer.failure-isolation=bisect needs batch.writer.mode=jdbc or merge");
+                }
+                yield new BisectingItemWriter<>(writer, dataSource,
+                        new LimitCheckingItemSkipPolicy(skipLimit, Map.of(DataIntegrityViolationException.class, true)));
+            }
+            default -> throw new IllegalArgumentException("Unknown batch.writer.failure-isolation: " + failureIsolation);
+        };
+    }
+}
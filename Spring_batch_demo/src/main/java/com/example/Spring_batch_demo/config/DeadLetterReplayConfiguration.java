@@ -0,0 +1,117 @@
+package com.example.Spring_batch_demo.config;
+
+import com.example.Spring_batch_demo.batch.deadletter.DeadLetterItemReader;
+import com.example.Spring_batch_demo.batch.deadletter.DeadLetterSink;
+import com.example.Spring_batch_demo.batch.listener.JobCompletionListener;
+import com.example.Spring_batch_demo.batch.metrics.JobMetricsListener;
+import com.example.Spring_batch_demo.batch.metrics.StepMetricsListener;
+import com.example.Spring_batch_demo.batch.policy.AdaptiveChunkCompletionPolicy;
+import com.example.Spring_batch_demo.batch.policy.ChunkPolicyFactory;
+import com.example.Spring_batch_demo.batch.processor.CustomerItemProcessor;
+import com.example.Spring_batch_demo.batch.progress.JobProgressListener;
+import com.example.Spring_batch_demo.dto.CustomerCSV;
+import com.example.Spring_batch_demo.model.Customer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.batch.core.Job;
+import org.springframework.batch.core.Step;
+import org.springframework.batch.core.configuration.annotation.StepScope;
+import org.springframework.batch.core.job.builder.JobBuilder;
+import org.springframework.batch.core.launch.support.RunIdIncrementer;
+import org.springframework.batch.core.repository.JobRepository;
+import org.springframework.batch.core.step.builder.SimpleStepBuilder;
+import org.springframework.batch.core.step.builder.StepBuilder;
+import org.springframework.batch.item.ItemWriter;
+import org.springframework.batch.item.file.LineMapper;
+import org.springframework.batch.repeat.RepeatStatus;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.transaction.PlatformTransactionManager;
+
+// Feeds dead-lettered rows back through the import once whatever rejected them has been fixed (validation
+// rules, reference data, a conflicting row). The seal step closes the current log segment, the replay step
+// runs the sealed records through the usual processor and writer, and the purge step deletes the sealed
+// segments. Rows rejected again are dead-lettered into the new segment for a later replay.
+@Configuration
+public class DeadLetterReplayConfiguration {
+
+    private static final Logger logger = LoggerFactory.getLogger(DeadLetterReplayConfiguration.class);
+
+    private static final String LAST_SEGMENT_KEY = "deadLetter.lastSegment";
+
+    @Bean
+    public Step deadLetterSealStep(JobRepository jobRepository,
+                                   PlatformTransactionManager transactionManager,
+                                   DeadLetterSink deadLetterSink) {
+        return new StepBuilder("deadLetterSealStep", jobRepository)
+                .tasklet((contribution, chunkContext) -> {
+                    long lastSegment = deadLetterSink.seal();
+                    logger.info("Replaying dead-letter segments up to {}", lastSegment);
+                    chunkContext.getStepContext().getStepExecution().getJobExecution()
+                            .getExecutionContext().putLong(LAST_SEGMENT_KEY, lastSegment);
+                    return RepeatStatus.FINISHED;
+                }, transactionManager)
+                .build();
+    }
+
+    @Bean
+    @StepScope
+    public DeadLetterItemReader deadLetterReader(DeadLetterSink deadLetterSink,
+                                                 LineMapper<CustomerCSV> customerLineMapper,
+                                                 @Value("#{jobExecutionContext['" + LAST_SEGMENT_KEY + "']}") Long lastSegment) {
+        return new DeadLetterItemReader(deadLetterSink, lastSegment, customerLineMapper);
+    }
+
+    @Bean
+    public Step deadLetterReplayStep(JobRepository jobRepository,
+                                     PlatformTransactionManager transactionManager,
+                                     ChunkPolicyFactory chunkPolicyFactory,
+                                     DeadLetterItemReader deadLetterReader,
+                                     CustomerItemProcessor processor,
+                                     @Qualifier("customerWriter") ItemWriter<Customer> writer,
+                                     JobProgressListener progressListener,
+                                     StepMetricsListener metricsStepListener) {
+        AdaptiveChunkCompletionPolicy chunkPolicy = chunkPolicyFactory.create("deadLetterReplayStep");
+        SimpleStepBuilder<CustomerCSV, Customer> step = new StepBuilder("deadLetterReplayStep", jobRepository)
+                .<CustomerCSV, Customer>chunk(chunkPolicy, transactionManager)
+                .reader(deadLetterReader)
+                .processor(processor)
+                .writer(writer)
+                .listener(chunkPolicy)
+                .listener(progressListener);
+        return metricsStepListener.instrument(step).build();
+    }
+
+    @Bean
+    public Step deadLetterPurgeStep(JobRepository jobRepository,
+                                    PlatformTransactionManager transactionManager,
+                                    DeadLetterSink deadLetterSink) {
+        return new StepBuilder("deadLetterPurgeStep", jobRepository)
+                .tasklet((contribution, chunkContext) -> {
+                    long lastSegment = chunkContext.getStepContext().getStepExecution().getJobExecution()
+                            .getExecutionContext().getLong(LAST_SEGMENT_KEY);
+                    deadLetterSink.delete(lastSegment);
+                    return RepeatStatus.FINISHED;
+                }, transactionManager)
+                .build();
+    }
+
+    @Bean
+    public Job deadLetterReplayJob(JobRepository jobRepository,
+                                   Step deadLetterSealStep,
+                                   Step deadLetterReplayStep,
+                                   Step deadLetterPurgeStep,
+                                   JobCompletionListener listener,
+                                   JobMetricsListener metricsJobListener) {
+        return new JobBuilder("deadLetterReplayJob", jobRepository)
+                .incrementer(new RunIdIncrementer())
+                .listener(listener)
+                .listener(metricsJobListener)
+                .start(deadLetterSealStep)
+                .next(deadLetterReplayStep)
+                .next(deadLetterPurgeStep)
+                .build();
+    }
+}
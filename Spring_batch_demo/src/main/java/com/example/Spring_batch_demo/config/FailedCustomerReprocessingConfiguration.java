@@ -0,0 +1,102 @@
+package com.example.Spring_batch_demo.config;
+
+import com.example.Spring_batch_demo.batch.listener.JobCompletionListener;
+import com.example.Spring_batch_demo.batch.metrics.JobMetricsListener;
+import com.example.Spring_batch_demo.batch.metrics.StepMetricsListener;
+import com.example.Spring_batch_demo.batch.policy.AdaptiveChunkCompletionPolicy;
+import com.example.Spring_batch_demo.batch.policy.ChunkPolicyFactory;
+import com.example.Spring_batch_demo.batch.progress.JobProgressListener;
+import com.example.Spring_batch_demo.batch.reprocessing.FailedCustomerReprocessor;
+import com.example.Spring_batch_demo.batch.reprocessing.ReprocessedCustomer;
+import com.example.Spring_batch_demo.batch.writer.CustomerUpdateItemWriter;
+import com.example.Spring_batch_demo.model.Customer;
+import org.springframework.batch.core.Job;
+import org.springframework.batch.core.Step;
+import org.springframework.batch.core.configuration.annotation.StepScope;
+import org.springframework.batch.core.job.builder.JobBuilder;
+import org.springframework.batch.core.launch.support.RunIdIncrementer;
+import org.springframework.batch.core.repository.JobRepository;
+import org.springframework.batch.core.step.builder.SimpleStepBuilder;
+import org.springframework.batch.core.step.builder.StepBuilder;
+import org.springframework.batch.item.database.JdbcPagingItemReader;
+import org.springframework.batch.item.database.Order;
+import org.springframework.batch.item.database.builder.JdbcPagingItemReaderBuilder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import javax.sql.DataSource;
+import java.util.Map;
+
+// failedCustomerReprocessingJob: re-runs FAILED customers through the import transform and validation.
+// FAILED rows are read in keyset pages over the (status, id) index, so memory stays constant and the
+// run time follows the number of failed rows rather than the size of the table.
+@Configuration
+public class FailedCustomerReprocessingConfiguration {
+
+    @Value("${batch.customers.stream-fetch-size:500}")
+    private int pageSize;
+
+    @Bean
+    @StepScope
+    public JdbcPagingItemReader<Customer> failedCustomerReader(DataSource dataSource) {
+        // Pages continue after the last id read, so rows updated out of FAILED never shift a page
+        return new JdbcPagingItemReaderBuilder<Customer>()
+                .name("failedCustomerReader")
+                .dataSource(dataSource)
+                .selectClause("SELECT id, first_name, last_name, email, age, city, status")
+                .fromClause("FROM customers")
+                .whereClause("WHERE status = 'FAILED'")
+                .sortKeys(Map.of("id", Order.ASCENDING))
+                .pageSize(pageSize)
+                .fetchSize(pageSize)
+                .rowMapper((rs, rowNum) -> {
+                    Customer customer = new Customer();
+                    customer.setId(rs.getLong("id"));
+                    customer.setFirstName(rs.getString("first_name"));
+                    customer.setLastName(rs.getString("last_name"));
+                    customer.setEmail(rs.getString("email"));
+                    customer.setAge(rs.getObject("age", Integer.class));
+                    customer.setCity(rs.getString("city"));
+                    customer.setStatus(Customer.CustomerStatus.valueOf(rs.getString("status")));
+                    return customer;
+                })
+                .build();
+    }
+
+    @Bean
+    public Step failedCustomerReprocessingStep(JobRepository jobRepository,
+                                               PlatformTransactionManager transactionManager,
+                                               ChunkPolicyFactory chunkPolicyFactory,
+                                               JdbcPagingItemReader<Customer> failedCustomerReader,
+                                               FailedCustomerReprocessor reprocessor,
+                                               CustomerUpdateItemWriter writer,
+                                               JobProgressListener progressListener,
+                                               StepMetricsListener metricsStepListener) {
+        AdaptiveChunkCompletionPolicy chunkPolicy = chunkPolicyFactory.create("failedCustomerReprocessingStep");
+        SimpleStepBuilder<Customer, ReprocessedCustomer> step = new StepBuilder("failedCustomerReprocessingStep", jobRepository)
+                .<Customer, ReprocessedCustomer>chunk(chunkPolicy, transactionManager)
+                .reader(failedCustomerReader)
+                .processor(reprocessor)
+                .writer(writer)
+                .listener(chunkPolicy)
+                .listener(progressListener);
+        return metricsStepListener.instrument(step)
+                .allowStartIfComplete(true)
+                .build();
+    }
+
+    @Bean
+    public Job failedCustomerReprocessingJob(JobRepository jobRepository,
+                                             Step failedCustomerReprocessingStep,
+                                             JobCompletionListener listener,
+                                             JobMetricsListener metricsJobListener) {
+        return new JobBuilder("failedCustomerReprocessingJob", jobRepository)
+                .incrementer(new RunIdIncrementer())
+                .listener(listener)
+                .listener(metricsJobListener)
+                .start(failedCustomerReprocessingStep)
+                .build();
+    }
+}
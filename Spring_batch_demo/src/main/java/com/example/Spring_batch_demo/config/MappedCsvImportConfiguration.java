@@ -0,0 +1,102 @@
+package com.example.Spring_batch_demo.config;
+
+import com.example.Spring_batch_demo.batch.listener.JobCompletionListener;
+import com.example.Spring_batch_demo.batch.metrics.JobMetricsListener;
+import com.example.Spring_batch_demo.batch.metrics.StepMetricsListener;
+import com.example.Spring_batch_demo.batch.partitioner.CustomerRangePartitioner;
+import com.example.Spring_batch_demo.batch.partitioner.PartitionHandlerFactory;
+import com.example.Spring_batch_demo.batch.policy.AdaptiveChunkCompletionPolicy;
+import com.example.Spring_batch_demo.batch.policy.ChunkPolicyFactory;
+import com.example.Spring_batch_demo.batch.processor.CustomerItemProcessor;
+import com.example.Spring_batch_demo.batch.progress.JobProgressListener;
+import com.example.Spring_batch_demo.batch.reader.MappedCsvRangeItemReader;
+import com.example.Spring_batch_demo.dto.CustomerCSV;
+import com.example.Spring_batch_demo.model.Customer;
+import org.springframework.batch.core.Job;
+import org.springframework.batch.core.Step;
+import org.springframework.batch.core.configuration.annotation.StepScope;
+import org.springframework.batch.core.job.builder.JobBuilder;
+import org.springframework.batch.core.launch.support.RunIdIncrementer;
+import org.springframework.batch.core.repository.JobRepository;
+import org.springframework.batch.core.step.builder.SimpleStepBuilder;
+import org.springframework.batch.core.step.builder.StepBuilder;
+import org.springframework.batch.item.ItemWriter;
+import org.springframework.batch.item.file.LineMapper;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.io.Resource;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.io.IOException;
+
+@Configuration
+public class MappedCsvImportConfiguration {
+
+    @Value("${batch.grid.size:4}")
+    private int gridSize;
+
+    @Value("${batch.input.file:classpath:data/customers.csv}")
+    private Resource inputResource;
+
+    @Bean
+    public CustomerRangePartitioner customerFilePartitioner() {
+        return CustomerRangePartitioner.forFile(inputResource);
+    }
+
+    @Bean
+    @StepScope
+    public MappedCsvRangeItemReader mappedCsvRangeReader(
+            @Value("#{stepExecutionContext['startRange']}") Long startRange,
+            @Value("#{stepExecutionContext['endRange']}") Long endRange,
+            LineMapper<CustomerCSV> customerLineMapper) throws IOException {
+        return new MappedCsvRangeItemReader(inputResource.getFile().toPath(), startRange, endRange, customerLineMapper);
+    }
+
+    @Bean
+    public Step mappedCsvWorkerStep(JobRepository jobRepository,
+                                    PlatformTransactionManager transactionManager,
+                                    ChunkPolicyFactory chunkPolicyFactory,
+                                    MappedCsvRangeItemReader mappedCsvRangeReader,
+                                    CustomerItemProcessor processor,
+                                    @Qualifier("customerWriter") ItemWriter<Customer> writer,
+                                    JobProgressListener progressListener,
+                                    StepMetricsListener metricsStepListener) {
+        AdaptiveChunkCompletionPolicy chunkPolicy = chunkPolicyFactory.create("mappedCsvWorkerStep");
+        SimpleStepBuilder<CustomerCSV, Customer> step = new StepBuilder("mappedCsvWorkerStep", jobRepository)
+                .<CustomerCSV, Customer>chunk(chunkPolicy, transactionManager)
+                .reader(mappedCsvRangeReader)
+                .processor(processor)
+                .writer(writer)
+                .listener(chunkPolicy)
+                .listener(progressListener);
+        return metricsStepListener.instrument(step).build();
+    }
+
+    @Bean
+    public Step mappedCsvImportStep(JobRepository jobRepository,
+                                    PartitionHandlerFactory partitionHandlerFactory,
+                                    CustomerRangePartitioner customerFilePartitioner,
+                                    Step mappedCsvWorkerStep,
+                                    @Qualifier("partitionTaskExecutor") TaskExecutor taskExecutor) {
+        return new StepBuilder("mappedCsvImportStep", jobRepository)
+                .partitioner("mappedCsvWorkerStep", customerFilePartitioner)
+                .partitionHandler(partitionHandlerFactory.create(mappedCsvWorkerStep, gridSize, taskExecutor))
+                .build();
+    }
+
+    @Bean
+    public Job mappedCsvImportJob(JobRepository jobRepository,
+                                  Step mappedCsvImportStep,
+                                  JobCompletionListener listener,
+                                  JobMetricsListener metricsJobListener) {
+        return new JobBuilder("mappedCsvImportJob", jobRepository)
+                .incrementer(new RunIdIncrementer())
+                .listener(listener)
+                .listener(metricsJobListener)
+                .start(mappedCsvImportStep)
+                .build();
+    }
+}
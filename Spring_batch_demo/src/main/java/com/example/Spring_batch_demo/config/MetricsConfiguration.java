@@ -0,0 +1,29 @@
+package com.example.Spring_batch_demo.config;
+
+import com.example.Spring_batch_demo.batch.metrics.JobMetricsListener;
+import com.example.Spring_batch_demo.batch.metrics.StepMetricsListener;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+// Batch instrumentation. Register metricsJobListener on jobs with .listener(...) and metricsStepListener
+// on chunk-oriented steps with metricsStepListener.instrument(stepBuilder).
+@Configuration
+public class MetricsConfiguration {
+
+    private final MeterRegistry meterRegistry;
+
+    public MetricsConfiguration(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Bean
+    public JobMetricsListener metricsJobListener() {
+        return new JobMetricsListener(meterRegistry);
+    }
+
+    @Bean
+    public StepMetricsListener metricsStepListener() {
+        return new StepMetricsListener(meterRegistry);
+    }
+}
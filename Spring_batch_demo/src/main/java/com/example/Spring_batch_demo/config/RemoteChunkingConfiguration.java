@@ -0,0 +1,86 @@
+package com.example.Spring_batch_demo.config;
+
+import com.example.Spring_batch_demo.batch.listener.JobCompletionListener;
+import com.example.Spring_batch_demo.batch.metrics.JobMetricsListener;
+import com.example.Spring_batch_demo.batch.metrics.StepMetricsListener;
+import com.example.Spring_batch_demo.batch.policy.AdaptiveChunkCompletionPolicy;
+import com.example.Spring_batch_demo.batch.policy.ChunkPolicyFactory;
+import com.example.Spring_batch_demo.batch.progress.JobProgressListener;
+import com.example.Spring_batch_demo.batch.remote.ChunkRequestQueue;
+import com.example.Spring_batch_demo.batch.remote.RemoteChunkItemWriter;
+import com.example.Spring_batch_demo.dto.CustomerCSV;
+import org.springframework.batch.core.Job;
+import org.springframework.batch.core.Step;
+import org.springframework.batch.core.configuration.annotation.StepScope;
+import org.springframework.batch.core.job.builder.JobBuilder;
+import org.springframework.batch.core.launch.support.RunIdIncrementer;
+import org.springframework.batch.core.repository.JobRepository;
+import org.springframework.batch.core.step.builder.SimpleStepBuilder;
+import org.springframework.batch.core.step.builder.StepBuilder;
+import org.springframework.batch.item.ItemStreamReader;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.transaction.PlatformTransactionManager;
+
+// remoteChunkingImportJob: importCustomerJob for inputs that cannot be split but are expensive to process.
+// This node only reads the CSV; CustomerItemProcessor and the customer writer run on the nodes started
+// with batch.remote.mode=worker (or both), fed through BATCH_CHUNK_REQUEST.
+@Configuration
+public class RemoteChunkingConfiguration {
+
+    // Chunks sent and committed but not yet answered before the reader has to wait for a worker
+    @Value("${batch.remote.chunk-window:4}")
+    private int chunkWindow;
+
+    @Value("${batch.remote.poll-interval-ms:500}")
+    private long pollIntervalMillis;
+
+    // How long the manager waits for a worker reply; 0 waits indefinitely
+    @Value("${batch.remote.chunk-timeout-ms:600000}")
+    private long chunkTimeoutMillis;
+
+    // Step scoped: the writer tracks the chunks in flight of one manager step execution, so concurrent
+    // runs of the job each get their own
+    @Bean
+    @StepScope
+    public RemoteChunkItemWriter remoteChunkWriter(ChunkRequestQueue chunkRequestQueue) {
+        return new RemoteChunkItemWriter(chunkRequestQueue, chunkWindow, pollIntervalMillis, chunkTimeoutMillis);
+    }
+
+    @Bean
+    public Step remoteChunkingImportStep(JobRepository jobRepository,
+                                         PlatformTransactionManager transactionManager,
+                                         ChunkPolicyFactory chunkPolicyFactory,
+                                         @Qualifier("customerCsvReader") ItemStreamReader<CustomerCSV> reader,
+                                         RemoteChunkItemWriter remoteChunkWriter,
+                                         JobProgressListener progressListener,
+                                         StepMetricsListener metricsStepListener) {
+        AdaptiveChunkCompletionPolicy chunkPolicy = chunkPolicyFactory.create("remoteChunkingImportStep");
+        // The writer is also registered as a step listener by the builder, after the metrics listener,
+        // so its afterStep settles the write count before the metrics are taken
+        SimpleStepBuilder<CustomerCSV, CustomerCSV> step = new StepBuilder("remoteChunkingImportStep", jobRepository)
+                .<CustomerCSV, CustomerCSV>chunk(chunkPolicy, transactionManager)
+                .reader(reader)
+                .writer(remoteChunkWriter)
+                .listener(chunkPolicy)
+                .listener(progressListener);
+        return metricsStepListener.instrument(step)
+                .allowStartIfComplete(true)
+                .build();
+    }
+
+    @Bean
+    public Job remoteChunkingImportJob(JobRepository jobRepository,
+                                       Step remoteChunkingImportStep,
+                                       JobCompletionListener listener,
+                                       JobMetricsListener metricsJobListener) {
+        return new JobBuilder("remoteChunkingImportJob", jobRepository)
+                .incrementer(new RunIdIncrementer())
+                .listener(listener)
+                .listener(metricsJobListener)
+                .start(remoteChunkingImportStep)
+                .build();
+    }
+}
@@ -0,0 +1,65 @@
+package com.example.Spring_batch_demo.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+// Separate executors for partition workers and job launches, so each has its own concurrency limit
+// instead of both competing for one pool. The limits are per role, not per step: steps of the same
+// role (e.g. two jobs' partition steps running at once) share one limit.
+// Keep the limits below the JDBC pool size (spring.datasource.hikari.maximum-pool-size), since every
+// worker holds a connection.
+@Configuration
+public class TaskExecutorConfiguration {
+
+    private static final Logger logger = LoggerFactory.getLogger(TaskExecutorConfiguration.class);
+
+    // platform - fixed ThreadPoolTaskExecutor per role
+    // virtual  - one virtual thread per task, bounded by a concurrency limit per role
+    @Value("${batch.executor.type:platform}")
+    private String executorType;
+
+    @Value("${batch.executor.partition-concurrency:${batch.grid.size:4}}")
+    private int partitionConcurrency;
+
+    @Value("${batch.launch.max-concurrent-jobs:2}")
+    private int maxConcurrentJobs;
+
+    @Bean
+    public TaskExecutor partitionTaskExecutor() {
+        return createExecutor("PartitionThread-", partitionConcurrency);
+    }
+
+    // Runs jobs admitted by JobAdmissionQueue, which already caps how many run at once
+    @Bean
+    public TaskExecutor jobLaunchTaskExecutor() {
+        return createExecutor("JobLaunch-", maxConcurrentJobs);
+    }
+
+    private TaskExecutor createExecutor(String threadNamePrefix, int concurrencyLimit) {
+        logger.info("Creating {} task executor '{}' with concurrency limit {}", executorType, threadNamePrefix, concurrencyLimit);
+        return switch (executorType.toLowerCase()) {
+            case "virtual" -> {
+                // Blocking JDBC calls park the virtual thread instead of holding a platform thread;
+                // the concurrency limit is a semaphore that makes submitters wait rather than rejecting
+                SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor(threadNamePrefix);
+                executor.setVirtualThreads(true);
+                executor.setConcurrencyLimit(concurrencyLimit);
+                yield executor;
+            }
+            case "platform" -> {
+                ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+                executor.setCorePoolSize(concurrencyLimit);
+                executor.setMaxPoolSize(concurrencyLimit);
+                executor.setThreadNamePrefix(threadNamePrefix);
+                yield executor;
+            }
+            default -> throw new IllegalArgumentException("Unknown batch.executor.type: " + executorType);
+        };
+    }
+}
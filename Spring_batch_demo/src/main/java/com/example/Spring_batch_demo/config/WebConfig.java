@@ -13,6 +13,8 @@ public class WebConfig implements WebMvcConfigurer {
                 .allowedOrigins("http://localhost:4200", "http://localhost:58886")
                 .allowedMethods("GET", "POST", "PUT", "DELETE", "OPTIONS")
                 .allowedHeaders("*")
+                // The customer list pages through GET /customers by this header
+                .exposedHeaders("X-Next-Cursor")
                 .allowCredentials(true)
                 .maxAge(3600);
     }
@@ -1,78 +1,117 @@
 package com.example.Spring_batch_demo.controller;
 
+import com.example.Spring_batch_demo.batch.progress.JobProgressPublisher;
+import com.example.Spring_batch_demo.dto.JobExecutionSummary;
 import com.example.Spring_batch_demo.model.Customer;
+import com.example.Spring_batch_demo.repository.CustomerQueryRepository;
 import com.example.Spring_batch_demo.repository.CustomerRepository;
 import com.example.Spring_batch_demo.service.BatchJobService;
+import com.example.Spring_batch_demo.service.CustomerStatisticsAggregator;
+import com.example.Spring_batch_demo.service.JobAdmissionRejectedException;
+import com.example.Spring_batch_demo.service.JobExecutionHistoryService;
+import com.example.Spring_batch_demo.service.LaunchPriority;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import org.springframework.batch.core.JobExecution;
 import org.springframework.batch.core.explore.JobExplorer;
 import org.springframework.batch.core.StepExecution;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 @RestController
 @RequestMapping("/api/batch")
 public class BatchJobController {
     
+    private static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+    private static final int MAX_PAGE_SIZE = 1000;
+    
     private final BatchJobService batchJobService;
     private final CustomerRepository customerRepository;
+    private final CustomerQueryRepository customerQueryRepository;
+    private final CustomerStatisticsAggregator statisticsAggregator;
     private final JobExplorer jobExplorer;
+    private final JobExecutionHistoryService jobExecutionHistoryService;
+    private final JobProgressPublisher jobProgressPublisher;
+    private final ObjectMapper objectMapper;
     
     public BatchJobController(BatchJobService batchJobService, 
                              CustomerRepository customerRepository,
-                             JobExplorer jobExplorer) {
+                             CustomerQueryRepository customerQueryRepository,
+                             CustomerStatisticsAggregator statisticsAggregator,
+                             JobExplorer jobExplorer,
+                             JobExecutionHistoryService jobExecutionHistoryService,
+                             JobProgressPublisher jobProgressPublisher,
+                             ObjectMapper objectMapper) {
         this.batchJobService = batchJobService;
         this.customerRepository = customerRepository;
+        this.customerQueryRepository = customerQueryRepository;
+        this.statisticsAggregator = statisticsAggregator;
         this.jobExplorer = jobExplorer;
+        this.jobExecutionHistoryService = jobExecutionHistoryService;
+        this.jobProgressPublisher = jobProgressPublisher;
+        this.objectMapper = objectMapper;
     }
     
     @PostMapping("/jobs/import-customers")
     public ResponseEntity<Map<String, Object>> runImportCustomersJob(@RequestParam(required = false) Map<String, String> parameters) {
-        try {
-            if (parameters == null) {
-                parameters = new HashMap<>();
-            }
-            
-            JobExecution jobExecution = batchJobService.runImportCustomerJob(parameters);
-            
-            Map<String, Object> response = new HashMap<>();
-            response.put("jobExecutionId", jobExecution.getId());
-            response.put("jobName", jobExecution.getJobInstance().getJobName());
-            response.put("status", jobExecution.getStatus().toString());
-            response.put("startTime", jobExecution.getStartTime());
-            response.put("message", "Job started successfully");
-            
-            return ResponseEntity.ok(response);
-            
-        } catch (Exception e) {
-            Map<String, Object> errorResponse = new HashMap<>();
-            errorResponse.put("error", "Failed to start job");
-            errorResponse.put("message", e.getMessage());
-            return ResponseEntity.badRequest().body(errorResponse);
-        }
+        Map<String, String> jobParameters = parameters != null ? parameters : new HashMap<>();
+        return submit(() -> batchJobService.submitImportCustomerJob(jobParameters, LaunchPriority.MANUAL));
     }
     
     @PostMapping("/jobs/complex-processing")
     public ResponseEntity<Map<String, Object>> runComplexProcessingJob(@RequestParam(required = false) Map<String, String> parameters) {
+        Map<String, String> jobParameters = parameters != null ? parameters : new HashMap<>();
+        return submit(() -> batchJobService.submitComplexDataProcessingJob(jobParameters, LaunchPriority.MANUAL));
+    }
+    
+    @PostMapping("/jobs/dead-letter-replay")
+    public ResponseEntity<Map<String, Object>> runDeadLetterReplayJob(@RequestParam(required = false) Map<String, String> parameters) {
+        Map<String, String> jobParameters = parameters != null ? parameters : new HashMap<>();
+        return submit(() -> batchJobService.submitDeadLetterReplayJob(jobParameters, LaunchPriority.MANUAL));
+    }
+    
+    @PostMapping("/jobs/failed-customer-reprocessing")
+    public ResponseEntity<Map<String, Object>> runFailedCustomerReprocessingJob(@RequestParam(required = false) Map<String, String> parameters) {
+        Map<String, String> jobParameters = parameters != null ? parameters : new HashMap<>();
+        return submit(() -> batchJobService.submitFailedCustomerReprocessingJob(jobParameters, LaunchPriority.MANUAL));
+    }
+    
+    @PostMapping("/jobs/remote-chunking-import")
+    public ResponseEntity<Map<String, Object>> runRemoteChunkingImportJob(@RequestParam(required = false) Map<String, String> parameters) {
+        Map<String, String> jobParameters = parameters != null ? parameters : new HashMap<>();
+        return submit(() -> batchJobService.submitRemoteChunkingImportJob(jobParameters, LaunchPriority.MANUAL));
+    }
+    
+    // 202 with the queued execution, 429 when the launch queue is full, 400 if the launch fails otherwise
+    private ResponseEntity<Map<String, Object>> submit(Supplier<JobExecution> launch) {
         try {
-            if (parameters == null) {
-                parameters = new HashMap<>();
-            }
-            
-            JobExecution jobExecution = batchJobService.runComplexDataProcessingJob(parameters);
+            JobExecution jobExecution = launch.get();
             
             Map<String, Object> response = new HashMap<>();
             response.put("jobExecutionId", jobExecution.getId());
             response.put("jobName", jobExecution.getJobInstance().getJobName());
             response.put("status", jobExecution.getStatus().toString());
-            response.put("startTime", jobExecution.getStartTime());
-            response.put("message", "Job started successfully");
+            response.put("message", "Job queued");
             
-            return ResponseEntity.ok(response);
+            return ResponseEntity.accepted().body(response);
+            
+        } catch (JobAdmissionRejectedException e) {
+            Map<String, Object> errorResponse = new HashMap<>();
+            errorResponse.put("error", "Job queue is full");
+            errorResponse.put("message", e.getMessage());
+            return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS).body(errorResponse);
             
         } catch (Exception e) {
             Map<String, Object> errorResponse = new HashMap<>();
@@ -82,6 +121,30 @@ public class BatchJobController {
         }
     }
     
+    // Newest first. Pass the X-Next-Cursor header (also returned as nextCursor) as beforeId for the next page;
+    // it is absent on the last page. totalElements may lag a few seconds behind new executions.
+    @GetMapping("/jobs/executions")
+    public ResponseEntity<Map<String, Object>> getJobExecutions(@RequestParam(required = false) Long beforeId,
+                                                                @RequestParam(defaultValue = "10") int size,
+                                                                @RequestParam(required = false) String jobName,
+                                                                @RequestParam(required = false) String status) {
+        int pageSize = Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+        List<JobExecutionSummary> content = jobExecutionHistoryService.findPage(beforeId, pageSize, jobName, status);
+        
+        Map<String, Object> response = new HashMap<>();
+        response.put("content", content);
+        response.put("totalElements", jobExecutionHistoryService.count(jobName, status));
+        response.put("size", pageSize);
+        
+        ResponseEntity.BodyBuilder builder = ResponseEntity.ok();
+        if (content.size() == pageSize) {
+            Long nextCursor = content.get(content.size() - 1).jobExecutionId();
+            response.put("nextCursor", nextCursor);
+            builder.header(NEXT_CURSOR_HEADER, String.valueOf(nextCursor));
+        }
+        return builder.body(response);
+    }
+    
     @GetMapping("/jobs/{jobExecutionId}/details")
     public ResponseEntity<Map<String, Object>> getJobExecutionDetails(@PathVariable Long jobExecutionId) {
         try {
@@ -143,23 +206,65 @@ public class BatchJobController {
         }
     }
     
+    // Server-sent events: a "job" snapshot on connect, "step" counters as chunks commit, and a final
+    // "job" event when the execution ends, after which the stream is closed
+    @GetMapping(value = "/jobs/{jobExecutionId}/progress/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> streamJobProgress(@PathVariable Long jobExecutionId) {
+        JobExecution jobExecution = jobExplorer.getJobExecution(jobExecutionId);
+        if (jobExecution == null) {
+            return ResponseEntity.notFound().build();
+        }
+        return ResponseEntity.ok(jobProgressPublisher.subscribe(jobExecution));
+    }
+    
+    // Keyset pagination: pass the X-Next-Cursor header of one page as afterId to get the next one.
+    // The header is absent on the last page.
     @GetMapping("/customers")
-    public ResponseEntity<List<Customer>> getAllCustomers() {
-        List<Customer> customers = customerRepository.findAll();
-        return ResponseEntity.ok(customers);
+    public ResponseEntity<List<Customer>> getCustomers(@RequestParam(defaultValue = "0") long afterId,
+                                                       @RequestParam(defaultValue = "100") int size) {
+        int pageSize = Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+        List<Customer> customers = customerQueryRepository.findPageAfter(afterId, pageSize);
+        
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (customers.size() == pageSize) {
+            response.header(NEXT_CURSOR_HEADER, String.valueOf(customers.get(customers.size() - 1).getId()));
+        }
+        return response.body(customers);
+    }
+    
+    // All customers as newline-delimited JSON, written row by row from a JDBC cursor
+    @GetMapping(value = "/customers/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamCustomers() {
+        StreamingResponseBody body = outputStream -> {
+            try (JsonGenerator generator = objectMapper.getFactory().createGenerator(outputStream)) {
+                generator.configure(JsonGenerator.Feature.AUTO_CLOSE_TARGET, false);
+                generator.setRootValueSeparator(null); // Rows are separated by newlines only
+                customerQueryRepository.forEachCustomer(customer -> {
+                    try {
+                        generator.writeObject(customer);
+                        generator.writeRaw('\n');
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+            }
+        };
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(body);
     }
     
     @GetMapping("/customers/stats")
     public ResponseEntity<Map<String, Object>> getCustomerStats() {
         Map<String, Object> stats = new HashMap<>();
         
-        long totalCustomers = customerRepository.count();
-        long processedCustomers = customerRepository.countByStatus(Customer.CustomerStatus.PROCESSED);
-        long failedCustomers = customerRepository.countByStatus(Customer.CustomerStatus.FAILED);
-        long newCustomers = customerRepository.countByStatus(Customer.CustomerStatus.NEW);
+        long totalCustomers = statisticsAggregator.getTotal();
+        long processedCustomers = statisticsAggregator.getCount(Customer.CustomerStatus.PROCESSED);
+        long validatedCustomers = statisticsAggregator.getCount(Customer.CustomerStatus.VALIDATED);
+        long failedCustomers = statisticsAggregator.getCount(Customer.CustomerStatus.FAILED);
+        long newCustomers = statisticsAggregator.getCount(Customer.CustomerStatus.NEW);
         
         stats.put("totalCustomers", totalCustomers);
         stats.put("processedCustomers", processedCustomers);
+        stats.put("validatedCustomers", validatedCustomers);
         stats.put("failedCustomers", failedCustomers);
         stats.put("newCustomers", newCustomers);
         
@@ -170,6 +275,7 @@ public class BatchJobController {
     public ResponseEntity<Map<String, Object>> deleteAllCustomers() {
         long count = customerRepository.count();
         customerRepository.deleteAll();
+        statisticsAggregator.recordCleared();
         
         Map<String, Object> response = new HashMap<>();
         response.put("message", "All customers deleted");
@@ -19,6 +19,12 @@ public class CustomerCSV {
     @CsvBindByName(column = "city")
     private String city;
     
+    // The input line this row was mapped from and its byte offset in the input (-1 if unknown),
+    // kept so that rejected rows can be dead-lettered as read
+    private String rawLine;
+    
+    private long sourceOffset = -1;
+    
     // Constructors
     public CustomerCSV() {}
     
@@ -71,6 +77,22 @@ public class CustomerCSV {
         this.city = city;
     }
     
+    public String getRawLine() {
+        return rawLine;
+    }
+    
+    public void setRawLine(String rawLine) {
+        this.rawLine = rawLine;
+    }
+    
+    public long getSourceOffset() {
+        return sourceOffset;
+    }
+    
+    public void setSourceOffset(long sourceOffset) {
+        this.sourceOffset = sourceOffset;
+    }
+    
     @Override
     public String toString() {
         return "CustomerCSV{" +
@@ -0,0 +1,16 @@
+package com.example.Spring_batch_demo.dto;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+// One row of the job execution history; field names match the job details endpoint
+public record JobExecutionSummary(Long jobExecutionId,
+                                  String jobName,
+                                  String status,
+                                  LocalDateTime createTime,
+                                  LocalDateTime startTime,
+                                  LocalDateTime endTime,
+                                  String exitCode,
+                                  String exitDescription,
+                                  List<StepProgress> stepExecutions) {
+}
@@ -0,0 +1,29 @@
+package com.example.Spring_batch_demo.dto;
+
+import org.springframework.batch.core.JobExecution;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+// Snapshot of a job execution and all of its steps, sent when a viewer connects and when the job ends
+public record JobProgress(Long jobExecutionId,
+                          String jobName,
+                          String status,
+                          LocalDateTime startTime,
+                          LocalDateTime endTime,
+                          String exitCode,
+                          String exitDescription,
+                          List<StepProgress> stepExecutions) {
+
+    public static JobProgress of(JobExecution jobExecution) {
+        return new JobProgress(
+                jobExecution.getId(),
+                jobExecution.getJobInstance().getJobName(),
+                jobExecution.getStatus().toString(),
+                jobExecution.getStartTime(),
+                jobExecution.getEndTime(),
+                jobExecution.getExitStatus().getExitCode(),
+                jobExecution.getExitStatus().getExitDescription(),
+                jobExecution.getStepExecutions().stream().map(StepProgress::of).toList());
+    }
+}
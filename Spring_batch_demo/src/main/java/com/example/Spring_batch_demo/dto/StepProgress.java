@@ -0,0 +1,30 @@
+package com.example.Spring_batch_demo.dto;
+
+import org.springframework.batch.core.StepExecution;
+
+// Counters of one step execution as of its last committed chunk; field names match the job details endpoint
+public record StepProgress(Long jobExecutionId,
+                           Long stepExecutionId,
+                           String stepName,
+                           String status,
+                           long readCount,
+                           long writeCount,
+                           long filterCount,
+                           long skipCount,
+                           long commitCount,
+                           long rollbackCount) {
+
+    public static StepProgress of(StepExecution stepExecution) {
+        return new StepProgress(
+                stepExecution.getJobExecutionId(),
+                stepExecution.getId(),
+                stepExecution.getStepName(),
+                stepExecution.getStatus().toString(),
+                stepExecution.getReadCount(),
+                stepExecution.getWriteCount(),
+                stepExecution.getFilterCount(),
+                stepExecution.getSkipCount(),
+                stepExecution.getCommitCount(),
+                stepExecution.getRollbackCount());
+    }
+}
@@ -4,11 +4,16 @@ import jakarta.persistence.*;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "customers")
+// (status, id) serves the keyset reads of failedCustomerReprocessingJob without scanning the table
+@Table(name = "customers", indexes = @Index(name = "idx_customers_status_id", columnList = "status, id"))
 public class Customer {
     
+    public static final String ID_SEQUENCE = "customers_seq";
+    public static final int ID_ALLOCATION_SIZE = 50;
+    
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "customer_seq")
+    @SequenceGenerator(name = "customer_seq", sequenceName = ID_SEQUENCE, allocationSize = ID_ALLOCATION_SIZE)
     private Long id;
     
     @Column(name = "first_name")
@@ -26,6 +31,10 @@ public class Customer {
     @Column(name = "city")
     private String city;
     
+    // Filled in from the city by dataEnrichmentStep
+    @Column(name = "region")
+    private String region;
+    
     @Column(name = "processed_at")
     private LocalDateTime processedAt;
     
@@ -94,6 +103,14 @@ public class Customer {
         this.city = city;
     }
     
+    public String getRegion() {
+        return region;
+    }
+    
+    public void setRegion(String region) {
+        this.region = region;
+    }
+    
     public LocalDateTime getProcessedAt() {
         return processedAt;
     }
@@ -119,6 +136,7 @@ public class Customer {
                 ", email='" + email + '\'' +
                 ", age=" + age +
                 ", city='" + city + '\'' +
+                ", region='" + region + '\'' +
                 ", processedAt=" + processedAt +
                 ", status=" + status +
                 '}';
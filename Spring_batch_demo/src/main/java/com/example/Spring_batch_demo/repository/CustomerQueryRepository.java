@@ -0,0 +1,66 @@
+package com.example.Spring_batch_demo.repository;
+
+import com.example.Spring_batch_demo.model.Customer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.List;
+import java.util.function.Consumer;
+
+// Read-only customer listing over plain JDBC, so large reads never go through the persistence context.
+// Pages are keyset-based (id > cursor) and hit the primary key index, so every page costs the same
+// regardless of how deep into the table it is.
+@Repository
+public class CustomerQueryRepository {
+
+    private static final String COLUMNS = "id, first_name, last_name, email, age, city, region, processed_at, status";
+
+    private static final String PAGE_SQL = "SELECT " + COLUMNS + " FROM customers WHERE id > ? ORDER BY id LIMIT ?";
+
+    private static final String ALL_SQL = "SELECT " + COLUMNS + " FROM customers ORDER BY id";
+
+    private static final RowMapper<Customer> CUSTOMER_ROW_MAPPER = CustomerQueryRepository::mapCustomer;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final JdbcTemplate cursorJdbcTemplate;
+
+    public CustomerQueryRepository(JdbcTemplate jdbcTemplate,
+                                   @Value("${batch.customers.stream-fetch-size:500}") int streamFetchSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        // Forward-only cursor fetching a fixed number of rows per round trip
+        this.cursorJdbcTemplate = new JdbcTemplate(jdbcTemplate.getDataSource());
+        this.cursorJdbcTemplate.setFetchSize(streamFetchSize);
+    }
+
+    public List<Customer> findPageAfter(long afterId, int size) {
+        return jdbcTemplate.query(PAGE_SQL, CUSTOMER_ROW_MAPPER, afterId, size);
+    }
+
+    // Hands every customer to the consumer one row at a time, in id order; nothing is retained
+    public void forEachCustomer(Consumer<Customer> consumer) {
+        cursorJdbcTemplate.query(ALL_SQL, rs -> {
+            consumer.accept(mapCustomer(rs, rs.getRow()));
+        });
+    }
+
+    private static Customer mapCustomer(ResultSet rs, int rowNum) throws SQLException {
+        Customer customer = new Customer();
+        customer.setId(rs.getLong("id"));
+        customer.setFirstName(rs.getString("first_name"));
+        customer.setLastName(rs.getString("last_name"));
+        customer.setEmail(rs.getString("email"));
+        customer.setAge(rs.getObject("age", Integer.class));
+        customer.setCity(rs.getString("city"));
+        customer.setRegion(rs.getString("region"));
+        Timestamp processedAt = rs.getTimestamp("processed_at");
+        customer.setProcessedAt(processedAt != null ? processedAt.toLocalDateTime() : null);
+        String status = rs.getString("status");
+        customer.setStatus(status != null ? Customer.CustomerStatus.valueOf(status) : null);
+        return customer;
+    }
+}
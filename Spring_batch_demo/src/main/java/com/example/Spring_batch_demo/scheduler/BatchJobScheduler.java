@@ -1,6 +1,7 @@
 package com.example.Spring_batch_demo.scheduler;
 
 import com.example.Spring_batch_demo.service.BatchJobService;
+import com.example.Spring_batch_demo.service.LaunchPriority;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.batch.core.JobExecution;
@@ -31,8 +32,8 @@ public class BatchJobScheduler {
             parameters.put("scheduledRun", "true");
             parameters.put("trigger", "scheduled");
             
-            JobExecution jobExecution = batchJobService.runImportCustomerJob(parameters);
-            logger.info("Scheduled job started with execution id: {}", jobExecution.getId());
+            JobExecution jobExecution = batchJobService.submitImportCustomerJob(parameters, LaunchPriority.SCHEDULED);
+            logger.info("Scheduled job queued with execution id: {}", jobExecution.getId());
             
         } catch (Exception e) {
             logger.error("Error running scheduled import job", e);
@@ -49,8 +50,8 @@ public class BatchJobScheduler {
             parameters.put("dailyRun", "true");
             parameters.put("trigger", "daily-schedule");
             
-            JobExecution jobExecution = batchJobService.runComplexDataProcessingJob(parameters);
-            logger.info("Daily scheduled job started with execution id: {}", jobExecution.getId());
+            JobExecution jobExecution = batchJobService.submitComplexDataProcessingJob(parameters, LaunchPriority.SCHEDULED);
+            logger.info("Daily scheduled job queued with execution id: {}", jobExecution.getId());
             
         } catch (Exception e) {
             logger.error("Error running daily scheduled job", e);
@@ -21,15 +21,27 @@ public class BatchJobService {
     private static final Logger logger = LoggerFactory.getLogger(BatchJobService.class);
     
     private final JobLauncher jobLauncher;
+    private final JobAdmissionQueue jobAdmissionQueue;
     private final Job importCustomerJob;
     private final Job complexDataProcessingJob;
+    private final Job deadLetterReplayJob;
+    private final Job failedCustomerReprocessingJob;
+    private final Job remoteChunkingImportJob;
     
     public BatchJobService(JobLauncher jobLauncher,
+                          JobAdmissionQueue jobAdmissionQueue,
                           @Qualifier("importCustomerJob") Job importCustomerJob,
-                          @Qualifier("complexDataProcessingJob") Job complexDataProcessingJob) {
+                          @Qualifier("complexDataProcessingJob") Job complexDataProcessingJob,
+                          @Qualifier("deadLetterReplayJob") Job deadLetterReplayJob,
+                          @Qualifier("failedCustomerReprocessingJob") Job failedCustomerReprocessingJob,
+                          @Qualifier("remoteChunkingImportJob") Job remoteChunkingImportJob) {
         this.jobLauncher = jobLauncher;
+        this.jobAdmissionQueue = jobAdmissionQueue;
         this.importCustomerJob = importCustomerJob;
         this.complexDataProcessingJob = complexDataProcessingJob;
+        this.deadLetterReplayJob = deadLetterReplayJob;
+        this.failedCustomerReprocessingJob = failedCustomerReprocessingJob;
+        this.remoteChunkingImportJob = remoteChunkingImportJob;
     }
     
     public JobExecution runImportCustomerJob() {
@@ -74,6 +86,42 @@ public class BatchJobService {
         }
     }
     
+    // Queues the job and returns its execution (still STARTING) without waiting for it to run;
+    // throws JobAdmissionRejectedException when the admission queue is full
+    public JobExecution submitImportCustomerJob(Map<String, String> parameters, LaunchPriority priority) {
+        return submit(importCustomerJob, parameters, priority);
+    }
+    
+    public JobExecution submitComplexDataProcessingJob(Map<String, String> parameters, LaunchPriority priority) {
+        return submit(complexDataProcessingJob, parameters, priority);
+    }
+    
+    public JobExecution submitDeadLetterReplayJob(Map<String, String> parameters, LaunchPriority priority) {
+        return submit(deadLetterReplayJob, parameters, priority);
+    }
+    
+    public JobExecution submitFailedCustomerReprocessingJob(Map<String, String> parameters, LaunchPriority priority) {
+        return submit(failedCustomerReprocessingJob, parameters, priority);
+    }
+    
+    public JobExecution submitRemoteChunkingImportJob(Map<String, String> parameters, LaunchPriority priority) {
+        return submit(remoteChunkingImportJob, parameters, priority);
+    }
+    
+    private JobExecution submit(Job job, Map<String, String> parameters, LaunchPriority priority) {
+        logger.info("Submitting {} with parameters: {}", job.getName(), parameters);
+        
+        try {
+            JobParameters jobParameters = createJobParameters(parameters);
+            return jobAdmissionQueue.submit(job, jobParameters, priority);
+            
+        } catch (JobExecutionAlreadyRunningException | JobRestartException | 
+                 JobInstanceAlreadyCompleteException | JobParametersInvalidException e) {
+            logger.error("Error submitting {}", job.getName(), e);
+            throw new RuntimeException("Failed to start job", e);
+        }
+    }
+    
     private JobParameters createJobParameters(Map<String, String> parameters) {
         JobParametersBuilder builder = new JobParametersBuilder();
         
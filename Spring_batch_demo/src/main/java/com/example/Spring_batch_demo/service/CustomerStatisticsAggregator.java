@@ -0,0 +1,191 @@
+package com.example.Spring_batch_demo.service;
+
+import com.example.Spring_batch_demo.model.Customer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+// In-memory customer counts by status and city, so statistics reads never scan the table. Seeded from
+// the database once the application is ready, then kept current by the writers, which report each
+// chunk's customers and have them counted only after the chunk's transaction commits. A periodic
+// reconciliation recounts from the database and replaces the counters to correct any drift (rows
+// changed outside the writers, or writes racing a previous reconciliation).
+@Component
+public class CustomerStatisticsAggregator {
+
+    private static final Logger logger = LoggerFactory.getLogger(CustomerStatisticsAggregator.class);
+
+    // ConcurrentHashMap keys cannot be null
+    private static final String NO_CITY = "";
+
+    private static final String COUNT_SQL =
+            "SELECT status, city, COUNT(*) FROM customers GROUP BY status, city";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private volatile Counters counters = new Counters();
+
+    public CustomerStatisticsAggregator(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void seed() {
+        counters = countFromDatabase();
+        logger.info("Customer statistics seeded: {} customers", getTotal());
+    }
+
+    @Scheduled(fixedDelayString = "${batch.stats.reconcile-interval-ms:300000}",
+               initialDelayString = "${batch.stats.reconcile-interval-ms:300000}")
+    public void reconcile() {
+        Counters recounted = countFromDatabase();
+        long before = getTotal();
+        counters = recounted;
+        long after = recounted.total.sum();
+        if (before != after) {
+            logger.warn("Customer statistics drifted by {} customers; reconciled to {}", before - after, after);
+        } else {
+            logger.debug("Customer statistics reconciled: {} customers", after);
+        }
+    }
+
+    // Counts newly inserted customers once the surrounding transaction commits (immediately without one)
+    public void recordInserted(Iterable<? extends Customer> customers) {
+        recordDeltas(List.of(), customers);
+    }
+
+    // Moves the counts of overwritten rows (as they were before the write) to the rows that replaced them;
+    // the total only changes if previous and current differ in size
+    public void recordReplaced(Iterable<? extends Customer> previous, Iterable<? extends Customer> current) {
+        recordDeltas(previous, current);
+    }
+
+    // Moves count customers from one status to another once the surrounding transaction commits
+    public void recordStatusChange(Customer.CustomerStatus from, Customer.CustomerStatus to, long count) {
+        if (count == 0 || from == to) {
+            return;
+        }
+        afterCommit(() -> {
+            Counters current = counters;
+            if (from != null) {
+                current.byStatus.get(from).add(-count);
+            }
+            if (to != null) {
+                current.byStatus.get(to).add(count);
+            }
+        });
+    }
+
+    public void recordCleared() {
+        afterCommit(() -> counters = new Counters());
+    }
+
+    public long getTotal() {
+        return counters.total.sum();
+    }
+
+    public long getCount(Customer.CustomerStatus status) {
+        return counters.byStatus.get(status).sum();
+    }
+
+    // City name to customer count, sorted by city; customers without a city are not included
+    public Map<String, Long> getCountsByCity() {
+        Map<String, Long> result = new TreeMap<>();
+        counters.byCity.forEach((city, count) -> {
+            long value = count.sum();
+            if (!city.equals(NO_CITY) && value > 0) {
+                result.put(city, value);
+            }
+        });
+        return result;
+    }
+
+    private void recordDeltas(Iterable<? extends Customer> removed, Iterable<? extends Customer> added) {
+        Map<Customer.CustomerStatus, Long> statusDeltas = new EnumMap<>(Customer.CustomerStatus.class);
+        Map<String, Long> cityDeltas = new HashMap<>();
+        long count = 0;
+        for (Customer customer : removed) {
+            count--;
+            if (customer.getStatus() != null) {
+                statusDeltas.merge(customer.getStatus(), -1L, Long::sum);
+            }
+            cityDeltas.merge(cityKey(customer.getCity()), -1L, Long::sum);
+        }
+        for (Customer customer : added) {
+            count++;
+            if (customer.getStatus() != null) {
+                statusDeltas.merge(customer.getStatus(), 1L, Long::sum);
+            }
+            cityDeltas.merge(cityKey(customer.getCity()), 1L, Long::sum);
+        }
+        long total = count;
+        afterCommit(() -> {
+            Counters current = counters;
+            current.total.add(total);
+            statusDeltas.forEach((status, delta) -> current.byStatus.get(status).add(delta));
+            cityDeltas.forEach((city, delta) -> current.city(city).add(delta));
+        });
+    }
+
+    private Counters countFromDatabase() {
+        Counters recounted = new Counters();
+        jdbcTemplate.query(COUNT_SQL, rs -> {
+            String status = rs.getString(1);
+            long count = rs.getLong(3);
+            recounted.total.add(count);
+            if (status != null) {
+                recounted.byStatus.get(Customer.CustomerStatus.valueOf(status)).add(count);
+            }
+            recounted.city(cityKey(rs.getString(2))).add(count);
+        });
+        return recounted;
+    }
+
+    private static String cityKey(String city) {
+        return city != null ? city : NO_CITY;
+    }
+
+    private static void afterCommit(Runnable update) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            update.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                update.run();
+            }
+        });
+    }
+
+    private static final class Counters {
+
+        private final LongAdder total = new LongAdder();
+        private final Map<Customer.CustomerStatus, LongAdder> byStatus = new EnumMap<>(Customer.CustomerStatus.class);
+        private final Map<String, LongAdder> byCity = new ConcurrentHashMap<>();
+
+        Counters() {
+            for (Customer.CustomerStatus status : Customer.CustomerStatus.values()) {
+                byStatus.put(status, new LongAdder());
+            }
+        }
+
+        LongAdder city(String city) {
+            return byCity.computeIfAbsent(city, key -> new LongAdder());
+        }
+    }
+}
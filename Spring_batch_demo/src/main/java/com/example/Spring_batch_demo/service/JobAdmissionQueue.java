@@ -0,0 +1,200 @@
+package com.example.Spring_batch_demo.service;
+
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.batch.core.BatchStatus;
+import org.springframework.batch.core.ExitStatus;
+import org.springframework.batch.core.Job;
+import org.springframework.batch.core.JobExecution;
+import org.springframework.batch.core.JobParameters;
+import org.springframework.batch.core.JobParametersInvalidException;
+import org.springframework.batch.core.repository.JobExecutionAlreadyRunningException;
+import org.springframework.batch.core.repository.JobInstanceAlreadyCompleteException;
+import org.springframework.batch.core.repository.JobRepository;
+import org.springframework.batch.core.repository.JobRestartException;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+// Bounded admission queue for asynchronous job launches. submit() creates the JobExecution and returns
+// it straight away; the job itself runs once it is admitted. At most maxConcurrentJobs jobs run at a
+// time, and each job name has its own limit on top of that. Waiting launches are taken lane by lane in
+// LaunchPriority order, oldest first, skipping any whose job name is at its limit. Submissions beyond
+// queueCapacity waiting launches are rejected.
+@Component
+public class JobAdmissionQueue {
+
+    private static final Logger logger = LoggerFactory.getLogger(JobAdmissionQueue.class);
+
+    private final JobRepository jobRepository;
+    private final TaskExecutor taskExecutor;
+    private final int maxConcurrentJobs;
+    private final int queueCapacity;
+    private final int defaultJobConcurrency;
+    private final Map<String, Integer> jobConcurrency;
+
+    private final Map<LaunchPriority, Deque<PendingLaunch>> lanes = new EnumMap<>(LaunchPriority.class);
+    private final Map<String, Integer> runningByJob = new HashMap<>();
+    private int workers;
+    private int queued;
+
+    public JobAdmissionQueue(JobRepository jobRepository,
+                             @Qualifier("jobLaunchTaskExecutor") TaskExecutor taskExecutor,
+                             @Value("${batch.launch.max-concurrent-jobs:2}") int maxConcurrentJobs,
+                             @Value("${batch.launch.queue-capacity:20}") int queueCapacity,
+                             @Value("${batch.launch.default-job-concurrency:1}") int defaultJobConcurrency,
+                             @Value("#{${batch.launch.job-concurrency:{:}}}") Map<String, Integer> jobConcurrency) {
+        this.jobRepository = jobRepository;
+        this.taskExecutor = taskExecutor;
+        this.maxConcurrentJobs = maxConcurrentJobs;
+        this.queueCapacity = queueCapacity;
+        this.defaultJobConcurrency = defaultJobConcurrency;
+        this.jobConcurrency = jobConcurrency;
+        for (LaunchPriority priority : LaunchPriority.values()) {
+            lanes.put(priority, new ArrayDeque<>());
+        }
+    }
+
+    public JobExecution submit(Job job, JobParameters jobParameters, LaunchPriority priority)
+            throws JobExecutionAlreadyRunningException, JobRestartException,
+                   JobInstanceAlreadyCompleteException, JobParametersInvalidException {
+        reserveSlot(job.getName());
+        JobExecution jobExecution;
+        try {
+            job.getJobParametersValidator().validate(jobParameters);
+            jobExecution = jobRepository.createJobExecution(job.getName(), jobParameters);
+        } catch (Exception e) {
+            releaseSlot();
+            throw e;
+        }
+
+        PendingLaunch admitted = null;
+        synchronized (this) {
+            lanes.get(priority).addLast(new PendingLaunch(job, jobExecution, priority));
+            if (workers < maxConcurrentJobs) {
+                admitted = pollAdmissible();
+                if (admitted != null) {
+                    workers++;
+                }
+            }
+        }
+        logger.info("Queued {} execution {} ({} priority)", job.getName(), jobExecution.getId(), priority);
+        if (admitted != null) {
+            startWorker(admitted);
+        }
+        return jobExecution;
+    }
+
+    public synchronized int getQueuedCount() {
+        return queued;
+    }
+
+    private synchronized void reserveSlot(String jobName) {
+        if (queued >= queueCapacity) {
+            throw new JobAdmissionRejectedException("Job queue is full (" + queueCapacity
+                    + " waiting launches), rejected " + jobName);
+        }
+        queued++;
+    }
+
+    private synchronized void releaseSlot() {
+        queued--;
+    }
+
+    private void startWorker(PendingLaunch first) {
+        try {
+            taskExecutor.execute(() -> runAdmittedLaunches(first));
+        } catch (RuntimeException e) {
+            synchronized (this) {
+                workers--;
+                runningByJob.merge(first.job().getName(), -1, Integer::sum);
+                lanes.get(first.priority()).addFirst(first);
+                queued++;
+            }
+            logger.error("Could not start a job launch worker; queued launches wait for the next one", e);
+        }
+    }
+
+    // A worker keeps taking admissible launches until none is left, so finishing a job immediately
+    // admits the next one without another hand-off
+    private void runAdmittedLaunches(PendingLaunch first) {
+        for (PendingLaunch launch = first; launch != null; launch = next(launch)) {
+            JobExecution jobExecution = launch.jobExecution();
+            logger.info("Admitted {} execution {}", launch.job().getName(), jobExecution.getId());
+            try {
+                launch.job().execute(jobExecution);
+            } catch (Throwable t) {
+                logger.error("Job {} execution {} failed outside of its own error handling",
+                        launch.job().getName(), jobExecution.getId(), t);
+            }
+        }
+    }
+
+    // Releases the finished launch and takes the next admissible one, or retires the worker
+    private synchronized PendingLaunch next(PendingLaunch finished) {
+        runningByJob.merge(finished.job().getName(), -1, Integer::sum);
+        PendingLaunch launch = pollAdmissible();
+        if (launch == null) {
+            workers--;
+        }
+        return launch;
+    }
+
+    private PendingLaunch pollAdmissible() {
+        for (Deque<PendingLaunch> lane : lanes.values()) {
+            Iterator<PendingLaunch> iterator = lane.iterator();
+            while (iterator.hasNext()) {
+                PendingLaunch launch = iterator.next();
+                if (isAdmissible(launch)) {
+                    iterator.remove();
+                    queued--;
+                    runningByJob.merge(launch.job().getName(), 1, Integer::sum);
+                    return launch;
+                }
+            }
+        }
+        return null;
+    }
+
+    private boolean isAdmissible(PendingLaunch launch) {
+        String jobName = launch.job().getName();
+        int limit = jobConcurrency.getOrDefault(jobName, defaultJobConcurrency);
+        return runningByJob.getOrDefault(jobName, 0) < limit;
+    }
+
+    // Launches still waiting at shutdown would otherwise stay STARTING forever
+    @PreDestroy
+    public void abandonQueuedLaunches() {
+        List<PendingLaunch> abandoned = new ArrayList<>();
+        synchronized (this) {
+            lanes.values().forEach(lane -> {
+                abandoned.addAll(lane);
+                lane.clear();
+            });
+            queued = 0;
+        }
+        for (PendingLaunch launch : abandoned) {
+            JobExecution jobExecution = launch.jobExecution();
+            jobExecution.setStatus(BatchStatus.ABANDONED);
+            jobExecution.setExitStatus(ExitStatus.NOOP.addExitDescription("Not admitted before shutdown"));
+            jobExecution.setEndTime(LocalDateTime.now());
+            jobRepository.update(jobExecution);
+            logger.warn("Abandoned queued {} execution {}", launch.job().getName(), jobExecution.getId());
+        }
+    }
+
+    private record PendingLaunch(Job job, JobExecution jobExecution, LaunchPriority priority) {
+    }
+}
@@ -0,0 +1,8 @@
+package com.example.Spring_batch_demo.service;
+
+public class JobAdmissionRejectedException extends RuntimeException {
+
+    public JobAdmissionRejectedException(String message) {
+        super(message);
+    }
+}
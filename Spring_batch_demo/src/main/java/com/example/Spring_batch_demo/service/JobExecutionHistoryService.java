@@ -0,0 +1,167 @@
+package com.example.Spring_batch_demo.service;
+
+import com.example.Spring_batch_demo.dto.JobExecutionSummary;
+import com.example.Spring_batch_demo.dto.StepProgress;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.LongSupplier;
+
+// Job execution history straight from the batch metadata tables, newest first. JobExplorer can only
+// load every execution and page in memory; here a page is a keyset query (JOB_EXECUTION_ID < cursor)
+// that walks the primary key (or the status index) backwards and stops after one page. Execution ids
+// come from a sequence when the execution is created, so id order is CREATE_TIME order. Step rows for
+// the whole page are loaded with one IN query. Totals need a full count, so they are cached briefly.
+@Service
+public class JobExecutionHistoryService {
+
+    private static final String EXECUTION_SQL =
+            "SELECT e.JOB_EXECUTION_ID, i.JOB_NAME, e.STATUS, e.CREATE_TIME, e.START_TIME, e.END_TIME, "
+                    + "e.EXIT_CODE, e.EXIT_MESSAGE "
+                    + "FROM BATCH_JOB_EXECUTION e JOIN BATCH_JOB_INSTANCE i ON i.JOB_INSTANCE_ID = e.JOB_INSTANCE_ID "
+                    + "WHERE e.JOB_EXECUTION_ID < ?";
+
+    private static final String COUNT_SQL =
+            "SELECT COUNT(*) FROM BATCH_JOB_EXECUTION e "
+                    + "JOIN BATCH_JOB_INSTANCE i ON i.JOB_INSTANCE_ID = e.JOB_INSTANCE_ID WHERE 1 = 1";
+
+    private static final String STEP_SQL =
+            "SELECT JOB_EXECUTION_ID, STEP_EXECUTION_ID, STEP_NAME, STATUS, READ_COUNT, WRITE_COUNT, FILTER_COUNT, "
+                    + "READ_SKIP_COUNT, WRITE_SKIP_COUNT, PROCESS_SKIP_COUNT, COMMIT_COUNT, ROLLBACK_COUNT "
+                    + "FROM BATCH_STEP_EXECUTION WHERE JOB_EXECUTION_ID IN (%s) "
+                    + "ORDER BY JOB_EXECUTION_ID, STEP_EXECUTION_ID";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final long countCacheTtlMillis;
+    private final LongSupplier clock;
+    private final Map<String, CachedCount> countCache = new ConcurrentHashMap<>();
+
+    @Autowired
+    public JobExecutionHistoryService(JdbcTemplate jdbcTemplate,
+                                      @Value("${batch.history.count-cache-ttl-ms:10000}") long countCacheTtlMillis) {
+        this(jdbcTemplate, countCacheTtlMillis, System::currentTimeMillis);
+    }
+
+    JobExecutionHistoryService(JdbcTemplate jdbcTemplate, long countCacheTtlMillis, LongSupplier clock) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.countCacheTtlMillis = countCacheTtlMillis;
+        this.clock = clock;
+    }
+
+    // Executions with an id below beforeId (null for the latest page), optionally filtered by job name and status
+    public List<JobExecutionSummary> findPage(Long beforeId, int size, String jobName, String status) {
+        StringBuilder sql = new StringBuilder(EXECUTION_SQL);
+        List<Object> args = new ArrayList<>();
+        args.add(beforeId != null ? beforeId : Long.MAX_VALUE);
+        appendFilters(sql, args, jobName, status);
+        sql.append(" ORDER BY e.JOB_EXECUTION_ID DESC LIMIT ?");
+        args.add(size);
+
+        Map<Long, JobExecutionRow> rows = new LinkedHashMap<>();
+        jdbcTemplate.query(sql.toString(), rs -> {
+            JobExecutionRow row = mapExecution(rs);
+            rows.put(row.jobExecutionId, row);
+        }, args.toArray());
+        if (rows.isEmpty()) {
+            return List.of();
+        }
+
+        Map<Long, List<StepProgress>> steps = findSteps(rows.keySet());
+        List<JobExecutionSummary> page = new ArrayList<>(rows.size());
+        for (JobExecutionRow row : rows.values()) {
+            page.add(row.toSummary(steps.getOrDefault(row.jobExecutionId, List.of())));
+        }
+        return page;
+    }
+
+    public long count(String jobName, String status) {
+        String key = jobName + '|' + status;
+        long now = clock.getAsLong();
+        CachedCount cached = countCache.get(key);
+        if (cached != null && cached.expiresAt > now) {
+            return cached.value;
+        }
+        StringBuilder sql = new StringBuilder(COUNT_SQL);
+        List<Object> args = new ArrayList<>();
+        appendFilters(sql, args, jobName, status);
+        Long value = jdbcTemplate.queryForObject(sql.toString(), Long.class, args.toArray());
+        long count = value != null ? value : 0;
+        countCache.put(key, new CachedCount(count, now + countCacheTtlMillis));
+        return count;
+    }
+
+    private Map<Long, List<StepProgress>> findSteps(Iterable<Long> jobExecutionIds) {
+        List<Object> ids = new ArrayList<>();
+        jobExecutionIds.forEach(ids::add);
+        String placeholders = String.join(",", Collections.nCopies(ids.size(), "?"));
+
+        Map<Long, List<StepProgress>> steps = new LinkedHashMap<>();
+        jdbcTemplate.query(String.format(STEP_SQL, placeholders), rs -> {
+            long jobExecutionId = rs.getLong("JOB_EXECUTION_ID");
+            steps.computeIfAbsent(jobExecutionId, id -> new ArrayList<>()).add(new StepProgress(
+                    jobExecutionId,
+                    rs.getLong("STEP_EXECUTION_ID"),
+                    rs.getString("STEP_NAME"),
+                    rs.getString("STATUS"),
+                    rs.getLong("READ_COUNT"),
+                    rs.getLong("WRITE_COUNT"),
+                    rs.getLong("FILTER_COUNT"),
+                    rs.getLong("READ_SKIP_COUNT") + rs.getLong("WRITE_SKIP_COUNT") + rs.getLong("PROCESS_SKIP_COUNT"),
+                    rs.getLong("COMMIT_COUNT"),
+                    rs.getLong("ROLLBACK_COUNT")));
+        }, ids.toArray());
+        return steps;
+    }
+
+    private static void appendFilters(StringBuilder sql, List<Object> args, String jobName, String status) {
+        if (jobName != null && !jobName.isBlank()) {
+            sql.append(" AND i.JOB_NAME = ?");
+            args.add(jobName);
+        }
+        if (status != null && !status.isBlank()) {
+            sql.append(" AND e.STATUS = ?");
+            args.add(status.toUpperCase());
+        }
+    }
+
+    private static JobExecutionRow mapExecution(ResultSet rs) throws SQLException {
+        return new JobExecutionRow(
+                rs.getLong("JOB_EXECUTION_ID"),
+                rs.getString("JOB_NAME"),
+                rs.getString("STATUS"),
+                toLocalDateTime(rs.getTimestamp("CREATE_TIME")),
+                toLocalDateTime(rs.getTimestamp("START_TIME")),
+                toLocalDateTime(rs.getTimestamp("END_TIME")),
+                rs.getString("EXIT_CODE"),
+                rs.getString("EXIT_MESSAGE"));
+    }
+
+    private static LocalDateTime toLocalDateTime(Timestamp timestamp) {
+        return timestamp != null ? timestamp.toLocalDateTime() : null;
+    }
+
+    private record JobExecutionRow(long jobExecutionId, String jobName, String status, LocalDateTime createTime,
+                                   LocalDateTime startTime, LocalDateTime endTime, String exitCode,
+                                   String exitDescription) {
+
+        JobExecutionSummary toSummary(List<StepProgress> steps) {
+            return new JobExecutionSummary(jobExecutionId, jobName, status, createTime, startTime, endTime,
+                    exitCode, exitDescription, steps);
+        }
+    }
+
+    private record CachedCount(long value, long expiresAt) {
+    }
+}
@@ -0,0 +1,7 @@
+package com.example.Spring_batch_demo.service;
+
+// Admission lanes, highest priority first
+public enum LaunchPriority {
+    MANUAL,
+    SCHEDULED
+}
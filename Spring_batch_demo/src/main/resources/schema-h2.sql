@@ -69,4 +69,42 @@ CREATE TABLE BATCH_JOB_EXECUTION_CONTEXT  (
 	SHORT_CONTEXT VARCHAR(2500) NOT NULL,
 	SERIALIZED_CONTEXT CLOB,
 	FOREIGN KEY (JOB_EXECUTION_ID) REFERENCES BATCH_JOB_EXECUTION(JOB_EXECUTION_ID)
-); 
\ No newline at end of file
+); 
+-- Execution history is paged newest first by JOB_EXECUTION_ID, optionally filtered by status or job
+CREATE INDEX IF NOT EXISTS IDX_JOB_EXECUTION_STATUS ON BATCH_JOB_EXECUTION(STATUS, JOB_EXECUTION_ID);
+CREATE INDEX IF NOT EXISTS IDX_JOB_EXECUTION_INSTANCE ON BATCH_JOB_EXECUTION(JOB_INSTANCE_ID, JOB_EXECUTION_ID);
+CREATE INDEX IF NOT EXISTS IDX_STEP_EXECUTION_JOB ON BATCH_STEP_EXECUTION(JOB_EXECUTION_ID, STEP_EXECUTION_ID);
+
+-- Partition work handed from a manager to worker nodes (batch.remote.mode); one row per worker step execution
+CREATE TABLE IF NOT EXISTS BATCH_PARTITION_REQUEST (
+	STEP_EXECUTION_ID BIGINT NOT NULL PRIMARY KEY,
+	JOB_EXECUTION_ID BIGINT NOT NULL,
+	STEP_NAME VARCHAR(100) NOT NULL,
+	ATTEMPT_ID BIGINT NOT NULL,
+	STATUS VARCHAR(10) NOT NULL,
+	WORKER_ID VARCHAR(100),
+	CREATE_TIME TIMESTAMP(9) NOT NULL,
+	CLAIM_TIME TIMESTAMP(9),
+	END_TIME TIMESTAMP(9)
+);
+CREATE INDEX IF NOT EXISTS IDX_PARTITION_REQUEST_STATUS ON BATCH_PARTITION_REQUEST(STATUS, STEP_EXECUTION_ID);
+
+-- Chunks of read items handed from a remote chunking manager to worker nodes; the worker's reply
+-- (status and counts) is written back to the same row in the transaction that wrote the chunk
+CREATE TABLE IF NOT EXISTS BATCH_CHUNK_REQUEST (
+	STEP_EXECUTION_ID BIGINT NOT NULL,
+	SEQUENCE BIGINT NOT NULL,
+	JOB_EXECUTION_ID BIGINT NOT NULL,
+	ITEMS CLOB NOT NULL,
+	ITEM_COUNT INT NOT NULL,
+	STATUS VARCHAR(10) NOT NULL,
+	WORKER_ID VARCHAR(100),
+	WRITE_COUNT BIGINT,
+	FILTER_COUNT BIGINT,
+	ERROR_MESSAGE VARCHAR(2500),
+	CREATE_TIME TIMESTAMP(9) NOT NULL,
+	CLAIM_TIME TIMESTAMP(9),
+	END_TIME TIMESTAMP(9),
+	PRIMARY KEY (STEP_EXECUTION_ID, SEQUENCE)
+);
+CREATE INDEX IF NOT EXISTS IDX_CHUNK_REQUEST_STATUS ON BATCH_CHUNK_REQUEST(STATUS, STEP_EXECUTION_ID, SEQUENCE);
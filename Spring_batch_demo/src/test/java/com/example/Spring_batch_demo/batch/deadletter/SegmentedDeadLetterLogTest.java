@@ -0,0 +1,122 @@
+package com.example.Spring_batch_demo.batch.deadletter;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SegmentedDeadLetterLogTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void appendsAcrossSegmentsAndReadsBackInOrder() throws IOException {
+        try (SegmentedDeadLetterLog log = new SegmentedDeadLetterLog(directory, 256)) {
+            for (int i = 0; i < 10; i++) {
+                log.append(record(i));
+            }
+            long sealed = log.roll();
+
+            assertTrue(sealed > 1, "records should have spilled into several segments");
+            assertEquals(sealed, segmentFiles());
+            List<DeadLetterRecord> records = readAll(log, sealed);
+            assertEquals(10, records.size());
+            for (int i = 0; i < 10; i++) {
+                assertEquals(record(i), records.get(i));
+            }
+        }
+    }
+
+    @Test
+    void reopenedLogContinuesAfterTheLastRecord() throws IOException {
+        try (SegmentedDeadLetterLog log = new SegmentedDeadLetterLog(directory, 4096)) {
+            log.append(record(0));
+        }
+        try (SegmentedDeadLetterLog log = new SegmentedDeadLetterLog(directory, 4096)) {
+            log.append(record(1));
+            assertEquals(List.of(record(0), record(1)), readAll(log, log.roll()));
+        }
+    }
+
+    @Test
+    void replayReadsOnlySealedSegmentsAndPurgesThem() throws IOException {
+        try (SegmentedDeadLetterLog log = new SegmentedDeadLetterLog(directory, 4096)) {
+            log.append(record(0));
+            long sealed = log.roll();
+            log.append(record(1));
+
+            assertEquals(List.of(record(0)), readAll(log, sealed));
+            log.deleteUpTo(sealed);
+            assertEquals(List.of(record(1)), readAll(log, log.roll()));
+        }
+    }
+
+    @Test
+    void keepsNullFields() throws IOException {
+        DeadLetterRecord record = new DeadLetterRecord(1L, null, -1, "Processing error", "a,b,,,");
+        try (SegmentedDeadLetterLog log = new SegmentedDeadLetterLog(directory, 4096)) {
+            log.append(record);
+            assertEquals(List.of(record), readAll(log, log.roll()));
+        }
+    }
+
+    @Test
+    void lengthRunningPastTheSegmentEndsItsData() throws IOException {
+        try (SegmentedDeadLetterLog log = new SegmentedDeadLetterLog(directory, 4096)) {
+            log.append(record(0));
+            log.append(record(1));
+        }
+        // Corrupt the second record's length as a torn write could
+        Path segment;
+        try (Stream<Path> files = Files.list(directory)) {
+            segment = files.findFirst().orElseThrow();
+        }
+        try (FileChannel channel = FileChannel.open(segment, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            ByteBuffer length = ByteBuffer.allocate(Integer.BYTES);
+            channel.read(length, 0);
+            length.flip();
+            channel.write(ByteBuffer.allocate(Integer.BYTES).putInt(0, 1_000_000), Integer.BYTES + length.getInt());
+        }
+
+        try (SegmentedDeadLetterLog log = new SegmentedDeadLetterLog(directory, 4096)) {
+            assertEquals(List.of(record(0)), readAll(log, 1));
+            // Appending resumes over the corrupt record
+            log.append(record(2));
+            assertEquals(List.of(record(0), record(2)), readAll(log, log.roll()));
+        }
+    }
+
+    private static List<DeadLetterRecord> readAll(SegmentedDeadLetterLog log, long lastSegment) throws IOException {
+        List<DeadLetterRecord> records = new ArrayList<>();
+        try (SegmentedDeadLetterLog.Reader reader = log.reader(lastSegment)) {
+            DeadLetterRecord record;
+            while ((record = reader.next()) != null) {
+                records.add(record);
+            }
+        }
+        return records;
+    }
+
+    private long segmentFiles() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.count();
+        }
+    }
+
+    private static DeadLetterRecord record(int i) {
+        return new DeadLetterRecord(1_700_000_000_000L + i, "importCustomerJob.csvToDbStep", 100L * i,
+                "Validation failed: must be a well-formed email address; ",
+                "Jane,Doe,jane" + i + "-at-example.com,30,Boston");
+    }
+}
@@ -0,0 +1,90 @@
+package com.example.Spring_batch_demo.batch.dedup;
+
+import com.example.Spring_batch_demo.batch.support.StringHash;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EmailHashSetTest {
+
+    @Test
+    void addsEachHashOnce() {
+        EmailHashSet set = new EmailHashSet(100);
+
+        assertTrue(set.add(StringHash.hash("one@example.com")));
+        assertTrue(set.add(StringHash.hash("two@example.com")));
+        assertFalse(set.add(StringHash.hash("one@example.com")));
+        assertEquals(2, set.size());
+    }
+
+    @Test
+    void removedHashCanBeAddedAgain() {
+        EmailHashSet set = new EmailHashSet(100);
+        long hash = StringHash.hash("one@example.com");
+        set.add(hash);
+
+        assertTrue(set.remove(hash));
+        assertFalse(set.remove(hash));
+        assertTrue(set.add(hash));
+        assertFalse(set.add(hash));
+        assertEquals(1, set.size());
+    }
+
+    @Test
+    void reservedSlotValuesAreStillDistinctKeys() {
+        EmailHashSet set = new EmailHashSet(100);
+
+        assertTrue(set.add(0));
+        assertTrue(set.add(1));
+        assertFalse(set.add(0));
+        assertFalse(set.add(1));
+    }
+
+    @Test
+    void concurrentAddsOfOverlappingEmailsSucceedOncePerEmail() throws Exception {
+        EmailHashSet set = new EmailHashSet(20_000);
+        int threads = 8;
+        List<Callable<Integer>> tasks = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            tasks.add(() -> {
+                int added = 0;
+                for (int i = 0; i < 20_000; i++) {
+                    if (set.add(StringHash.hash("customer" + i + "@example.com"))) {
+                        added++;
+                    }
+                }
+                return added;
+            });
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            int total = 0;
+            for (Future<Integer> result : executor.invokeAll(tasks)) {
+                total += result.get();
+            }
+            assertEquals(20_000, total);
+            assertEquals(20_000, set.size());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void fullTableIsReported() {
+        EmailHashSet set = new EmailHashSet(1);
+        long capacity = set.capacity();
+        for (long i = 0; i < capacity; i++) {
+            assertTrue(set.add(StringHash.hash("customer" + i + "@example.com")));
+        }
+
+        assertThrows(IllegalStateException.class, () -> set.add(StringHash.hash("one-more@example.com")));
+    }
+}
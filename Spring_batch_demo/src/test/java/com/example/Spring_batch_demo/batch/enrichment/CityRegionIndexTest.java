@@ -0,0 +1,45 @@
+package com.example.Spring_batch_demo.batch.enrichment;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.core.io.ClassPathResource;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CityRegionIndexTest {
+
+    @Test
+    void looksUpCitiesIgnoringCaseAndSurroundingBlanks() throws Exception {
+        CityRegionIndex index = CityRegionIndex.load(csv("city,region\nSeoul,Capital Area\nBusan,Yeongnam\nDaegu,Yeongnam\n"));
+
+        assertEquals(3, index.size());
+        assertEquals("Capital Area", index.regionOf("Seoul"));
+        assertEquals("Yeongnam", index.regionOf("  BUSAN "));
+        assertEquals("Yeongnam", index.regionOf("daegu"));
+        assertNull(index.regionOf("Incheon"));
+        assertNull(index.regionOf(null));
+    }
+
+    @Test
+    void laterRowsOverrideEarlierOnesForTheSameCity() throws Exception {
+        CityRegionIndex index = CityRegionIndex.load(csv("city,region\nBoston,East\n\nboston,Northeast\nmalformed\n"));
+
+        assertEquals(1, index.size());
+        assertEquals("Northeast", index.regionOf("Boston"));
+    }
+
+    @Test
+    void loadsBundledReferenceData() throws Exception {
+        CityRegionIndex index = CityRegionIndex.load(new ClassPathResource("data/city-regions.csv"));
+
+        assertEquals("Northeast", index.regionOf("Boston"));
+        assertEquals("West", index.regionOf("Salt Lake City"));
+        assertEquals("Midwest", index.regionOf("St. Louis"));
+    }
+
+    private static ByteArrayResource csv(String content) {
+        return new ByteArrayResource(content.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,111 @@
+package com.example.Spring_batch_demo.batch.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.batch.core.BatchStatus;
+import org.springframework.batch.core.JobExecution;
+import org.springframework.batch.core.JobInstance;
+import org.springframework.batch.core.JobParameters;
+import org.springframework.batch.core.StepExecution;
+import org.springframework.batch.core.scope.context.ChunkContext;
+import org.springframework.batch.core.scope.context.StepContext;
+import org.springframework.batch.item.Chunk;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class StepMetricsListenerTest {
+
+    private final MeterRegistry registry = new SimpleMeterRegistry();
+    private final AtomicLong nanos = new AtomicLong();
+    private final StepMetricsListener listener = new StepMetricsListener(registry, nanos::get);
+
+    @Test
+    void timesEachPhaseAndCountsOnlyCommittedChunks() {
+        StepExecution stepExecution = stepExecution("csvToDbStep", 1L);
+        ChunkContext chunkContext = new ChunkContext(new StepContext(stepExecution));
+        listener.beforeStep(stepExecution);
+
+        listener.beforeChunk(chunkContext);
+        for (int i = 0; i < 2; i++) {
+            listener.beforeRead();
+            nanos.addAndGet(1_000_000);
+            listener.afterRead("item");
+            listener.beforeProcess("item");
+            nanos.addAndGet(3_000_000);
+            listener.afterProcess("item", "item");
+        }
+        listener.beforeWrite(Chunk.of("a", "b"));
+        nanos.addAndGet(10_000_000);
+        listener.afterWrite(Chunk.of("a", "b"));
+        listener.afterChunk(chunkContext);
+
+        // A rolled back chunk is timed but its items are not counted as written
+        listener.beforeChunk(chunkContext);
+        listener.beforeWrite(Chunk.of("c"));
+        listener.afterWrite(Chunk.of("c"));
+        nanos.addAndGet(2_000_000);
+        listener.afterChunkError(chunkContext);
+
+        Timer read = timer("batch.item.read", "csvToDbStep", "success");
+        assertEquals(2, read.count());
+        assertEquals(2.0, read.totalTime(TimeUnit.MILLISECONDS), 0.001);
+        assertEquals(6.0, timer("batch.item.process", "csvToDbStep", "success").totalTime(TimeUnit.MILLISECONDS), 0.001);
+        assertEquals(10.0, timer("batch.chunk.write", "csvToDbStep", "success").totalTime(TimeUnit.MILLISECONDS), 0.001);
+        assertEquals(18.0, timer("batch.chunk.duration", "csvToDbStep", "commit").totalTime(TimeUnit.MILLISECONDS), 0.001);
+        assertEquals(1, timer("batch.chunk.duration", "csvToDbStep", "rollback").count());
+        assertEquals(2.0, registry.get("batch.step.items.written").tag("stepName", "csvToDbStep").counter().count());
+        assertEquals(0.2, registry.get("batch.step.rows.per.second").tag("stepName", "csvToDbStep").gauge().value(), 0.001);
+    }
+
+    @Test
+    void partitionsReportUnderTheWorkerStepName() {
+        StepExecution partition0 = stepExecution("customerProcessingStep:partition0", 1L);
+        StepExecution partition1 = stepExecution("customerProcessingStep:partition1", 2L);
+        listener.beforeStep(partition0);
+        listener.beforeStep(partition1);
+
+        for (StepExecution partition : new StepExecution[] {partition0, partition1}) {
+            ChunkContext chunkContext = new ChunkContext(new StepContext(partition));
+            listener.beforeChunk(chunkContext);
+            listener.beforeWrite(Chunk.of("a", "b", "c"));
+            listener.afterWrite(Chunk.of("a", "b", "c"));
+            listener.afterChunk(chunkContext);
+        }
+
+        assertEquals(6.0, registry.get("batch.step.items.written").tag("stepName", "customerProcessingStep").counter().count());
+        assertEquals(2, timer("batch.chunk.duration", "customerProcessingStep", "commit").count());
+    }
+
+    @Test
+    void processingRateIsItemsWrittenPerSecondOfTheStep() {
+        StepExecution stepExecution = stepExecution("csvToDbStep", 1L);
+        LocalDateTime start = LocalDateTime.of(2024, 1, 1, 12, 0);
+        stepExecution.setStartTime(start);
+        stepExecution.setEndTime(start.plusSeconds(4));
+        stepExecution.setWriteCount(1000);
+        stepExecution.setStatus(BatchStatus.COMPLETED);
+
+        listener.beforeStep(stepExecution);
+        listener.afterStep(stepExecution);
+
+        assertEquals(250.0, registry.get("batch.step.processing.rate").tag("stepName", "csvToDbStep").gauge().value(), 0.001);
+        assertEquals(1, registry.get("batch.step.duration").tag("status", "COMPLETED").timer().count());
+    }
+
+    private Timer timer(String name, String stepName, String outcome) {
+        return registry.get(name).tag("stepName", stepName).tag("outcome", outcome).timer();
+    }
+
+    private static StepExecution stepExecution(String stepName, long id) {
+        JobExecution jobExecution = new JobExecution(new JobInstance(1L, "importCustomerJob"), 1L, new JobParameters());
+        StepExecution stepExecution = jobExecution.createStepExecution(stepName);
+        stepExecution.setId(id);
+        return stepExecution;
+    }
+}
@@ -0,0 +1,188 @@
+package com.example.Spring_batch_demo.batch.partitioner;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.batch.core.BatchStatus;
+import org.springframework.batch.core.JobExecution;
+import org.springframework.batch.core.JobParametersBuilder;
+import org.springframework.batch.core.Step;
+import org.springframework.batch.core.StepExecution;
+import org.springframework.batch.core.repository.JobRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+class DynamicPartitionHandlerTest {
+
+    @Autowired
+    private JobRepository jobRepository;
+
+    private final ThreadPoolTaskExecutor taskExecutor = createExecutor();
+
+    @AfterEach
+    void tearDown() {
+        taskExecutor.shutdown();
+    }
+
+    @Test
+    void workersPullSplitsUntilTheQueueIsDrained() throws Exception {
+        Map<Long, AtomicInteger> runs = new ConcurrentHashMap<>();
+        Map<String, AtomicInteger> splitsPerThread = new ConcurrentHashMap<>();
+        Step step = step(split -> {
+            runs.computeIfAbsent(split.getId(), id -> new AtomicInteger()).incrementAndGet();
+            splitsPerThread.computeIfAbsent(Thread.currentThread().getName(), name -> new AtomicInteger()).incrementAndGet();
+            // The first split is a straggler; the other workers should take everything else meanwhile
+            sleep(split.getId() == 0 ? 500 : 10);
+            split.setStatus(BatchStatus.COMPLETED);
+        });
+        Set<StepExecution> splits = splits(32);
+
+        Set<StepExecution> result = new DynamicPartitionHandler(step, taskExecutor, 4, 32).doHandle(managerExecution(), splits);
+
+        assertEquals(splits, result);
+        assertEquals(32, runs.size());
+        assertTrue(runs.values().stream().allMatch(count -> count.get() == 1));
+        assertTrue(result.stream().allMatch(split -> split.getStatus() == BatchStatus.COMPLETED));
+        assertTrue(splitsPerThread.size() <= 4);
+        assertTrue(splitsPerThread.values().stream().anyMatch(count -> count.get() == 1),
+                "the worker holding the straggler should not have taken more splits: " + splitsPerThread);
+    }
+
+    @Test
+    void failedSplitDoesNotStopTheOthers() throws Exception {
+        Step step = step(split -> split.setStatus(split.getId() == 3 ? BatchStatus.FAILED : BatchStatus.COMPLETED));
+
+        Set<StepExecution> result = new DynamicPartitionHandler(step, taskExecutor, 2, 8).doHandle(managerExecution(), splits(8));
+
+        assertEquals(1, result.stream().filter(split -> split.getStatus() == BatchStatus.FAILED).count());
+        assertEquals(7, result.stream().filter(split -> split.getStatus() == BatchStatus.COMPLETED).count());
+    }
+
+    @Test
+    void stopOfTheJobEndsDrainingAndLeavesTheRestUnopened() throws Exception {
+        AtomicInteger executed = new AtomicInteger();
+        Step step = step(split -> {
+            executed.incrementAndGet();
+            // What AbstractStep does on a stop: record the split as STOPPED and return
+            split.setStatus(split.getId() == 2 ? BatchStatus.STOPPED : BatchStatus.COMPLETED);
+        });
+
+        Set<StepExecution> result = new DynamicPartitionHandler(step, taskExecutor, 1, 8).doHandle(managerExecution(), splits(8));
+
+        assertEquals(3, executed.get());
+        assertEquals(2, result.stream().filter(split -> split.getStatus() == BatchStatus.COMPLETED).count());
+        assertEquals(6, result.stream().filter(split -> split.getStatus() == BatchStatus.STOPPED).count());
+    }
+
+    @Test
+    void stragglerIsReplacedByItsSpeculativeCopy() throws Exception {
+        JobExecution jobExecution = jobRepository.createJobExecution("speculationTestJob", new JobParametersBuilder()
+                .addLong("run", System.nanoTime())
+                .toJobParameters());
+        StepExecution manager = jobExecution.createStepExecution("managerStep");
+        jobRepository.add(manager);
+        Set<StepExecution> splits = new HashSet<>();
+        for (int i = 0; i < 8; i++) {
+            StepExecution split = jobExecution.createStepExecution("workerStep:partition" + i);
+            split.getExecutionContext().putInt("partitionNumber", i);
+            jobRepository.add(split);
+            splits.add(split);
+        }
+
+        // partition0's first attempt commits 4 of its 10 items and then stalls until it is cancelled; the
+        // speculative copy writes the remaining 6 and every other split writes 10 quickly
+        Step step = step(split -> {
+            if (split.getStepName().equals("workerStep:partition0")) {
+                split.setReadCount(4);
+                split.setWriteCount(4);
+                jobRepository.update(split);
+                long deadline = System.currentTimeMillis() + 10_000;
+                while (System.currentTimeMillis() < deadline && !split.isTerminateOnly()) {
+                    sleep(5);
+                }
+                split.setStatus(BatchStatus.STOPPED);
+            } else {
+                sleep(20);
+                int remaining = 10 - (int) split.getReadCount();
+                split.setReadCount(split.getReadCount() + remaining);
+                split.setWriteCount(split.getWriteCount() + remaining);
+                split.setStatus(BatchStatus.COMPLETED);
+            }
+            jobRepository.update(split);
+        });
+        DynamicPartitionHandler handler = new DynamicPartitionHandler(step, taskExecutor, 4, 8,
+                new DynamicPartitionHandler.Speculation(jobRepository, 1.5, 0.5, 10));
+
+        long started = System.currentTimeMillis();
+        Set<StepExecution> results = handler.doHandle(manager, splits);
+
+        assertTrue(System.currentTimeMillis() - started < 5_000, "the straggler should not have been waited for");
+        assertEquals(8, results.size());
+        assertTrue(results.stream().allMatch(result -> result.getStatus() == BatchStatus.COMPLETED));
+        StepExecution speculative = results.stream()
+                .filter(result -> result.getStepName().equals("workerStep:partition0:speculative"))
+                .findFirst().orElseThrow();
+        // The copy carries the original's committed counts, so the manager's totals cover the whole input
+        assertEquals(10, speculative.getReadCount());
+        assertEquals(10, speculative.getWriteCount());
+        assertEquals(80, results.stream().mapToLong(StepExecution::getReadCount).sum());
+        assertEquals(80, results.stream().mapToLong(StepExecution::getWriteCount).sum());
+
+        // The stopped original is recorded as completed, so a restart would not run partition0 again
+        StepExecution original = jobRepository.getLastStepExecution(jobExecution.getJobInstance(), "workerStep:partition0");
+        assertEquals(BatchStatus.COMPLETED, original.getStatus());
+    }
+
+    private static Step step(Consumer<StepExecution> body) {
+        return new Step() {
+            @Override
+            public String getName() {
+                return "workerStep";
+            }
+
+            @Override
+            public void execute(StepExecution stepExecution) {
+                body.accept(stepExecution);
+            }
+        };
+    }
+
+    private static StepExecution managerExecution() {
+        return new StepExecution("managerStep", new JobExecution(1L), 100L);
+    }
+
+    private static Set<StepExecution> splits(int count) {
+        JobExecution jobExecution = new JobExecution(1L);
+        Set<StepExecution> splits = new HashSet<>();
+        for (long id = 0; id < count; id++) {
+            splits.add(new StepExecution("workerStep:partition" + id, jobExecution, id));
+        }
+        return splits;
+    }
+
+    private static ThreadPoolTaskExecutor createExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(4);
+        executor.setMaxPoolSize(4);
+        executor.initialize();
+        return executor;
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
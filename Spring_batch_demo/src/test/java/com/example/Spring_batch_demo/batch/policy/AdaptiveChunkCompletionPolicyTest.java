@@ -0,0 +1,79 @@
+package com.example.Spring_batch_demo.batch.policy;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.batch.repeat.RepeatContext;
+import org.springframework.batch.repeat.RepeatStatus;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AdaptiveChunkCompletionPolicyTest {
+
+    private long now;
+
+    @Test
+    void fastChunksGrowUpToMaxSize() {
+        AdaptiveChunkCompletionPolicy policy = policy(10, 40);
+
+        for (int i = 0; i < 10; i++) {
+            runChunk(policy, policy.getCurrentSize().get(), 1); // 1ms per item, well under the 100ms target
+        }
+
+        assertEquals(40, policy.getCurrentSize().get());
+    }
+
+    @Test
+    void slowChunksShrinkTowardsTargetLatency() {
+        AdaptiveChunkCompletionPolicy policy = policy(10, 100);
+        policy.getCurrentSize().set(100);
+
+        runChunk(policy, 100, 4); // 400ms against a 100ms target
+
+        assertEquals(25, policy.getCurrentSize().get());
+    }
+
+    @Test
+    void growthThatLowersThroughputIsUndone() {
+        AdaptiveChunkCompletionPolicy policy = policy(10, 100);
+
+        runChunk(policy, 10, 1);
+        assertEquals(15, policy.getCurrentSize().get());
+
+        runChunk(policy, 15, 5); // still under target, but far fewer items per second
+        assertEquals(10, policy.getCurrentSize().get());
+    }
+
+    @Test
+    void partialChunksDoNotResize() {
+        AdaptiveChunkCompletionPolicy policy = policy(10, 40);
+
+        runChunk(policy, 3, 1);
+
+        assertEquals(10, policy.getCurrentSize().get());
+    }
+
+    @Test
+    void equalBoundsKeepFixedSize() {
+        AdaptiveChunkCompletionPolicy policy = new AdaptiveChunkCompletionPolicy("step", 25, 10, 10, 100, () -> now);
+
+        RepeatContext context = runChunk(policy, 10, 1);
+
+        assertTrue(policy.isComplete(context));
+        assertEquals(10, policy.getCurrentSize().get());
+    }
+
+    private AdaptiveChunkCompletionPolicy policy(int minSize, int maxSize) {
+        return new AdaptiveChunkCompletionPolicy("step", minSize, minSize, maxSize, 100, () -> now);
+    }
+
+    private RepeatContext runChunk(AdaptiveChunkCompletionPolicy policy, int items, long millisPerItem) {
+        policy.beforeChunk(null);
+        RepeatContext context = policy.start(null);
+        for (int i = 0; i < items; i++) {
+            assertFalse(policy.isComplete(context, RepeatStatus.CONTINUABLE));
+            policy.update(context);
+            now += millisPerItem * 1_000_000L;
+        }
+        policy.afterChunk(null);
+        return context;
+    }
+}
@@ -0,0 +1,106 @@
+package com.example.Spring_batch_demo.batch.processor;
+
+import com.example.Spring_batch_demo.batch.writer.CustomerJdbcItemWriter;
+import com.example.Spring_batch_demo.batch.writer.CustomerMergeItemWriter;
+import com.example.Spring_batch_demo.dto.CustomerCSV;
+import com.example.Spring_batch_demo.model.Customer;
+import com.example.Spring_batch_demo.repository.CustomerRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.batch.core.BatchStatus;
+import org.springframework.batch.core.JobExecution;
+import org.springframework.batch.core.JobParametersBuilder;
+import org.springframework.batch.core.job.builder.JobBuilder;
+import org.springframework.batch.core.launch.JobLauncher;
+import org.springframework.batch.core.repository.JobRepository;
+import org.springframework.batch.core.step.builder.StepBuilder;
+import org.springframework.batch.item.ItemProcessor;
+import org.springframework.batch.item.ItemWriter;
+import org.springframework.batch.item.support.ListItemReader;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+class FusedCustomerProcessorTest {
+
+    @Autowired
+    @Qualifier("fusedCustomerProcessor")
+    private ItemProcessor<CustomerCSV, Customer> fusedCustomerProcessor;
+
+    @Autowired
+    private CustomerJdbcItemWriter jdbcWriter;
+
+    @Autowired
+    private CustomerMergeItemWriter mergeWriter;
+
+    @Autowired
+    private JobLauncher jobLauncher;
+
+    @Autowired
+    private JobRepository jobRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Test
+    void validCustomerLeavesTheImportValidatedAndEnriched() throws Exception {
+        Customer customer = fusedCustomerProcessor.process(
+                new CustomerCSV(" jane ", "DOE", "Jane.Doe@Example.com", "34", "boston"));
+
+        assertNotNull(customer);
+        assertEquals("Jane", customer.getFirstName());
+        assertEquals("jane.doe@example.com", customer.getEmail());
+        assertEquals(Customer.CustomerStatus.VALIDATED, customer.getStatus());
+        assertEquals("Northeast", customer.getRegion());
+    }
+
+    @Test
+    void invalidCustomerIsStillEnrichedButFailed() throws Exception {
+        Customer customer = fusedCustomerProcessor.process(
+                new CustomerCSV("John", "Smith", "john.smith@example.com", "", "Chicago"));
+
+        assertNotNull(customer);
+        assertEquals(Customer.CustomerStatus.FAILED, customer.getStatus());
+        assertEquals("Midwest", customer.getRegion());
+    }
+
+    @Test
+    void fusedImportStoresTheRegionWithTheJdbcAndMergeWriters() throws Exception {
+        customerRepository.deleteAll();
+        List<CustomerCSV> input = List.of(
+                new CustomerCSV("Jane", "Doe", "jane.doe@example.com", "34", "Boston"),
+                new CustomerCSV("John", "Smith", "john.smith@example.com", "", "Chicago"));
+
+        runFusedImport(jdbcWriter, input);
+        assertEquals("Northeast", customerRepository.findByEmail("jane.doe@example.com").orElseThrow().getRegion());
+        assertEquals("Midwest", customerRepository.findByEmail("john.smith@example.com").orElseThrow().getRegion());
+
+        // Merging over the stored rows refreshes the region along with the city
+        runFusedImport(mergeWriter, List.of(new CustomerCSV("Jane", "Doe", "jane.doe@example.com", "34", "Chicago")));
+        Customer merged = customerRepository.findByEmail("jane.doe@example.com").orElseThrow();
+        assertEquals("Midwest", merged.getRegion());
+        assertEquals(Customer.CustomerStatus.VALIDATED, merged.getStatus());
+    }
+
+    // fusedCsvToDbStep as configured, with the input and writer mode chosen by the test
+    private void runFusedImport(ItemWriter<Customer> writer, List<CustomerCSV> input) throws Exception {
+        JobExecution execution = jobLauncher.run(new JobBuilder("fusedImportTestJob", jobRepository)
+                        .start(new StepBuilder("fusedCsvToDbStep", jobRepository)
+                                .<CustomerCSV, Customer>chunk(10, transactionManager)
+                                .reader(new ListItemReader<>(input))
+                                .processor(fusedCustomerProcessor)
+                                .writer(writer)
+                                .build())
+                        .build(),
+                new JobParametersBuilder().addLong("run", System.nanoTime()).toJobParameters());
+        assertEquals(BatchStatus.COMPLETED, execution.getStatus());
+    }
+}
@@ -0,0 +1,97 @@
+package com.example.Spring_batch_demo.batch.progress;
+
+import com.example.Spring_batch_demo.dto.StepProgress;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.batch.core.BatchStatus;
+import org.springframework.batch.core.JobExecution;
+import org.springframework.batch.core.JobInstance;
+import org.springframework.batch.core.JobParameters;
+import org.springframework.batch.core.StepExecution;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JobProgressPublisherTest {
+
+    private final JobProgressPublisher publisher = new JobProgressPublisher(
+            new ObjectMapper().registerModule(new JavaTimeModule()), 60_000);
+
+    @AfterEach
+    void shutdown() {
+        publisher.shutdown();
+    }
+
+    @Test
+    void streamsSnapshotStepUpdatesAndFinalJobEvent() throws Exception {
+        JobExecution jobExecution = new JobExecution(new JobInstance(1L, "importCustomerJob"), 7L, new JobParameters());
+        jobExecution.setStatus(BatchStatus.STARTED);
+        StepExecution stepExecution = jobExecution.createStepExecution("csvToDbStep");
+        stepExecution.setId(11L);
+
+        RecordingEmitter emitter = new RecordingEmitter();
+        publisher.subscribe(jobExecution, emitter);
+        awaitEvents(emitter, 1);
+
+        stepExecution.setReadCount(10);
+        stepExecution.setWriteCount(10);
+        stepExecution.setCommitCount(1);
+        publisher.publishStep(StepProgress.of(stepExecution));
+        awaitEvents(emitter, 2);
+
+        jobExecution.setStatus(BatchStatus.COMPLETED);
+        publisher.publishJobEnd(jobExecution);
+        assertTrue(emitter.completed.await(5, TimeUnit.SECONDS));
+
+        List<String> names = emitter.events.stream().map(event -> event.split("\n")[0]).collect(Collectors.toList());
+        assertEquals(List.of("event:job", "event:step", "event:job"), names);
+        assertTrue(emitter.events.get(1).contains("\"readCount\":10"));
+        assertTrue(emitter.events.get(2).contains("\"status\":\"COMPLETED\""));
+    }
+
+    @Test
+    void finishedJobGetsSnapshotAndClosedStream() throws Exception {
+        JobExecution jobExecution = new JobExecution(new JobInstance(1L, "importCustomerJob"), 8L, new JobParameters());
+        jobExecution.setStatus(BatchStatus.COMPLETED);
+
+        RecordingEmitter emitter = new RecordingEmitter();
+        publisher.subscribe(jobExecution, emitter);
+
+        assertTrue(emitter.completed.await(5, TimeUnit.SECONDS));
+        assertEquals(1, emitter.events.size());
+    }
+
+    private void awaitEvents(RecordingEmitter emitter, int count) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (emitter.events.size() < count && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertEquals(count, emitter.events.size());
+    }
+
+    private static class RecordingEmitter extends SseEmitter {
+
+        final List<String> events = new CopyOnWriteArrayList<>();
+        final CountDownLatch completed = new CountDownLatch(1);
+
+        @Override
+        public void send(SseEventBuilder builder) {
+            events.add(builder.build().stream()
+                    .map(data -> data.getData().toString())
+                    .collect(Collectors.joining()));
+        }
+
+        @Override
+        public synchronized void complete() {
+            completed.countDown();
+        }
+    }
+}
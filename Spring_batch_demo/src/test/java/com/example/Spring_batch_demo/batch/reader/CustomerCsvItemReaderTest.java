@@ -0,0 +1,102 @@
+package com.example.Spring_batch_demo.batch.reader;
+
+import com.example.Spring_batch_demo.dto.CustomerCSV;
+import com.github.luben.zstd.ZstdOutputStream;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.batch.item.ExecutionContext;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+
+import java.io.ByteArrayOutputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.zip.GZIPOutputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CustomerCsvItemReaderTest {
+
+    private static final int CUSTOMERS = 50;
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void readsPlainGzipAndZstdInput() throws Exception {
+        byte[] csv = customersCsv();
+
+        assertReadsAll(new ByteArrayResource(csv));
+        assertReadsAll(new ByteArrayResource(compress(csv, GZIPOutputStream::new)));
+        assertReadsAll(new ByteArrayResource(compress(csv, ZstdOutputStream::new)));
+    }
+
+    @Test
+    void restartResumesFromCheckpointedOffset() throws Exception {
+        Path file = tempDir.resolve("customers.csv.gz");
+        Files.write(file, compress(customersCsv(), GZIPOutputStream::new));
+        Resource resource = new FileSystemResource(file);
+
+        ExecutionContext executionContext = new ExecutionContext();
+        CustomerCsvItemReader reader = reader(resource);
+        reader.open(executionContext);
+        for (int i = 0; i < 17; i++) {
+            reader.read();
+        }
+        reader.update(executionContext);
+        reader.close();
+
+        CustomerCsvItemReader restarted = reader(resource);
+        restarted.open(executionContext);
+        assertEquals("user17@example.com", restarted.read().getEmail());
+        int remaining = 1;
+        while (restarted.read() != null) {
+            remaining++;
+        }
+        restarted.close();
+        assertEquals(CUSTOMERS - 17, remaining);
+    }
+
+    private void assertReadsAll(Resource resource) throws Exception {
+        CustomerCsvItemReader reader = reader(resource);
+        reader.open(new ExecutionContext());
+        for (int i = 0; i < CUSTOMERS; i++) {
+            CustomerCSV customer = reader.read();
+            assertEquals("user" + i + "@example.com", customer.getEmail());
+        }
+        assertNull(reader.read());
+        reader.close();
+    }
+
+    private CustomerCsvItemReader reader(Resource resource) {
+        CustomerCsvItemReader reader = new CustomerCsvItemReader();
+        reader.setResource(resource);
+        return reader;
+    }
+
+    private byte[] customersCsv() {
+        StringBuilder content = new StringBuilder("first_name,last_name,email,age,city\n");
+        for (int i = 0; i < CUSTOMERS; i++) {
+            content.append("First").append(i).append(",Last,user").append(i).append("@example.com,30,City\r\n");
+            if (i % 10 == 0) {
+                content.append('\n'); // blank lines are ignored
+            }
+        }
+        return content.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    private byte[] compress(byte[] data, CompressorFactory factory) throws Exception {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (OutputStream out = factory.create(bytes)) {
+            out.write(data);
+        }
+        return bytes.toByteArray();
+    }
+
+    private interface CompressorFactory {
+        OutputStream create(OutputStream out) throws Exception;
+    }
+}
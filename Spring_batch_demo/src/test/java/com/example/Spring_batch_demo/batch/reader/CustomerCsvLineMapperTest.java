@@ -0,0 +1,52 @@
+package com.example.Spring_batch_demo.batch.reader;
+
+import com.example.Spring_batch_demo.dto.CustomerCSV;
+import org.junit.jupiter.api.Test;
+import org.springframework.batch.item.file.mapping.BeanWrapperFieldSetMapper;
+import org.springframework.batch.item.file.mapping.DefaultLineMapper;
+import org.springframework.batch.item.file.transform.DelimitedLineTokenizer;
+import org.springframework.batch.item.file.transform.IncorrectTokenCountException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CustomerCsvLineMapperTest {
+
+    private final CustomerCsvLineMapper mapper = new CustomerCsvLineMapper();
+
+    @Test
+    void matchesDelimitedMapping() throws Exception {
+        DefaultLineMapper<CustomerCSV> delimited = new DefaultLineMapper<>();
+        DelimitedLineTokenizer tokenizer = new DelimitedLineTokenizer();
+        tokenizer.setNames("first_name", "last_name", "email", "age", "city");
+        BeanWrapperFieldSetMapper<CustomerCSV> fieldSetMapper = new BeanWrapperFieldSetMapper<>();
+        fieldSetMapper.setTargetType(CustomerCSV.class);
+        delimited.setLineTokenizer(tokenizer);
+        delimited.setFieldSetMapper(fieldSetMapper);
+
+        String[] lines = {
+                "John,Doe,john.doe@example.com,35,New York",
+                "\"Mary Ann\",\"O\"\"Brien\",mary@example.com,61,\"Portland, OR\"",
+                "Ann,,ann@example.com,,",
+                "\"\",Lee,lee@example.com,40,\"\"\"Quoted\"\"\""
+        };
+        for (String line : lines) {
+            assertEquals(delimited.mapLine(line, 1).toString(), mapper.mapLine(line, 1).toString(), line);
+        }
+    }
+
+    @Test
+    void quotedFieldsKeepDelimitersAndEscapes() throws Exception {
+        CustomerCSV customer = mapper.mapLine("\"Mary Ann\",\"O\"\"Brien\",mary@example.com,61,\"Portland, OR\"", 1);
+
+        assertEquals("Mary Ann", customer.getFirstName());
+        assertEquals("O\"Brien", customer.getLastName());
+        assertEquals("61", customer.getAge());
+        assertEquals("Portland, OR", customer.getCity());
+    }
+
+    @Test
+    void rejectsWrongFieldCount() {
+        assertThrows(IncorrectTokenCountException.class, () -> mapper.mapLine("a,b,c,d", 1));
+        assertThrows(IncorrectTokenCountException.class, () -> mapper.mapLine("a,b,c,d,e,f", 1));
+    }
+}
@@ -0,0 +1,89 @@
+package com.example.Spring_batch_demo.batch.reader;
+
+import com.example.Spring_batch_demo.dto.CustomerCSV;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.batch.item.ExecutionContext;
+import org.springframework.batch.item.file.LineMapper;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MappedCsvRangeItemReaderTest {
+
+    private static final LineMapper<CustomerCSV> LINE_MAPPER = (line, lineNumber) -> {
+        String[] fields = line.split(",", -1);
+        return new CustomerCSV(fields[0], fields[1], fields[2], fields[3], fields[4]);
+    };
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void rangesCoverEveryLineExactlyOnce() throws Exception {
+        Path file = writeCustomers(500);
+
+        List<long[]> ranges = CsvByteRangeSplitter.split(file, 7, true);
+        assertEquals(7, ranges.size());
+
+        List<String> emails = new ArrayList<>();
+        long previousEnd = -1;
+        for (long[] range : ranges) {
+            if (previousEnd >= 0) {
+                assertEquals(previousEnd, range[0]);
+            }
+            previousEnd = range[1];
+
+            MappedCsvRangeItemReader reader = new MappedCsvRangeItemReader(file, range[0], range[1], LINE_MAPPER);
+            reader.setWindowSize(64); // force frequent remapping across line boundaries
+            reader.open(new ExecutionContext());
+            CustomerCSV customer;
+            while ((customer = reader.read()) != null) {
+                emails.add(customer.getEmail());
+            }
+            reader.close();
+        }
+        assertEquals(Files.size(file), previousEnd);
+
+        assertEquals(500, emails.size());
+        for (int i = 0; i < 500; i++) {
+            assertEquals("user" + i + "@example.com", emails.get(i));
+        }
+    }
+
+    @Test
+    void restartResumesFromSavedOffset() throws Exception {
+        Path file = writeCustomers(20);
+        long[] range = CsvByteRangeSplitter.split(file, 1, true).get(0);
+
+        ExecutionContext executionContext = new ExecutionContext();
+        MappedCsvRangeItemReader reader = new MappedCsvRangeItemReader(file, range[0], range[1], LINE_MAPPER);
+        reader.open(executionContext);
+        for (int i = 0; i < 5; i++) {
+            reader.read();
+        }
+        reader.update(executionContext);
+        reader.close();
+
+        MappedCsvRangeItemReader restarted = new MappedCsvRangeItemReader(file, range[0], range[1], LINE_MAPPER);
+        restarted.open(executionContext);
+        assertEquals("user5@example.com", restarted.read().getEmail());
+        restarted.close();
+    }
+
+    private Path writeCustomers(int count) throws Exception {
+        StringBuilder content = new StringBuilder("first_name,last_name,email,age,city\n");
+        for (int i = 0; i < count; i++) {
+            content.append("First").append(i).append(",Last,user").append(i).append("@example.com,")
+                    .append(20 + i % 50).append(",City").append(i % 3 == 0 ? "\r\n" : "\n");
+        }
+        Path file = tempDir.resolve("customers.csv");
+        Files.writeString(file, content, StandardCharsets.UTF_8);
+        return file;
+    }
+}
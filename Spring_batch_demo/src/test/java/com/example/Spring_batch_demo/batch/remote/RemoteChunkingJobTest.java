@@ -0,0 +1,232 @@
+package com.example.Spring_batch_demo.batch.remote;
+
+import com.example.Spring_batch_demo.batch.processor.CustomerItemProcessor;
+import com.example.Spring_batch_demo.dto.CustomerCSV;
+import com.example.Spring_batch_demo.model.Customer;
+import com.example.Spring_batch_demo.repository.CustomerRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.batch.core.BatchStatus;
+import org.springframework.batch.core.Job;
+import org.springframework.batch.core.JobExecution;
+import org.springframework.batch.core.JobInstance;
+import org.springframework.batch.core.JobParameters;
+import org.springframework.batch.core.JobParametersBuilder;
+import org.springframework.batch.core.Step;
+import org.springframework.batch.core.StepExecution;
+import org.springframework.batch.core.explore.JobExplorer;
+import org.springframework.batch.core.job.builder.JobBuilder;
+import org.springframework.batch.core.launch.JobLauncher;
+import org.springframework.batch.core.repository.JobRepository;
+import org.springframework.batch.core.step.builder.StepBuilder;
+import org.springframework.batch.item.Chunk;
+import org.springframework.batch.item.ItemWriter;
+import org.springframework.batch.item.support.AbstractItemCountingItemStreamItemReader;
+import org.springframework.batch.item.support.ListItemReader;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeoutException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+class RemoteChunkingJobTest {
+
+    @Autowired
+    private JobLauncher jobLauncher;
+
+    @Autowired
+    private JobRepository jobRepository;
+
+    @Autowired
+    private JobExplorer jobExplorer;
+
+    @Autowired
+    private ChunkRequestQueue requestQueue;
+
+    @Autowired
+    private CustomerItemProcessor processor;
+
+    @Autowired
+    @Qualifier("customerWriter")
+    private ItemWriter<Customer> customerWriter;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private RemoteChunkWorker worker;
+
+    @BeforeEach
+    void setUp() {
+        customerRepository.deleteAll();
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        if (worker != null) {
+            worker.stop();
+        }
+    }
+
+    @Test
+    void workersProcessAndWriteChunksReadByTheManager() throws Exception {
+        worker = new RemoteChunkWorker(requestQueue, jobExplorer, processor, customerWriter, transactionManager, "both", 2, 20);
+        worker.start();
+        List<CustomerCSV> items = new ArrayList<>();
+        for (int i = 0; i < 23; i++) {
+            items.add(new CustomerCSV("jane", "DOE", "Customer" + i + "@Example.com", i % 2 == 0 ? "30" : "", "boston"));
+        }
+
+        // A window of one chunk makes the reader wait on the workers for every chunk after the first
+        Step managerStep = new StepBuilder("remoteChunkingTestStep", jobRepository)
+                .<CustomerCSV, CustomerCSV>chunk(5, transactionManager)
+                .reader(new ListItemReader<>(items))
+                .writer(new RemoteChunkItemWriter(requestQueue, 1, 20, 30_000))
+                .build();
+        Job job = new JobBuilder("remoteChunkingTestJob", jobRepository).start(managerStep).build();
+
+        JobExecution execution = jobLauncher.run(job, new JobParametersBuilder()
+                .addLong("run", System.nanoTime())
+                .toJobParameters());
+
+        assertEquals(BatchStatus.COMPLETED, execution.getStatus());
+        StepExecution step = execution.getStepExecutions().iterator().next();
+        assertEquals(23, step.getReadCount());
+        assertEquals(23, step.getWriteCount());
+        assertEquals(23, customerRepository.count());
+        Customer stored = customerRepository.findByEmail("customer4@example.com").orElseThrow();
+        assertEquals("Jane", stored.getFirstName());
+        assertEquals("Boston", stored.getCity());
+
+        List<String> requests = jdbcTemplate.queryForList(
+                "SELECT STATUS FROM BATCH_CHUNK_REQUEST WHERE JOB_EXECUTION_ID = ?", String.class, execution.getId());
+        assertEquals(5, requests.size());
+        assertTrue(requests.stream().allMatch("DONE"::equals));
+    }
+
+    @Test
+    void fullWindowBlocksUntilAWorkerReplies() throws Exception {
+        RemoteChunkItemWriter writer = new RemoteChunkItemWriter(requestQueue, 1, 10, 200);
+        long id = System.nanoTime();
+        JobExecution jobExecution = new JobExecution(new JobInstance(id, "windowTestJob"), id, new JobParameters());
+        writer.beforeStep(new StepExecution("windowTestStep", jobExecution, System.nanoTime()));
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        Chunk<CustomerCSV> chunk = Chunk.of(new CustomerCSV("Jane", "Doe", "jane@example.com", "30", "Boston"));
+
+        try {
+            transactionTemplate.executeWithoutResult(status -> write(writer, chunk));
+
+            // No worker is running, so the one chunk allowed in flight is never answered
+            Exception failure = assertThrows(Exception.class,
+                    () -> transactionTemplate.executeWithoutResult(status -> write(writer, chunk)));
+            assertInstanceOf(TimeoutException.class, failure.getCause());
+        } finally {
+            jdbcTemplate.update("DELETE FROM BATCH_CHUNK_REQUEST WHERE JOB_EXECUTION_ID = ?", jobExecution.getId());
+        }
+    }
+
+    @Test
+    void chunkOfADeadWorkerIsRequeuedAndOnlyTheNewClaimCanReply() throws Exception {
+        ChunkRequestQueue queue = new ChunkRequestQueue(jdbcTemplate, objectMapper, 100);
+        jdbcTemplate.update("DELETE FROM BATCH_CHUNK_REQUEST WHERE STATUS = 'PENDING'");
+        long id = System.nanoTime();
+        queue.send(new ChunkRequest(id, 1, id, List.of(new CustomerCSV("Jane", "Doe", "jane@example.com", "30", "Boston"))));
+
+        try {
+            assertEquals(id, queue.claimNext("dead-worker").orElseThrow().stepExecutionId());
+            assertTrue(queue.claimNext("live-worker").isEmpty());
+
+            Thread.sleep(200);
+            assertEquals(id, queue.claimNext("live-worker").orElseThrow().stepExecutionId());
+            assertFalse(queue.reply(id, "dead-worker", new ChunkReply(1, true, 1, 0, null)));
+            assertTrue(queue.reply(id, "live-worker", new ChunkReply(1, true, 1, 0, null)));
+            assertEquals(1, queue.replies(id, List.of(1L)).size());
+        } finally {
+            jdbcTemplate.update("DELETE FROM BATCH_CHUNK_REQUEST WHERE JOB_EXECUTION_ID = ?", id);
+        }
+    }
+
+    @Test
+    void restartResendsTheChunkAWorkerFailed() throws Exception {
+        worker = new RemoteChunkWorker(requestQueue, jobExplorer, processor, customerWriter, transactionManager, "both", 2, 20);
+        worker.start();
+        List<CustomerCSV> items = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            items.add(new CustomerCSV("Jane", "Doe", "restart" + i + "@example.com", "30", "Boston"));
+        }
+        // A stored customer with the email of item 2 makes the worker's write of the first chunk fail
+        Customer blocker = customerRepository.save(new Customer("Other", "Customer", "restart2@example.com", 40, "Chicago"));
+
+        Job job = new JobBuilder("remoteChunkingRestartTestJob", jobRepository)
+                .start(new StepBuilder("remoteChunkingRestartTestStep", jobRepository)
+                        .<CustomerCSV, CustomerCSV>chunk(5, transactionManager)
+                        .reader(restartableReader(items))
+                        .writer(new RemoteChunkItemWriter(requestQueue, 4, 20, 30_000))
+                        .build())
+                .build();
+        JobParameters parameters = new JobParametersBuilder().addLong("run", System.nanoTime()).toJobParameters();
+
+        JobExecution failed = jobLauncher.run(job, parameters);
+        assertEquals(BatchStatus.FAILED, failed.getStatus());
+        assertFalse(customerRepository.findByEmail("restart0@example.com").isPresent());
+
+        customerRepository.delete(blocker);
+        JobExecution restarted = jobLauncher.run(job, parameters);
+
+        assertEquals(BatchStatus.COMPLETED, restarted.getStatus());
+        for (int i = 0; i < 10; i++) {
+            assertTrue(customerRepository.findByEmail("restart" + i + "@example.com").isPresent(), "restart" + i);
+        }
+        assertEquals(10, customerRepository.count());
+        Long unfinished = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM BATCH_CHUNK_REQUEST "
+                + "WHERE JOB_EXECUTION_ID IN (?, ?) AND STATUS <> 'DONE'", Long.class, failed.getId(), restarted.getId());
+        assertEquals(0, unfinished);
+    }
+
+    // Saves its position in the execution context, so a restart resumes after the last committed chunk
+    private static AbstractItemCountingItemStreamItemReader<CustomerCSV> restartableReader(List<CustomerCSV> items) {
+        AbstractItemCountingItemStreamItemReader<CustomerCSV> reader = new AbstractItemCountingItemStreamItemReader<>() {
+            @Override
+            protected CustomerCSV doRead() {
+                int index = getCurrentItemCount() - 1;
+                return index < items.size() ? items.get(index) : null;
+            }
+
+            @Override
+            protected void doOpen() {
+            }
+
+            @Override
+            protected void doClose() {
+            }
+        };
+        reader.setName("restartTestReader");
+        return reader;
+    }
+
+    private static void write(RemoteChunkItemWriter writer, Chunk<CustomerCSV> chunk) {
+        try {
+            writer.write(chunk);
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
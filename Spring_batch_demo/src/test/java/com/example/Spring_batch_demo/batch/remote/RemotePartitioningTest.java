@@ -0,0 +1,191 @@
+package com.example.Spring_batch_demo.batch.remote;
+
+import com.example.Spring_batch_demo.batch.partitioner.CustomerRangePartitioner;
+import com.example.Spring_batch_demo.model.Customer;
+import com.example.Spring_batch_demo.repository.CustomerRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.batch.core.BatchStatus;
+import org.springframework.batch.core.Job;
+import org.springframework.batch.core.JobExecution;
+import org.springframework.batch.core.JobParametersBuilder;
+import org.springframework.batch.core.Step;
+import org.springframework.batch.core.StepExecution;
+import org.springframework.batch.core.explore.JobExplorer;
+import org.springframework.batch.core.job.builder.JobBuilder;
+import org.springframework.batch.core.launch.JobLauncher;
+import org.springframework.batch.core.repository.JobRepository;
+import org.springframework.batch.core.step.builder.StepBuilder;
+import org.springframework.beans.factory.BeanFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+class RemotePartitioningTest {
+
+    @Autowired
+    private JobLauncher jobLauncher;
+
+    @Autowired
+    private JobRepository jobRepository;
+
+    @Autowired
+    private JobExplorer jobExplorer;
+
+    @Autowired
+    private BeanFactory beanFactory;
+
+    @Autowired
+    private PartitionRequestQueue requestQueue;
+
+    @Autowired
+    @Qualifier("dataValidationWorkerStep")
+    private Step dataValidationWorkerStep;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private RemotePartitionWorker worker;
+
+    @BeforeEach
+    void setUp() {
+        customerRepository.deleteAll();
+        worker = new RemotePartitionWorker(requestQueue, jobExplorer, jobRepository, beanFactory, "worker", 2, 20);
+        worker.start();
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        worker.stop();
+    }
+
+    @Test
+    void managerWaitsForPartitionsRunByWorkers() throws Exception {
+        List<Customer> customers = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            Customer customer = new Customer("Jane", "Doe", "customer" + i + "@example.com", i % 2 == 0 ? 30 : null, "Boston");
+            customer.setStatus(Customer.CustomerStatus.PROCESSED);
+            customers.add(customer);
+        }
+        customerRepository.saveAll(customers);
+
+        Step managerStep = new StepBuilder("remoteValidationStep", jobRepository)
+                .partitioner("dataValidationWorkerStep", CustomerRangePartitioner.forTable(jdbcTemplate))
+                .partitionHandler(new RemotePartitionHandler(dataValidationWorkerStep, requestQueue, jobExplorer, 4, 20, 30_000))
+                .build();
+        Job job = new JobBuilder("remotePartitioningTestJob", jobRepository).start(managerStep).build();
+
+        JobExecution execution = jobLauncher.run(job, new JobParametersBuilder()
+                .addLong("run", System.nanoTime())
+                .toJobParameters());
+
+        assertEquals(BatchStatus.COMPLETED, execution.getStatus());
+        StepExecution manager = execution.getStepExecutions().stream()
+                .filter(step -> step.getStepName().equals("remoteValidationStep")).findFirst().orElseThrow();
+        assertEquals(20, manager.getReadCount());
+        assertEquals(20, manager.getWriteCount());
+        assertEquals(10, customerRepository.findByStatus(Customer.CustomerStatus.VALIDATED).size());
+        assertEquals(10, customerRepository.findByStatus(Customer.CustomerStatus.FAILED).size());
+
+        List<String> requests = jdbcTemplate.queryForList(
+                "SELECT STATUS FROM BATCH_PARTITION_REQUEST WHERE JOB_EXECUTION_ID = ?", String.class, execution.getId());
+        assertEquals(4, requests.size());
+        assertTrue(requests.stream().allMatch("DONE"::equals));
+    }
+
+    @Test
+    void claimOfADeadWorkerIsRequeuedOnceItsLeaseExpires() throws Exception {
+        // Claims are made by hand here, so keep the polling worker out of the way
+        worker.stop();
+        jdbcTemplate.update("DELETE FROM BATCH_PARTITION_REQUEST WHERE STATUS <> 'DONE'");
+        PartitionRequestQueue queue = new PartitionRequestQueue(jdbcTemplate, 100);
+        long id = System.nanoTime();
+        queue.publish(List.of(new StepExecution("dataValidationWorkerStep:partition0", new JobExecution(id), id)),
+                "dataValidationWorkerStep");
+
+        assertEquals(id, queue.claimNext("dead-worker").orElseThrow().stepExecutionId());
+        assertTrue(queue.claimNext("live-worker").isEmpty());
+
+        Thread.sleep(200);
+        assertEquals(id, queue.claimNext("live-worker").orElseThrow().stepExecutionId());
+        // The first worker can no longer renew or complete the claim it lost
+        assertFalse(queue.renew(id, "dead-worker"));
+        assertTrue(queue.renew(id, "live-worker"));
+        queue.complete(id, "dead-worker");
+        assertEquals("CLAIMED", jdbcTemplate.queryForObject(
+                "SELECT STATUS FROM BATCH_PARTITION_REQUEST WHERE STEP_EXECUTION_ID = ?", String.class, id));
+    }
+
+    @Test
+    void partitionTakenOverFromAWorkerThatLostItsClaimFinishesAsANewAttempt() throws Exception {
+        worker.stop();
+        jdbcTemplate.update("DELETE FROM BATCH_PARTITION_REQUEST WHERE STATUS <> 'DONE'");
+        Customer customer = new Customer("Jane", "Doe", "takeover@example.com", 30, "Boston");
+        customer.setStatus(Customer.CustomerStatus.PROCESSED);
+        customerRepository.save(customer);
+
+        PartitionRequestQueue queue = new PartitionRequestQueue(jdbcTemplate, 100);
+        JobExecution jobExecution = jobRepository.createJobExecution("remoteTakeOverTestJob",
+                new JobParametersBuilder().addLong("run", System.nanoTime()).toJobParameters());
+        StepExecution manager = jobExecution.createStepExecution("remoteValidationStep");
+        jobRepository.add(manager);
+        StepExecution split = jobExecution.createStepExecution("dataValidationWorkerStep:partition0");
+        split.getExecutionContext().putLong("startRange", 0);
+        split.getExecutionContext().putLong("endRange", Long.MAX_VALUE);
+        jobRepository.add(split);
+
+        RemotePartitionHandler handler = new RemotePartitionHandler(dataValidationWorkerStep, queue, jobExplorer, 1, 20, 30_000);
+        CompletableFuture<Set<StepExecution>> result = CompletableFuture.supplyAsync(() -> {
+            try {
+                return handler.doHandle(manager, Set.of(split));
+            } catch (Exception e) {
+                throw new CompletionException(e);
+            }
+        });
+
+        // A worker claims and starts the partition, then stalls past its lease
+        Optional<PartitionRequest> claimed = Optional.empty();
+        for (int i = 0; i < 100 && claimed.isEmpty(); i++) {
+            Thread.sleep(20);
+            claimed = queue.claimNext("stalled-worker");
+        }
+        assertTrue(claimed.isPresent());
+        split.setStatus(BatchStatus.STARTED);
+        jobRepository.update(split);
+
+        RemotePartitionWorker liveWorker = new RemotePartitionWorker(queue, jobExplorer, jobRepository, beanFactory, "worker", 1, 20);
+        liveWorker.start();
+        Set<StepExecution> finished;
+        try {
+            finished = result.get(30, TimeUnit.SECONDS);
+        } finally {
+            liveWorker.stop();
+        }
+
+        StepExecution attempt = finished.iterator().next();
+        assertEquals(1, finished.size());
+        assertNotEquals(split.getId(), attempt.getId());
+        assertEquals("dataValidationWorkerStep:partition0", attempt.getStepName());
+        assertEquals(BatchStatus.COMPLETED, attempt.getStatus());
+        assertEquals(BatchStatus.ABANDONED, jobExplorer.getStepExecution(jobExecution.getId(), split.getId()).getStatus());
+        assertEquals(1, customerRepository.findByStatus(Customer.CustomerStatus.VALIDATED).size());
+        // The stalled worker can no longer record anything against the request
+        assertFalse(queue.recordAttempt(split.getId(), "stalled-worker", split.getId()));
+    }
+}
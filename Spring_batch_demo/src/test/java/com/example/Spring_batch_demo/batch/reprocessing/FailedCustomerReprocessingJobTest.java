@@ -0,0 +1,87 @@
+package com.example.Spring_batch_demo.batch.reprocessing;
+
+import com.example.Spring_batch_demo.model.Customer;
+import com.example.Spring_batch_demo.repository.CustomerRepository;
+import com.example.Spring_batch_demo.service.CustomerStatisticsAggregator;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.batch.core.BatchStatus;
+import org.springframework.batch.core.Job;
+import org.springframework.batch.core.JobExecution;
+import org.springframework.batch.core.JobParametersBuilder;
+import org.springframework.batch.core.StepExecution;
+import org.springframework.batch.core.launch.JobLauncher;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+class FailedCustomerReprocessingJobTest {
+
+    @Autowired
+    private JobLauncher jobLauncher;
+
+    @Autowired
+    @Qualifier("failedCustomerReprocessingJob")
+    private Job failedCustomerReprocessingJob;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Autowired
+    private CustomerStatisticsAggregator statisticsAggregator;
+
+    @BeforeEach
+    void setUp() {
+        customerRepository.deleteAll();
+    }
+
+    @Test
+    void reprocessesOnlyFailedCustomersThatNowPass() throws Exception {
+        List<Customer> customers = new ArrayList<>();
+        for (int i = 0; i < 30; i++) {
+            // Failed customers stored with raw input; every third is still missing its age
+            Customer customer = new Customer("  jane ", "DOE", " Customer" + i + "@Example.com", i % 3 == 0 ? null : 40, "boston");
+            customer.setStatus(i < 20 ? Customer.CustomerStatus.FAILED : Customer.CustomerStatus.PROCESSED);
+            customers.add(customer);
+        }
+        customerRepository.saveAll(customers);
+        statisticsAggregator.reconcile();
+
+        JobExecution execution = jobLauncher.run(failedCustomerReprocessingJob, new JobParametersBuilder()
+                .addLong("run", System.nanoTime())
+                .toJobParameters());
+
+        assertEquals(BatchStatus.COMPLETED, execution.getStatus());
+        StepExecution step = execution.getStepExecutions().iterator().next();
+        assertEquals(20, step.getReadCount());
+        assertEquals(13, step.getWriteCount());
+        assertEquals(7, step.getFilterCount());
+
+        for (Customer stored : customerRepository.findAll()) {
+            int number = Integer.parseInt(stored.getEmail().replaceAll("\\D", ""));
+            if (number >= 20) {
+                assertEquals(Customer.CustomerStatus.PROCESSED, stored.getStatus());
+                assertEquals("boston", stored.getCity());
+            } else if (number % 3 == 0) {
+                assertEquals(Customer.CustomerStatus.FAILED, stored.getStatus());
+            } else {
+                assertEquals(Customer.CustomerStatus.VALIDATED, stored.getStatus());
+                assertEquals("Jane", stored.getFirstName());
+                assertEquals("Doe", stored.getLastName());
+                assertEquals("customer" + number + "@example.com", stored.getEmail());
+                assertEquals("Boston", stored.getCity());
+                assertNotNull(stored.getProcessedAt());
+            }
+        }
+        assertEquals(7, statisticsAggregator.getCount(Customer.CustomerStatus.FAILED));
+        assertEquals(10, statisticsAggregator.getCount(Customer.CustomerStatus.PROCESSED));
+        assertEquals(13, statisticsAggregator.getCount(Customer.CustomerStatus.VALIDATED));
+        assertEquals(30, statisticsAggregator.getTotal());
+    }
+}
@@ -0,0 +1,98 @@
+package com.example.Spring_batch_demo.batch.validation;
+
+import com.example.Spring_batch_demo.model.Customer;
+import com.example.Spring_batch_demo.repository.CustomerRepository;
+import com.example.Spring_batch_demo.service.CustomerStatisticsAggregator;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.batch.core.BatchStatus;
+import org.springframework.batch.core.Job;
+import org.springframework.batch.core.JobExecution;
+import org.springframework.batch.core.JobParametersBuilder;
+import org.springframework.batch.core.Step;
+import org.springframework.batch.core.StepExecution;
+import org.springframework.batch.core.job.builder.JobBuilder;
+import org.springframework.batch.core.launch.JobLauncher;
+import org.springframework.batch.core.repository.JobRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+class DataValidationStepTest {
+
+    @Autowired
+    private JobLauncher jobLauncher;
+
+    @Autowired
+    private JobRepository jobRepository;
+
+    @Autowired
+    @Qualifier("dataValidationStep")
+    private Step dataValidationStep;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Autowired
+    private CustomerStatisticsAggregator statisticsAggregator;
+
+    @BeforeEach
+    void setUp() {
+        customerRepository.deleteAll();
+    }
+
+    @Test
+    void validatesEveryRowAcrossPartitions() throws Exception {
+        List<Customer> customers = new ArrayList<>();
+        for (int i = 0; i < 40; i++) {
+            // Every fourth customer has an invalid email, every fifth is missing its age
+            String email = i % 4 == 0 ? "customer" + i + "-at-example.com" : "customer" + i + "@example.com";
+            Customer customer = new Customer("Jane", "Doe", email, i % 5 == 0 ? null : 30, "Boston");
+            customer.setStatus(i == 1 ? Customer.CustomerStatus.FAILED : Customer.CustomerStatus.PROCESSED);
+            customers.add(customer);
+        }
+        customerRepository.saveAll(customers);
+        statisticsAggregator.reconcile();
+
+        JobExecution execution = run();
+
+        assertEquals(BatchStatus.COMPLETED, execution.getStatus());
+        List<Customer> stored = customerRepository.findAll();
+        long failed = stored.stream().filter(c -> c.getStatus() == Customer.CustomerStatus.FAILED).count();
+        long validated = stored.stream().filter(c -> c.getStatus() == Customer.CustomerStatus.VALIDATED).count();
+        // 10 bad emails and 8 missing ages, 2 customers have both
+        assertEquals(16, failed);
+        assertEquals(24, validated);
+        for (Customer customer : stored) {
+            boolean valid = customer.getEmail().contains("@") && customer.getAge() != null;
+            assertEquals(valid ? Customer.CustomerStatus.VALIDATED : Customer.CustomerStatus.FAILED, customer.getStatus());
+        }
+        assertEquals(16, statisticsAggregator.getCount(Customer.CustomerStatus.FAILED));
+        assertEquals(24, statisticsAggregator.getCount(Customer.CustomerStatus.VALIDATED));
+        assertEquals(0, statisticsAggregator.getCount(Customer.CustomerStatus.PROCESSED));
+
+        long workers = execution.getStepExecutions().stream()
+                .filter(step -> step.getStepName().startsWith("dataValidationWorkerStep")).count();
+        assertTrue(workers > 1);
+
+        // Nothing changes on a second run, so every row is filtered and none is written
+        JobExecution rerun = run();
+        StepExecution master = rerun.getStepExecutions().stream()
+                .filter(step -> step.getStepName().equals("dataValidationStep")).findFirst().orElseThrow();
+        assertEquals(40, master.getReadCount());
+        assertEquals(0, master.getWriteCount());
+    }
+
+    private JobExecution run() throws Exception {
+        Job job = new JobBuilder("dataValidationTestJob", jobRepository).start(dataValidationStep).build();
+        return jobLauncher.run(job, new JobParametersBuilder()
+                .addLong("run", System.nanoTime())
+                .toJobParameters());
+    }
+}
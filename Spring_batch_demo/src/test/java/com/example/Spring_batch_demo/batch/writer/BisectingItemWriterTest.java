@@ -0,0 +1,102 @@
+package com.example.Spring_batch_demo.batch.writer;
+
+import com.example.Spring_batch_demo.model.Customer;
+import com.example.Spring_batch_demo.repository.CustomerRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.batch.core.step.skip.LimitCheckingItemSkipPolicy;
+import org.springframework.batch.core.step.skip.SkipLimitExceededException;
+import org.springframework.batch.item.Chunk;
+import org.springframework.batch.item.ItemWriter;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+class BisectingItemWriterTest {
+
+    @Autowired
+    private CustomerJdbcItemWriter jdbcWriter;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private final AtomicInteger writes = new AtomicInteger();
+
+    @BeforeEach
+    void setUp() {
+        customerRepository.deleteAll();
+        customerRepository.save(customer("taken@example.com"));
+    }
+
+    @Test
+    void commitsGoodRowsAndSkipsOnlyTheDuplicate() {
+        List<Customer> customers = new ArrayList<>();
+        for (int i = 0; i < 16; i++) {
+            customers.add(customer(i == 11 ? "taken@example.com" : "bisect" + i + "@example.com"));
+        }
+        Chunk<Customer> chunk = new Chunk<>(customers);
+
+        write(bisectingWriter(10), chunk);
+
+        assertEquals(16, customerRepository.count());
+        assertEquals(15, chunk.size());
+        assertEquals(1, chunk.getSkips().size());
+        assertEquals("taken@example.com", chunk.getSkips().get(0).getItem().getEmail());
+        assertInstanceOf(DataIntegrityViolationException.class, chunk.getSkips().get(0).getException());
+        // Whole chunk, then two halves per level down to the failing row: 1 + 2 * log2(16)
+        assertEquals(9, writes.get());
+    }
+
+    @Test
+    void failsOnceTheSkipLimitIsReached() {
+        Chunk<Customer> chunk = new Chunk<>(List.of(customer("ok@example.com"), customer("taken@example.com")));
+
+        RuntimeException failure = assertThrows(RuntimeException.class, () -> write(bisectingWriter(0), chunk));
+
+        assertInstanceOf(SkipLimitExceededException.class, failure.getCause());
+        assertEquals(1, customerRepository.count());
+    }
+
+    private BisectingItemWriter<Customer> bisectingWriter(int skipLimit) {
+        ItemWriter<Customer> countingWriter = items -> {
+            writes.incrementAndGet();
+            jdbcWriter.write(items);
+        };
+        return new BisectingItemWriter<>(countingWriter, dataSource,
+                new LimitCheckingItemSkipPolicy(skipLimit, Map.of(DataIntegrityViolationException.class, true)));
+    }
+
+    private void write(ItemWriter<Customer> writer, Chunk<Customer> chunk) {
+        transactionTemplate.executeWithoutResult(status -> {
+            try {
+                writer.write(chunk);
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+        });
+    }
+
+    private Customer customer(String email) {
+        Customer customer = new Customer("Jane", "Doe", email, 30, "Boston");
+        customer.setProcessedAt(LocalDateTime.now());
+        customer.setStatus(Customer.CustomerStatus.PROCESSED);
+        return customer;
+    }
+}
@@ -0,0 +1,68 @@
+package com.example.Spring_batch_demo.batch.writer;
+
+import com.example.Spring_batch_demo.model.Customer;
+import com.example.Spring_batch_demo.repository.CustomerRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.batch.item.Chunk;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+class CustomerJdbcItemWriterTest {
+
+    @Autowired
+    private CustomerJdbcItemWriter writer;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @BeforeEach
+    void setUp() {
+        customerRepository.deleteAll();
+    }
+
+    @Test
+    void writesChunkWithIdsDisjointFromJpa() {
+        Customer jpaCustomer = customerRepository.save(customer("jpa@example.com", Customer.CustomerStatus.PROCESSED));
+
+        Chunk<Customer> chunk = new Chunk<>(List.of(
+                customer("one@example.com", Customer.CustomerStatus.PROCESSED),
+                customer("two@example.com", Customer.CustomerStatus.FAILED)));
+        transactionTemplate.executeWithoutResult(status -> {
+            try {
+                writer.write(chunk);
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+        });
+
+        assertEquals(3, customerRepository.count());
+        for (Customer written : chunk.getItems()) {
+            assertNotNull(written.getId());
+            assertNotEquals(jpaCustomer.getId(), written.getId());
+            Customer stored = customerRepository.findById(written.getId()).orElseThrow();
+            assertEquals(written.getEmail(), stored.getEmail());
+            assertEquals(written.getStatus(), stored.getStatus());
+        }
+
+        Customer nextJpaCustomer = customerRepository.save(customer("jpa2@example.com", Customer.CustomerStatus.NEW));
+        assertTrue(chunk.getItems().stream().noneMatch(c -> c.getId().equals(nextJpaCustomer.getId())));
+    }
+
+    private Customer customer(String email, Customer.CustomerStatus status) {
+        Customer customer = new Customer("Jane", "Doe", email, 30, "Boston");
+        customer.setProcessedAt(LocalDateTime.now());
+        customer.setStatus(status);
+        return customer;
+    }
+}
@@ -0,0 +1,92 @@
+package com.example.Spring_batch_demo.batch.writer;
+
+import com.example.Spring_batch_demo.model.Customer;
+import com.example.Spring_batch_demo.repository.CustomerRepository;
+import com.example.Spring_batch_demo.service.CustomerStatisticsAggregator;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.batch.item.Chunk;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+class CustomerMergeItemWriterTest {
+
+    @Autowired
+    private CustomerMergeItemWriter writer;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Autowired
+    private CustomerStatisticsAggregator statisticsAggregator;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @BeforeEach
+    void setUp() {
+        customerRepository.deleteAll();
+        statisticsAggregator.reconcile();
+    }
+
+    @Test
+    void rerunningAChunkUpdatesRowsInPlace() {
+        write(customer("one@example.com", "Boston", Customer.CustomerStatus.PROCESSED),
+                customer("two@example.com", "Boston", Customer.CustomerStatus.FAILED));
+        Customer first = customerRepository.findAll().stream()
+                .filter(c -> c.getEmail().equals("two@example.com")).findFirst().orElseThrow();
+
+        Chunk<Customer> rerun = write(customer("two@example.com", "Denver", Customer.CustomerStatus.PROCESSED),
+                customer("three@example.com", "Denver", Customer.CustomerStatus.PROCESSED));
+
+        assertEquals(3, customerRepository.count());
+        assertEquals(first.getId(), rerun.getItems().get(0).getId());
+        Customer updated = customerRepository.findById(first.getId()).orElseThrow();
+        assertEquals("Denver", updated.getCity());
+        assertEquals(Customer.CustomerStatus.PROCESSED, updated.getStatus());
+
+        assertEquals(3, statisticsAggregator.getTotal());
+        assertEquals(3, statisticsAggregator.getCount(Customer.CustomerStatus.PROCESSED));
+        assertEquals(0, statisticsAggregator.getCount(Customer.CustomerStatus.FAILED));
+        assertEquals(1, statisticsAggregator.getCountsByCity().get("Boston"));
+        assertEquals(2, statisticsAggregator.getCountsByCity().get("Denver"));
+    }
+
+    @Test
+    void emailRepeatedWithinAChunkKeepsTheLastRow() {
+        Chunk<Customer> chunk = write(customer("same@example.com", "Boston", Customer.CustomerStatus.FAILED),
+                customer("same@example.com", "Denver", Customer.CustomerStatus.PROCESSED));
+
+        assertEquals(1, customerRepository.count());
+        assertEquals(chunk.getItems().get(0).getId(), chunk.getItems().get(1).getId());
+        assertEquals("Denver", customerRepository.findAll().get(0).getCity());
+        assertEquals(1, statisticsAggregator.getTotal());
+        assertEquals(1, statisticsAggregator.getCount(Customer.CustomerStatus.PROCESSED));
+    }
+
+    private Chunk<Customer> write(Customer... customers) {
+        Chunk<Customer> chunk = new Chunk<>(List.of(customers));
+        transactionTemplate.executeWithoutResult(status -> {
+            try {
+                writer.write(chunk);
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        return chunk;
+    }
+
+    private Customer customer(String email, String city, Customer.CustomerStatus status) {
+        Customer customer = new Customer("Jane", "Doe", email, 30, city);
+        customer.setProcessedAt(LocalDateTime.now());
+        customer.setStatus(status);
+        return customer;
+    }
+}
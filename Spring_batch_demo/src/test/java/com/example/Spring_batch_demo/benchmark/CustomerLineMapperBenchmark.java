@@ -0,0 +1,81 @@
+package com.example.Spring_batch_demo.benchmark;
+
+import com.example.Spring_batch_demo.batch.reader.CustomerCsvLineMapper;
+import com.example.Spring_batch_demo.dto.CustomerCSV;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.batch.item.file.LineMapper;
+import org.springframework.batch.item.file.mapping.BeanWrapperFieldSetMapper;
+import org.springframework.batch.item.file.mapping.DefaultLineMapper;
+import org.springframework.batch.item.file.transform.DelimitedLineTokenizer;
+
+import java.util.concurrent.TimeUnit;
+
+// Compares the delimited (tokenizer + BeanWrapper) mapping with CustomerCsvLineMapper.
+// Not a unit test; run main() from the IDE, or org.openjdk.jmh.Main on the test classpath after mvn test-compile.
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CustomerLineMapperBenchmark {
+
+    private static final String[] LINES = {
+            "John,Doe,john.doe@example.com,35,New York",
+            "Jane,Smith,jane.smith@example.com,28,Los Angeles",
+            "\"Mary Ann\",\"O\"\"Brien\",mary.obrien@example.com,61,\"Portland, OR\"",
+            "bob,jones,BOB.JONES@EXAMPLE.COM,abc,chicago"
+    };
+
+    private LineMapper<CustomerCSV> delimitedMapper;
+    private LineMapper<CustomerCSV> directMapper;
+    private int index;
+
+    @Setup
+    public void setUp() {
+        DefaultLineMapper<CustomerCSV> lineMapper = new DefaultLineMapper<>();
+        DelimitedLineTokenizer tokenizer = new DelimitedLineTokenizer();
+        tokenizer.setNames("first_name", "last_name", "email", "age", "city");
+        tokenizer.setDelimiter(",");
+        BeanWrapperFieldSetMapper<CustomerCSV> fieldSetMapper = new BeanWrapperFieldSetMapper<>();
+        fieldSetMapper.setTargetType(CustomerCSV.class);
+        lineMapper.setLineTokenizer(tokenizer);
+        lineMapper.setFieldSetMapper(fieldSetMapper);
+        delimitedMapper = lineMapper;
+
+        directMapper = new CustomerCsvLineMapper();
+    }
+
+    @Benchmark
+    public void delimited(Blackhole blackhole) throws Exception {
+        blackhole.consume(delimitedMapper.mapLine(nextLine(), index));
+    }
+
+    @Benchmark
+    public void direct(Blackhole blackhole) throws Exception {
+        blackhole.consume(directMapper.mapLine(nextLine(), index));
+    }
+
+    private String nextLine() {
+        index = (index + 1) & 3;
+        return LINES[index];
+    }
+
+    public static void main(String[] args) throws Exception {
+        new Runner(new OptionsBuilder()
+                .include(CustomerLineMapperBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
@@ -0,0 +1,85 @@
+package com.example.Spring_batch_demo.controller;
+
+import com.example.Spring_batch_demo.model.Customer;
+import com.example.Spring_batch_demo.repository.CustomerRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+class CustomerListingTest {
+
+    private static final int CUSTOMERS = 5;
+
+    @Autowired
+    private WebApplicationContext context;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    private MockMvc mockMvc;
+    private List<Customer> saved;
+
+    @BeforeEach
+    void setUp() {
+        mockMvc = MockMvcBuilders.webAppContextSetup(context).build();
+        customerRepository.deleteAll();
+        List<Customer> customers = new ArrayList<>();
+        for (int i = 0; i < CUSTOMERS; i++) {
+            customers.add(new Customer("First" + i, "Last", "user" + i + "@example.com", 30, "City"));
+        }
+        saved = customerRepository.saveAll(customers);
+    }
+
+    @Test
+    void pagesFollowTheCursorUntilTheLastPage() throws Exception {
+        String cursor = mockMvc.perform(get("/api/batch/customers").param("size", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(2))
+                .andExpect(jsonPath("$[0].email").value("user0@example.com"))
+                .andExpect(header().string("X-Next-Cursor", String.valueOf(saved.get(1).getId())))
+                .andReturn().getResponse().getHeader("X-Next-Cursor");
+
+        cursor = mockMvc.perform(get("/api/batch/customers").param("afterId", cursor).param("size", "2"))
+                .andExpect(jsonPath("$[0].email").value("user2@example.com"))
+                .andReturn().getResponse().getHeader("X-Next-Cursor");
+
+        mockMvc.perform(get("/api/batch/customers").param("afterId", cursor).param("size", "2"))
+                .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(jsonPath("$[0].email").value("user4@example.com"))
+                .andExpect(header().doesNotExist("X-Next-Cursor"));
+    }
+
+    @Test
+    void streamWritesOneJsonObjectPerLine() throws Exception {
+        MvcResult result = mockMvc.perform(get("/api/batch/customers/stream"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        String body = mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+
+        String[] lines = body.split("\n");
+        assertEquals(CUSTOMERS, lines.length);
+        for (int i = 0; i < CUSTOMERS; i++) {
+            assertTrue(lines[i].startsWith("{") && lines[i].contains("\"email\":\"user" + i + "@example.com\""), lines[i]);
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package com.example.Spring_batch_demo.service;
+
+import com.example.Spring_batch_demo.model.Customer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+class CustomerStatisticsAggregatorTest {
+
+    private final CustomerStatisticsAggregator aggregator = new CustomerStatisticsAggregator(mock(JdbcTemplate.class));
+
+    @AfterEach
+    void clearSynchronization() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void countsInsertsOnlyAfterCommit() {
+        TransactionSynchronizationManager.initSynchronization();
+        aggregator.recordInserted(List.of(
+                customer("Seoul", Customer.CustomerStatus.PROCESSED),
+                customer("Seoul", Customer.CustomerStatus.FAILED),
+                customer("Busan", Customer.CustomerStatus.PROCESSED)));
+
+        assertEquals(0, aggregator.getTotal());
+        List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+        synchronizations.forEach(TransactionSynchronization::afterCommit);
+
+        assertEquals(3, aggregator.getTotal());
+        assertEquals(2, aggregator.getCount(Customer.CustomerStatus.PROCESSED));
+        assertEquals(1, aggregator.getCount(Customer.CustomerStatus.FAILED));
+        assertEquals(Map.of("Busan", 1L, "Seoul", 2L), aggregator.getCountsByCity());
+    }
+
+    @Test
+    void rolledBackInsertsAreNeverCounted() {
+        TransactionSynchronizationManager.initSynchronization();
+        aggregator.recordInserted(List.of(customer("Seoul", Customer.CustomerStatus.PROCESSED)));
+        TransactionSynchronizationManager.getSynchronizations()
+                .forEach(synchronization -> synchronization.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+
+        assertEquals(0, aggregator.getTotal());
+    }
+
+    @Test
+    void statusChangesMoveCountsBetweenStatuses() {
+        aggregator.recordInserted(List.of(
+                customer(null, Customer.CustomerStatus.PROCESSED),
+                customer(null, Customer.CustomerStatus.PROCESSED)));
+        aggregator.recordStatusChange(Customer.CustomerStatus.PROCESSED, Customer.CustomerStatus.VALIDATED, 2);
+
+        assertEquals(2, aggregator.getTotal());
+        assertEquals(0, aggregator.getCount(Customer.CustomerStatus.PROCESSED));
+        assertEquals(2, aggregator.getCount(Customer.CustomerStatus.VALIDATED));
+        assertTrue(aggregator.getCountsByCity().isEmpty());
+    }
+
+    private Customer customer(String city, Customer.CustomerStatus status) {
+        Customer customer = new Customer("First", "Last", "first@example.com", 30, city);
+        customer.setStatus(status);
+        return customer;
+    }
+}
@@ -0,0 +1,98 @@
+package com.example.Spring_batch_demo.service;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.batch.core.Job;
+import org.springframework.batch.core.JobExecution;
+import org.springframework.batch.core.JobParameters;
+import org.springframework.batch.core.JobParametersBuilder;
+import org.springframework.batch.core.repository.JobRepository;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class JobAdmissionQueueTest {
+
+    private final List<Runnable> workers = new ArrayList<>();
+    private final List<String> executed = new ArrayList<>();
+    private final AtomicLong ids = new AtomicLong();
+
+    @Test
+    void manualLaunchesAreAdmittedBeforeScheduledOnes() throws Exception {
+        JobAdmissionQueue queue = queue(1, 10, 10);
+        Job job = job("importCustomerJob");
+
+        queue.submit(job, parameters("scheduled-1"), LaunchPriority.SCHEDULED);
+        queue.submit(job, parameters("scheduled-2"), LaunchPriority.SCHEDULED);
+        queue.submit(job, parameters("manual"), LaunchPriority.MANUAL);
+
+        assertEquals(1, workers.size());
+        assertEquals(2, queue.getQueuedCount());
+        workers.get(0).run();
+        assertEquals(List.of("scheduled-1", "manual", "scheduled-2"), executed);
+        assertEquals(0, queue.getQueuedCount());
+    }
+
+    @Test
+    void jobNameAtItsLimitDoesNotBlockOtherJobs() throws Exception {
+        JobAdmissionQueue queue = queue(2, 10, 1);
+        Job importJob = job("importCustomerJob");
+        Job complexJob = job("complexDataProcessingJob");
+
+        JobExecution first = queue.submit(importJob, parameters("import-1"), LaunchPriority.MANUAL);
+        queue.submit(importJob, parameters("import-2"), LaunchPriority.MANUAL);
+        assertNotNull(first.getId());
+        assertEquals(1, workers.size(), "second import must wait for the first");
+
+        queue.submit(complexJob, parameters("complex"), LaunchPriority.SCHEDULED);
+        assertEquals(2, workers.size());
+
+        workers.forEach(Runnable::run);
+        assertEquals(List.of("import-1", "import-2", "complex"), executed);
+    }
+
+    @Test
+    void rejectsLaunchesBeyondQueueCapacity() throws Exception {
+        JobAdmissionQueue queue = queue(1, 1, 1);
+        Job job = job("importCustomerJob");
+
+        queue.submit(job, parameters("running"), LaunchPriority.MANUAL);
+        queue.submit(job, parameters("waiting"), LaunchPriority.MANUAL);
+
+        assertThrows(JobAdmissionRejectedException.class,
+                () -> queue.submit(job, parameters("rejected"), LaunchPriority.MANUAL));
+        assertEquals(1, queue.getQueuedCount());
+    }
+
+    private JobAdmissionQueue queue(int maxConcurrentJobs, int queueCapacity, int jobConcurrency) throws Exception {
+        JobRepository jobRepository = mock(JobRepository.class);
+        when(jobRepository.createJobExecution(anyString(), any(JobParameters.class)))
+                .thenAnswer(invocation -> new JobExecution(ids.incrementAndGet(), invocation.getArgument(1)));
+        return new JobAdmissionQueue(jobRepository, workers::add, maxConcurrentJobs, queueCapacity,
+                jobConcurrency, Map.of());
+    }
+
+    private Job job(String name) {
+        Job job = mock(Job.class);
+        when(job.getName()).thenReturn(name);
+        when(job.getJobParametersValidator()).thenReturn(parameters -> { });
+        doAnswer(invocation -> {
+            JobExecution jobExecution = invocation.getArgument(0);
+            executed.add(jobExecution.getJobParameters().getString("run"));
+            return null;
+        }).when(job).execute(any(JobExecution.class));
+        return job;
+    }
+
+    private JobParameters parameters(String run) {
+        return new JobParametersBuilder().addString("run", run).toJobParameters();
+    }
+}
@@ -0,0 +1,90 @@
+package com.example.Spring_batch_demo.service;
+
+import com.example.Spring_batch_demo.dto.JobExecutionSummary;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JobExecutionHistoryServiceTest {
+
+    private final AtomicLong clock = new AtomicLong();
+    private EmbeddedDatabase database;
+    private JdbcTemplate jdbcTemplate;
+    private JobExecutionHistoryService service;
+
+    @BeforeEach
+    void setUp() {
+        database = new EmbeddedDatabaseBuilder()
+                .setType(EmbeddedDatabaseType.H2)
+                .generateUniqueName(true)
+                .addScript("schema-h2.sql")
+                .build();
+        jdbcTemplate = new JdbcTemplate(database);
+        service = new JobExecutionHistoryService(jdbcTemplate, 1000, clock::get);
+
+        for (long id = 1; id <= 5; id++) {
+            String jobName = id % 2 == 0 ? "complexDataProcessingJob" : "importCustomerJob";
+            String status = id == 3 ? "FAILED" : "COMPLETED";
+            jdbcTemplate.update("INSERT INTO BATCH_JOB_INSTANCE (JOB_INSTANCE_ID, VERSION, JOB_NAME, JOB_KEY) VALUES (?, 0, ?, ?)",
+                    id, jobName, "key" + id);
+            jdbcTemplate.update("INSERT INTO BATCH_JOB_EXECUTION (JOB_EXECUTION_ID, VERSION, JOB_INSTANCE_ID, CREATE_TIME, STATUS, EXIT_CODE) "
+                    + "VALUES (?, 0, ?, CURRENT_TIMESTAMP, ?, ?)", id, id, status, status);
+            jdbcTemplate.update("INSERT INTO BATCH_STEP_EXECUTION (STEP_EXECUTION_ID, VERSION, STEP_NAME, JOB_EXECUTION_ID, CREATE_TIME, "
+                    + "STATUS, READ_COUNT, WRITE_COUNT, WRITE_SKIP_COUNT) VALUES (?, 0, 'csvToDbStep', ?, CURRENT_TIMESTAMP, ?, ?, ?, 1)",
+                    id, id, status, id * 10, id * 10 - 1);
+        }
+    }
+
+    @AfterEach
+    void tearDown() {
+        database.shutdown();
+    }
+
+    @Test
+    void pagesNewestFirstWithKeysetCursor() {
+        List<JobExecutionSummary> first = service.findPage(null, 2, null, null);
+        assertEquals(List.of(5L, 4L), ids(first));
+        assertEquals(50, first.get(0).stepExecutions().get(0).readCount());
+        assertEquals(1, first.get(0).stepExecutions().get(0).skipCount());
+
+        List<JobExecutionSummary> second = service.findPage(4L, 2, null, null);
+        assertEquals(List.of(3L, 2L), ids(second));
+        assertEquals(List.of(1L), ids(service.findPage(2L, 2, null, null)));
+        assertTrue(service.findPage(1L, 2, null, null).isEmpty());
+    }
+
+    @Test
+    void filtersByJobNameAndStatus() {
+        assertEquals(List.of(5L, 3L, 1L), ids(service.findPage(null, 10, "importCustomerJob", null)));
+        assertEquals(List.of(5L, 1L), ids(service.findPage(null, 10, "importCustomerJob", "completed")));
+        assertEquals(List.of(3L), ids(service.findPage(null, 10, null, "FAILED")));
+        assertEquals(3, service.count("importCustomerJob", null));
+        assertEquals(1, service.count(null, "FAILED"));
+    }
+
+    @Test
+    void totalCountIsCachedUntilItExpires() {
+        assertEquals(5, service.count(null, null));
+        jdbcTemplate.update("INSERT INTO BATCH_JOB_INSTANCE (JOB_INSTANCE_ID, VERSION, JOB_NAME, JOB_KEY) VALUES (6, 0, 'importCustomerJob', 'key6')");
+        jdbcTemplate.update("INSERT INTO BATCH_JOB_EXECUTION (JOB_EXECUTION_ID, VERSION, JOB_INSTANCE_ID, CREATE_TIME, STATUS) "
+                + "VALUES (6, 0, 6, CURRENT_TIMESTAMP, 'STARTED')");
+
+        assertEquals(5, service.count(null, null));
+        clock.addAndGet(1000);
+        assertEquals(6, service.count(null, null));
+    }
+
+    private static List<Long> ids(List<JobExecutionSummary> page) {
+        return page.stream().map(JobExecutionSummary::jobExecutionId).collect(Collectors.toList());
+    }
+}
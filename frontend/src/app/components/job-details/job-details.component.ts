@@ -1,8 +1,7 @@
 import { Component, OnInit, OnDestroy } from '@angular/core';
 import { ActivatedRoute, Router } from '@angular/router';
-import { BatchService, JobExecution } from '../../services/batch.service';
-import { Subscription, timer } from 'rxjs';
-import { switchMap } from 'rxjs/operators';
+import { BatchService, JobExecution, JobProgress, StepProgress } from '../../services/batch.service';
+import { Subscription } from 'rxjs';
 
 @Component({
   selector: 'app-job-details',
@@ -14,7 +13,7 @@ export class JobDetailsComponent implements OnInit, OnDestroy {
   jobExecution: JobExecution | null = null;
   loading: boolean = true;
   error: string | null = null;
-  private pollingSubscription?: Subscription;
+  private progressSubscription?: Subscription;
 
   constructor(
     private route: ActivatedRoute,
@@ -29,37 +28,81 @@ export class JobDetailsComponent implements OnInit, OnDestroy {
       return;
     }
 
-    this.startPolling();
+    this.loadDetails();
   }
 
   ngOnDestroy(): void {
-    if (this.pollingSubscription) {
-      this.pollingSubscription.unsubscribe();
+    if (this.progressSubscription) {
+      this.progressSubscription.unsubscribe();
     }
   }
 
-  private startPolling(): void {
-    this.pollingSubscription = timer(0, 5000).pipe(
-      switchMap(() => this.batchService.getJobExecutionDetails(this.jobExecutionId))
-    ).subscribe({
+  // Load the full details once, then follow the job through its progress stream
+  private loadDetails(): void {
+    this.batchService.getJobExecutionDetails(this.jobExecutionId).subscribe({
       next: (jobExecution) => {
         this.jobExecution = jobExecution;
         this.loading = false;
-        
-        // Stop polling if job is completed or failed
-        if (jobExecution.status === 'COMPLETED' || jobExecution.status === 'FAILED') {
-          this.pollingSubscription?.unsubscribe();
-        }
+        this.followProgress();
       },
       error: (err) => {
         this.error = 'Failed to load job execution details. Please try again later.';
         this.loading = false;
         console.error('Error loading job execution:', err);
-        this.pollingSubscription?.unsubscribe();
       }
     });
   }
 
+  private followProgress(): void {
+    this.progressSubscription = this.batchService.streamJobProgress(this.jobExecutionId).subscribe({
+      next: (event) => {
+        if (event.type === 'job') {
+          this.applyJobProgress(event.progress);
+        } else {
+          this.applyStepProgress(event.progress);
+        }
+      },
+      complete: () => {
+        // Failure messages are only part of the full details
+        if (this.jobExecution?.status === 'FAILED') {
+          this.batchService.getJobExecutionDetails(this.jobExecutionId)
+            .subscribe(jobExecution => this.jobExecution = jobExecution);
+        }
+      },
+      error: (err) => console.error('Job progress stream closed:', err)
+    });
+  }
+
+  private applyJobProgress(progress: JobProgress): void {
+    if (!this.jobExecution) return;
+    this.jobExecution.status = progress.status;
+    this.jobExecution.startTime = progress.startTime;
+    this.jobExecution.endTime = progress.endTime;
+    this.jobExecution.exitCode = progress.exitCode;
+    this.jobExecution.exitDescription = progress.exitDescription;
+    progress.stepExecutions.forEach(step => this.applyStepProgress(step));
+  }
+
+  private applyStepProgress(progress: StepProgress): void {
+    if (!this.jobExecution) return;
+    const step = this.jobExecution.stepExecutions.find(s => s.stepName === progress.stepName);
+    if (step) {
+      step.status = progress.status;
+      step.readCount = progress.readCount;
+      step.writeCount = progress.writeCount;
+      step.skipCount = progress.skipCount;
+      step.commitCount = progress.commitCount;
+      step.rollbackCount = progress.rollbackCount;
+    } else {
+      this.jobExecution.stepExecutions.push({
+        ...progress,
+        exitCode: '',
+        exitDescription: '',
+        failureExceptions: []
+      });
+    }
+  }
+
   getStatusClass(status: string): string {
     switch (status) {
       case 'COMPLETED':
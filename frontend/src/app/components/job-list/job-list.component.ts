@@ -1,6 +1,6 @@
 import { Component, OnInit, OnDestroy } from '@angular/core';
 import { Router } from '@angular/router';
-import { BatchService, Customer, CustomerStats, JobExecution } from '../../services/batch.service';
+import { BatchService, Customer, CustomerPage, CustomerStats, JobExecution } from '../../services/batch.service';
 import { Subscription } from 'rxjs';
 
 @Component({
@@ -10,6 +10,8 @@ import { Subscription } from 'rxjs';
 })
 export class JobListComponent implements OnInit, OnDestroy {
   customers: Customer[] = [];
+  hasNextPage: boolean = false;
+  readonly pageSizes = [10, 25, 50];
   stats: CustomerStats | null = null;
   loading: boolean = true;
   error: string | null = null;
@@ -33,11 +35,12 @@ export class JobListComponent implements OnInit, OnDestroy {
     this.loading = true;
     this.error = null;
 
-    // Subscribe to customers
+    // Subscribe to the current customer page
     this.subscriptions.push(
-      this.batchService.getCustomers().subscribe({
-        next: (customers) => {
-          this.customers = customers;
+      this.batchService.getCustomerPage().subscribe({
+        next: (page: CustomerPage) => {
+          this.customers = page.customers;
+          this.hasNextPage = page.nextCursor !== null;
           this.loading = false;
         },
         error: (err) => {
@@ -108,6 +111,31 @@ export class JobListComponent implements OnInit, OnDestroy {
     }
   }
 
+  get pageNumber(): number {
+    return this.batchService.customerPageNumber;
+  }
+
+  get pageSize(): number {
+    return this.batchService.customerPageSize;
+  }
+
+  get pageCount(): number {
+    const total = this.stats?.totalCustomers ?? 0;
+    return Math.max(1, Math.ceil(total / this.pageSize), this.pageNumber);
+  }
+
+  nextPage(): void {
+    this.batchService.nextCustomerPage();
+  }
+
+  previousPage(): void {
+    this.batchService.previousCustomerPage();
+  }
+
+  changePageSize(size: string): void {
+    this.batchService.setCustomerPageSize(Number(size));
+  }
+
   viewJobDetails(jobExecutionId: number): void {
     this.router.navigate(['/jobs', jobExecutionId]);
   }
@@ -115,6 +143,7 @@ export class JobListComponent implements OnInit, OnDestroy {
   getStatusClass(status: string): string {
     switch (status) {
       case 'PROCESSED':
+      case 'VALIDATED':
         return 'status-success';
       case 'FAILED':
         return 'status-error';
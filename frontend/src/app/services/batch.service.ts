@@ -1,13 +1,13 @@
 import { Injectable } from '@angular/core';
 import { HttpClient, HttpParams } from '@angular/common/http';
-import { Observable, BehaviorSubject, timer } from 'rxjs';
-import { map, catchError, switchMap } from 'rxjs/operators';
+import { Observable, BehaviorSubject, Subject, merge, timer } from 'rxjs';
+import { map, catchError, switchMap, tap } from 'rxjs/operators';
 
 export interface Customer {
   id: number;
   name: string;
   email: string;
-  status: 'NEW' | 'PROCESSED' | 'FAILED';
+  status: 'NEW' | 'PROCESSED' | 'VALIDATED' | 'FAILED';
   createdAt: string;
   updatedAt: string;
 }
@@ -37,9 +37,46 @@ export interface StepExecution {
   failureExceptions: string[];
 }
 
+// Counters pushed for one step execution as its chunks commit
+export interface StepProgress {
+  jobExecutionId: number;
+  stepExecutionId: number;
+  stepName: string;
+  status: string;
+  readCount: number;
+  writeCount: number;
+  filterCount: number;
+  skipCount: number;
+  commitCount: number;
+  rollbackCount: number;
+}
+
+// Full job snapshot, pushed on connect and when the job ends
+export interface JobProgress {
+  jobExecutionId: number;
+  jobName: string;
+  status: string;
+  startTime: string;
+  endTime?: string;
+  exitCode?: string;
+  exitDescription?: string;
+  stepExecutions: StepProgress[];
+}
+
+export type JobProgressEvent =
+  | { type: 'job'; progress: JobProgress }
+  | { type: 'step'; progress: StepProgress };
+
+// One keyset page of GET /customers; nextCursor is the afterId of the following page, null on the last
+export interface CustomerPage {
+  customers: Customer[];
+  nextCursor: number | null;
+}
+
 export interface CustomerStats {
   totalCustomers: number;
   processedCustomers: number;
+  validatedCustomers: number;
   failedCustomers: number;
   newCustomers: number;
 }
@@ -50,25 +87,31 @@ export interface CustomerStats {
 export class BatchService {
   private apiUrl = 'http://localhost:8080/api/batch';
   private customersSubject = new BehaviorSubject<Customer[]>([]);
+  private customerPageSubject = new BehaviorSubject<CustomerPage>({ customers: [], nextCursor: null });
   private statsSubject = new BehaviorSubject<CustomerStats | null>(null);
+  private refreshSubject = new Subject<void>();
   private pollingInterval = 5000; // 5 seconds
+  private pageSize = 25;
+  // afterId of every page up to the one shown, so Previous can go back; the last one is the current page
+  private pageCursors: number[] = [0];
 
   constructor(private http: HttpClient) {
     this.startPolling();
   }
 
-  // Start polling for updates
+  // Start polling for updates; paging fetches right away instead of waiting for the next tick
   private startPolling() {
-    timer(0, this.pollingInterval).pipe(
+    merge(timer(0, this.pollingInterval), this.refreshSubject).pipe(
       switchMap(() => this.fetchCustomersAndStats())
     ).subscribe();
   }
 
-  // Fetch both customers and stats
+  // Fetch the current customer page and the stats
   private fetchCustomersAndStats(): Observable<any> {
-    return this.http.get<Customer[]>(`${this.apiUrl}/customers`).pipe(
-      switchMap(customers => {
-        this.customersSubject.next(customers);
+    return this.fetchCustomerPage(this.pageCursors[this.pageCursors.length - 1], this.pageSize).pipe(
+      switchMap(page => {
+        this.customerPageSubject.next(page);
+        this.customersSubject.next(page.customers);
         return this.http.get<CustomerStats>(`${this.apiUrl}/customers/stats`);
       }),
       map(stats => {
@@ -82,11 +125,57 @@ export class BatchService {
     );
   }
 
-  // Get customers as observable
+  // One page of customers after the given id; GET /customers returns at most `size` rows per call
+  fetchCustomerPage(afterId: number, size: number): Observable<CustomerPage> {
+    const params = new HttpParams().set('afterId', afterId).set('size', size);
+    return this.http.get<Customer[]>(`${this.apiUrl}/customers`, { params, observe: 'response' }).pipe(
+      map(response => {
+        const cursor = response.headers.get('X-Next-Cursor');
+        return { customers: response.body ?? [], nextCursor: cursor !== null ? Number(cursor) : null };
+      })
+    );
+  }
+
+  // Get the customers of the current page as observable
   getCustomers(): Observable<Customer[]> {
     return this.customersSubject.asObservable();
   }
 
+  // Get the current customer page as observable
+  getCustomerPage(): Observable<CustomerPage> {
+    return this.customerPageSubject.asObservable();
+  }
+
+  get customerPageNumber(): number {
+    return this.pageCursors.length;
+  }
+
+  get customerPageSize(): number {
+    return this.pageSize;
+  }
+
+  nextCustomerPage(): void {
+    const next = this.customerPageSubject.value.nextCursor;
+    if (next !== null) {
+      this.pageCursors.push(next);
+      this.refreshSubject.next();
+    }
+  }
+
+  previousCustomerPage(): void {
+    if (this.pageCursors.length > 1) {
+      this.pageCursors.pop();
+      this.refreshSubject.next();
+    }
+  }
+
+  // Changing the page size starts over from the first page
+  setCustomerPageSize(size: number): void {
+    this.pageSize = size;
+    this.pageCursors = [0];
+    this.refreshSubject.next();
+  }
+
   // Get stats as observable
   getStats(): Observable<CustomerStats | null> {
     return this.statsSubject.asObservable();
@@ -117,10 +206,46 @@ export class BatchService {
     );
   }
 
-  // Delete all customers
+  // Stream live progress for a job execution (server-sent events); completes when the job ends
+  streamJobProgress(jobExecutionId: number): Observable<JobProgressEvent> {
+    return new Observable<JobProgressEvent>(subscriber => {
+      const source = new EventSource(`${this.apiUrl}/jobs/${jobExecutionId}/progress/stream`);
+      let ended = false;
+
+      source.addEventListener('step', event => {
+        subscriber.next({ type: 'step', progress: JSON.parse((event as MessageEvent).data) });
+      });
+      source.addEventListener('job', event => {
+        const progress: JobProgress = JSON.parse((event as MessageEvent).data);
+        subscriber.next({ type: 'job', progress });
+        if (!this.isRunning(progress.status)) {
+          ended = true;
+          source.close();
+          subscriber.complete();
+        }
+      });
+      source.onerror = () => {
+        // The server closes the stream after the final event; anything else is a real error
+        if (!ended) {
+          source.close();
+          subscriber.error(new Error('Job progress stream failed'));
+        }
+      };
+
+      return () => source.close();
+    });
+  }
+
+  private isRunning(status: string): boolean {
+    return status === 'STARTING' || status === 'STARTED' || status === 'STOPPING';
+  }
+
+  // Delete all customers and go back to the first page
   deleteAllCustomers(): Observable<{ message: string; deletedCount: number }> {
     return this.http.delete<{ message: string; deletedCount: number }>(
       `${this.apiUrl}/customers`
+    ).pipe(
+      tap(() => this.setCustomerPageSize(this.pageSize))
     );
   }
 
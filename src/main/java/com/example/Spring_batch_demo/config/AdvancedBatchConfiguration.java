@@ -1,6 +1,7 @@
 package com.example.Spring_batch_demo.config;
 
 import com.example.Spring_batch_demo.batch.listener.JobCompletionListener;
+import com.example.Spring_batch_demo.batch.metrics.JobMetricsListener;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.batch.core.Job;
@@ -13,13 +14,10 @@ import org.springframework.batch.core.job.flow.JobExecutionDecider;
 import org.springframework.batch.core.job.flow.support.SimpleFlow;
 import org.springframework.batch.core.launch.support.RunIdIncrementer;
 import org.springframework.batch.core.repository.JobRepository;
-import org.springframework.batch.core.step.builder.StepBuilder;
-import org.springframework.batch.repeat.RepeatStatus;
 import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
-import org.springframework.core.task.TaskExecutor;
-import org.springframework.transaction.PlatformTransactionManager;
 
 @Configuration
 @EnableBatchProcessing
@@ -27,6 +25,11 @@ public class AdvancedBatchConfiguration {
     
     private static final Logger logger = LoggerFactory.getLogger(AdvancedBatchConfiguration.class);
     
+    // staged - csvToDbStep, then the validation and enrichment passes over the customers table
+    // fused  - fusedCsvToDbStep validates and enriches during the import (see BatchConfiguration)
+    @Value("${batch.pipeline.mode:staged}")
+    private String pipelineMode;
+    
     @Bean
     public JobExecutionDecider validationDecider() {
         return (jobExecution, stepExecution) -> {
@@ -40,61 +43,17 @@ public class AdvancedBatchConfiguration {
         };
     }
     
+    // dataValidationStep and dataEnrichmentStep come from CustomerValidationConfiguration and
+    // CustomerEnrichmentConfiguration. They update the same customer rows, so they run one after the
+    // other, as they do in complexDataProcessingJob.
     @Bean
-    public Flow parallelValidationFlow(
+    public Flow validationAndEnrichmentFlow(
             @Qualifier("dataValidationStep") Step dataValidationStep,
-            @Qualifier("dataEnrichmentStep") Step dataEnrichmentStep,
-            TaskExecutor taskExecutor) {
+            @Qualifier("dataEnrichmentStep") Step dataEnrichmentStep) {
         
-        Flow validationFlow = new FlowBuilder<SimpleFlow>("validationFlow")
+        return new FlowBuilder<SimpleFlow>("validationAndEnrichmentFlow")
                 .start(dataValidationStep)
-                .build();
-        
-        Flow enrichmentFlow = new FlowBuilder<SimpleFlow>("enrichmentFlow")
-                .start(dataEnrichmentStep)
-                .build();
-        
-        return new FlowBuilder<SimpleFlow>("parallelValidationFlow")
-                .split(taskExecutor)
-                .add(validationFlow, enrichmentFlow)
-                .build();
-    }
-    
-    @Bean
-    public Step dataValidationStep(JobRepository jobRepository,
-                                  PlatformTransactionManager transactionManager) {
-        return new StepBuilder("dataValidationStep", jobRepository)
-                .tasklet((contribution, chunkContext) -> {
-                    logger.info("Performing data validation...");
-                    // Validate customer data (age, email format, etc.)
-                    Thread.sleep(1000); // Simulate work
-                    return RepeatStatus.FINISHED;
-                }, transactionManager)
-                .build();
-    }
-    
-    @Bean
-    public Step dataEnrichmentStep(JobRepository jobRepository,
-                                  PlatformTransactionManager transactionManager) {
-        return new StepBuilder("dataEnrichmentStep", jobRepository)
-                .tasklet((contribution, chunkContext) -> {
-                    logger.info("Enriching customer data...");
-                    // Add additional customer information (demographics, preferences)
-                    Thread.sleep(1000); // Simulate work
-                    return RepeatStatus.FINISHED;
-                }, transactionManager)
-                .build();
-    }
-    
-    @Bean
-    public Step errorHandlingStep(JobRepository jobRepository,
-                                 PlatformTransactionManager transactionManager) {
-        return new StepBuilder("errorHandlingStep", jobRepository)
-                .tasklet((contribution, chunkContext) -> {
-                    logger.info("Processing failed records...");
-                    // Handle failed records (retry, notify, archive)
-                    return RepeatStatus.FINISHED;
-                }, transactionManager)
+                .next(dataEnrichmentStep)
                 .build();
     }
     
@@ -102,21 +61,32 @@ public class AdvancedBatchConfiguration {
     public Job advancedCustomerProcessingJob(
             JobRepository jobRepository,
             @Qualifier("csvToDbStep") Step csvToDbStep,
-            @Qualifier("errorHandlingStep") Step errorHandlingStep,
-            @Qualifier("parallelValidationFlow") Flow parallelValidationFlow,
+            @Qualifier("fusedCsvToDbStep") Step fusedCsvToDbStep,
+            @Qualifier("failedCustomerReprocessingStep") Step failedCustomerReprocessingStep,
+            @Qualifier("validationAndEnrichmentFlow") Flow validationAndEnrichmentFlow,
             JobExecutionDecider validationDecider,
-            JobCompletionListener listener) {
+            JobCompletionListener listener,
+            JobMetricsListener metricsJobListener) {
         
-        return new JobBuilder("advancedCustomerProcessingJob", jobRepository)
+        JobBuilder job = new JobBuilder("advancedCustomerProcessingJob", jobRepository)
                 .incrementer(new RunIdIncrementer())
                 .listener(listener)
-                .start(csvToDbStep)
-                .next(validationDecider)
-                .on("REQUIRES_VALIDATION").to(parallelValidationFlow)
-                .next(errorHandlingStep)
-                .from(validationDecider)
-                .on("VALIDATION_SKIPPED").to(errorHandlingStep)
-                .end()
-                .build();
+                .listener(metricsJobListener);
+        return switch (pipelineMode.toLowerCase()) {
+            case "staged" -> job
+                    .start(csvToDbStep)
+                    .next(validationDecider)
+                    .on("REQUIRES_VALIDATION").to(validationAndEnrichmentFlow)
+                    .next(failedCustomerReprocessingStep)
+                    .from(validationDecider)
+                    .on("VALIDATION_SKIPPED").to(failedCustomerReprocessingStep)
+                    .end()
+                    .build();
+            case "fused" -> job
+                    .start(fusedCsvToDbStep)
+                    .next(failedCustomerReprocessingStep)
+                    .build();
+            default -> throw new IllegalArgumentException("Unknown batch.pipeline.mode: " + pipelineMode);
+        };
     }
 } 
\ No newline at end of file
@@ -1,5 +1,9 @@
 package com.example.Spring_batch_demo.config;
 
+import com.example.Spring_batch_demo.batch.metrics.StepMetricsListener;
+import com.example.Spring_batch_demo.batch.policy.AdaptiveChunkCompletionPolicy;
+import com.example.Spring_batch_demo.batch.policy.ChunkPolicyFactory;
+import com.example.Spring_batch_demo.batch.progress.JobProgressListener;
 import org.springframework.batch.core.JobRepository;
 import org.springframework.batch.core.Step;
 import org.springframework.batch.core.StepExecution;
@@ -8,6 +12,7 @@ import org.springframework.batch.core.configuration.annotation.EnableBatchProces
 import org.springframework.batch.core.configuration.annotation.JobBuilderFactory;
 import org.springframework.batch.core.configuration.annotation.StepBuilderFactory;
 import org.springframework.batch.core.launch.support.RunIdIncrementer;
+import org.springframework.batch.core.step.builder.SimpleStepBuilder;
 import org.springframework.batch.item.ItemProcessor;
 import org.springframework.batch.item.ItemReader;
 import org.springframework.batch.item.ItemWriter;
@@ -16,6 +21,7 @@ import org.springframework.batch.item.file.LineMapper;
 import org.springframework.batch.item.file.mapping.BeanWrapperFieldSetMapper;
 import org.springframework.batch.item.file.mapping.DefaultLineMapper;
 import org.springframework.batch.item.file.transform.DelimitedLineTokenizer;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -81,16 +87,23 @@ public class BatchConfiguration {
     @Bean
     public Step csvToDbStep(JobRepository jobRepository,
                            PlatformTransactionManager transactionManager,
+                           ChunkPolicyFactory chunkPolicyFactory,
                            FlatFileItemReader<CustomerCSV> reader,
                            CustomerItemProcessor processor,
-                           CustomerItemWriter writer,
+                           @Qualifier("customerWriter") ItemWriter<Customer> writer,
+                           JobProgressListener progressListener,
+                           StepMetricsListener metricsStepListener,
                            TaskExecutor taskExecutor,
                            RetryPolicy retryPolicy) {
-        return new StepBuilder("csvToDbStep", jobRepository)
-                .<CustomerCSV, Customer>chunk(chunkSize, transactionManager)
+        AdaptiveChunkCompletionPolicy chunkPolicy = chunkPolicyFactory.create("csvToDbStep");
+        SimpleStepBuilder<CustomerCSV, Customer> step = new StepBuilder("csvToDbStep", jobRepository)
+                .<CustomerCSV, Customer>chunk(chunkPolicy, transactionManager)
                 .reader(reader)
                 .processor(processor)
                 .writer(writer)
+                .listener(chunkPolicy)
+                .listener(progressListener);
+        return metricsStepListener.instrument(step)
                 .taskExecutor(taskExecutor)
                 .throttleLimit(maxThreads)
                 .faultTolerant()
@@ -1,8 +1,14 @@
 package com.example.Spring_batch_demo.config;
 
+import com.example.Spring_batch_demo.batch.metrics.JobMetricsListener;
+import com.example.Spring_batch_demo.batch.metrics.StepMetricsListener;
 import com.example.Spring_batch_demo.batch.partitioner.CustomerRangePartitioner;
+import com.example.Spring_batch_demo.batch.partitioner.PartitionHandlerFactory;
+import com.example.Spring_batch_demo.batch.policy.AdaptiveChunkCompletionPolicy;
+import com.example.Spring_batch_demo.batch.policy.ChunkPolicyFactory;
 import com.example.Spring_batch_demo.batch.processor.CustomerItemProcessor;
-import com.example.Spring_batch_demo.batch.writer.CustomerItemWriter;
+import com.example.Spring_batch_demo.batch.progress.JobProgressListener;
+import com.example.Spring_batch_demo.batch.reader.MappedCsvRangeItemReader;
 import com.example.Spring_batch_demo.dto.CustomerCSV;
 import com.example.Spring_batch_demo.model.Customer;
 import org.springframework.batch.core.Job;
@@ -12,11 +18,14 @@ import org.springframework.batch.core.job.builder.JobBuilder;
 import org.springframework.batch.core.launch.support.RunIdIncrementer;
 import org.springframework.batch.core.partition.support.Partitioner;
 import org.springframework.batch.core.repository.JobRepository;
+import org.springframework.batch.core.step.builder.SimpleStepBuilder;
 import org.springframework.batch.core.step.builder.StepBuilder;
-import org.springframework.batch.item.file.FlatFileItemReader;
+import org.springframework.batch.item.ItemWriter;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.io.Resource;
 import org.springframework.core.task.TaskExecutor;
 import org.springframework.transaction.PlatformTransactionManager;
 
@@ -27,43 +36,53 @@ public class PartitioningConfiguration {
     @Value("${batch.grid.size:4}")
     private int gridSize;
 
+    @Value("${batch.input.file:classpath:data/customers.csv}")
+    private Resource inputResource;
+
     @Bean
     public Partitioner customerRangePartitioner() {
-        return new CustomerRangePartitioner();
+        return CustomerRangePartitioner.forFile(inputResource);
     }
 
     @Bean
     public Step partitionStep(JobRepository jobRepository,
-                            Partitioner partitioner,
+                            PartitionHandlerFactory partitionHandlerFactory,
+                            @Qualifier("customerRangePartitioner") Partitioner partitioner,
                             Step customerProcessingStep,
-                            TaskExecutor taskExecutor) {
+                            @Qualifier("partitionTaskExecutor") TaskExecutor taskExecutor) {
         return new StepBuilder("partitionStep", jobRepository)
                 .partitioner("customerProcessing", partitioner)
-                .step(customerProcessingStep)
-                .gridSize(gridSize)
-                .taskExecutor(taskExecutor)
+                .partitionHandler(partitionHandlerFactory.create(customerProcessingStep, gridSize, taskExecutor))
                 .build();
     }
 
     @Bean
     public Step customerProcessingStep(JobRepository jobRepository,
                                      PlatformTransactionManager transactionManager,
-                                     FlatFileItemReader<CustomerCSV> reader,
+                                     ChunkPolicyFactory chunkPolicyFactory,
+                                     MappedCsvRangeItemReader mappedCsvRangeReader,
                                      CustomerItemProcessor processor,
-                                     CustomerItemWriter writer) {
-        return new StepBuilder("customerProcessingStep", jobRepository)
-                .<CustomerCSV, Customer>chunk(10, transactionManager)
-                .reader(reader)
+                                     @Qualifier("customerWriter") ItemWriter<Customer> writer,
+                                     JobProgressListener progressListener,
+                                     StepMetricsListener metricsStepListener) {
+        AdaptiveChunkCompletionPolicy chunkPolicy = chunkPolicyFactory.create("customerProcessingStep");
+        SimpleStepBuilder<CustomerCSV, Customer> step = new StepBuilder("customerProcessingStep", jobRepository)
+                .<CustomerCSV, Customer>chunk(chunkPolicy, transactionManager)
+                .reader(mappedCsvRangeReader)
                 .processor(processor)
                 .writer(writer)
-                .build();
+                .listener(chunkPolicy)
+                .listener(progressListener);
+        return metricsStepListener.instrument(step).build();
     }
 
     @Bean
     public Job partitionedJob(JobRepository jobRepository,
-                             Step partitionStep) {
+                             Step partitionStep,
+                             JobMetricsListener metricsJobListener) {
         return new JobBuilder("partitionedCustomerJob", jobRepository)
                 .incrementer(new RunIdIncrementer())
+                .listener(metricsJobListener)
                 .start(partitionStep)
                 .build();
     }
@@ -1,18 +1,15 @@
 package com.example.Spring_batch_demo.controller;
 
-import com.example.Spring_batch_demo.model.Customer;
+import com.example.Spring_batch_demo.dto.JobExecutionSummary;
 import com.example.Spring_batch_demo.repository.CustomerRepository;
 import com.example.Spring_batch_demo.service.BatchJobService;
-import org.springframework.batch.core.JobExecution;
-import org.springframework.batch.core.explore.JobExplorer;
-import org.springframework.batch.core.StepExecution;
+import com.example.Spring_batch_demo.service.JobExecutionHistoryService;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.stream.Collectors;
 
 @RestController
 @RequestMapping("/api/batch")
@@ -20,50 +17,38 @@ public class BatchJobController {
     
     private final BatchJobService batchJobService;
     private final CustomerRepository customerRepository;
-    private final JobExplorer jobExplorer;
+    private final JobExecutionHistoryService jobExecutionHistoryService;
     
     public BatchJobController(BatchJobService batchJobService, 
                              CustomerRepository customerRepository,
-                             JobExplorer jobExplorer) {
+                             JobExecutionHistoryService jobExecutionHistoryService) {
         this.batchJobService = batchJobService;
         this.customerRepository = customerRepository;
-        this.jobExplorer = jobExplorer;
+        this.jobExecutionHistoryService = jobExecutionHistoryService;
     }
 
+    // Newest first; pass nextCursor back as beforeId for the next page
     @GetMapping("/jobs/executions")
     public ResponseEntity<Map<String, Object>> getJobExecutions(
-            @RequestParam(defaultValue = "0") int page,
-            @RequestParam(defaultValue = "10") int size) {
+            @RequestParam(required = false) Long beforeId,
+            @RequestParam(defaultValue = "10") int size,
+            @RequestParam(required = false) String jobName,
+            @RequestParam(required = false) String status) {
         try {
-            List<JobExecution> jobExecutions = jobExplorer.findJobExecutions(null)
-                    .stream()
-                    .skip(page * size)
-                    .limit(size)
-                    .collect(Collectors.toList());
+            int pageSize = Math.max(1, Math.min(size, 1000));
+            List<JobExecutionSummary> content = jobExecutionHistoryService.findPage(beforeId, pageSize, jobName, status);
 
-            long totalElements = jobExplorer.findJobExecutions(null).size();
-            int totalPages = (int) Math.ceil((double) totalElements / size);
-
-            List<Map<String, Object>> content = jobExecutions.stream()
-                    .map(jobExecution -> {
-                        Map<String, Object> execution = new HashMap<>();
-                        execution.put("jobExecutionId", jobExecution.getId());
-                        execution.put("jobName", jobExecution.getJobInstance().getJobName());
-                        execution.put("status", jobExecution.getStatus().toString());
-                        execution.put("startTime", jobExecution.getStartTime());
-                        execution.put("endTime", jobExecution.getEndTime());
-                        execution.put("exitCode", jobExecution.getExitStatus().getExitCode());
-                        execution.put("exitDescription", jobExecution.getExitStatus().getExitDescription());
-                        return execution;
-                    })
-                    .collect(Collectors.toList());
+            long totalElements = jobExecutionHistoryService.count(jobName, status);
+            int totalPages = (int) Math.ceil((double) totalElements / pageSize);
 
             Map<String, Object> response = new HashMap<>();
             response.put("content", content);
             response.put("totalElements", totalElements);
             response.put("totalPages", totalPages);
-            response.put("currentPage", page);
-            response.put("size", size);
+            response.put("size", pageSize);
+            if (content.size() == pageSize) {
+                response.put("nextCursor", content.get(content.size() - 1).jobExecutionId());
+            }
 
             return ResponseEntity.ok(response);
         } catch (Exception e) {
@@ -73,4 +58,4 @@ public class BatchJobController {
             return ResponseEntity.badRequest().body(errorResponse);
         }
     }
-} 
\ No newline at end of file
+}